@@ -0,0 +1,161 @@
+package com.example.shop.benchmark;
+
+import com.example.shop.ShopApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 벤치마크 공통 도구
+ * 워밍업 후 정해진 시간 동안 여러 스레드로 작업을 반복하고 처리량과 지연 분위수를 출력한다.
+ * 기본은 test 프로필(H2)로 뜨며, 인자로 --spring.profiles.active=... 를 주면 실제 DB 에서 잴 수 있다.
+ */
+final class Bench {
+    
+    static final Duration WARMUP = Duration.ofSeconds(Long.getLong("bench.warmup", 3));
+    static final Duration MEASURE = Duration.ofSeconds(Long.getLong("bench.measure", 10));
+    static final int ROUNDS = Integer.getInteger("bench.rounds", 5);
+    
+    private Bench() {
+    }
+    
+    @FunctionalInterface
+    interface Operation {
+        void run(int thread) throws Exception;
+    }
+    
+    /** 준비 작업은 빼고 측정 구간의 경과 시간(ns)만 돌려주는 한 회차 */
+    @FunctionalInterface
+    interface Round {
+        long run() throws Exception;
+    }
+    
+    /**
+     * 애플리케이션 기동 (설정은 프로필 파일보다 우선하도록 명령행 인자로 넘긴다)
+     * 기본값 < properties < args 순으로 같은 키를 덮어쓴다 (명령행에 같은 키가 두 번 오면 값이 합쳐지므로 하나만 남긴다).
+     */
+    static ConfigurableApplicationContext start(String[] args, String... properties) {
+        Map<String, String> overrides = new LinkedHashMap<>();
+        overrides.put("logging.level.com.example.shop", "WARN");
+        overrides.put("spring.jpa.properties.hibernate.generate_statistics", "false");
+        overrides.put("spring.main.banner-mode", "off");
+        for (String property : properties) {
+            int separator = property.indexOf('=');
+            overrides.put(property.substring(0, separator), property.substring(separator + 1));
+        }
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                overrides.remove(arg.substring(2, arg.indexOf('=')));
+            }
+        }
+        
+        List<String> all = new ArrayList<>();
+        overrides.forEach((key, value) -> all.add("--" + key + "=" + value));
+        all.addAll(Arrays.asList(args));
+        return new SpringApplicationBuilder(ShopApplication.class)
+                .properties("spring.profiles.default=test")
+                .run(all.toArray(new String[0]));
+    }
+    
+    /**
+     * WARMUP 후 MEASURE 동안의 처리량(ops/s)과 지연(p50/p99/max, µs)을 한 줄로 출력
+     */
+    static void run(String name, int threads, Operation operation) throws Exception {
+        measure(threads, WARMUP, operation);
+        long[][] samples = measure(threads, MEASURE, operation);
+        
+        long[] latencies = Arrays.stream(samples).flatMapToLong(Arrays::stream).sorted().toArray();
+        double seconds = MEASURE.toNanos() / 1e9;
+        System.out.printf("%-40s threads=%-3d ops/s=%,12.0f p50=%,9dµs p99=%,9dµs max=%,9dµs%n",
+                name, threads, latencies.length / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1_000);
+    }
+    
+    /**
+     * items 건을 한 번에 처리하는 회차를 워밍업 1회 + ROUNDS 회 반복해 건당 처리량(건/s) 중앙값과 회차 시간을 출력
+     */
+    static void rounds(String name, int items, Round round) throws Exception {
+        round.run();
+        long[] elapsed = new long[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            elapsed[i] = round.run();
+        }
+        Arrays.sort(elapsed);
+        long median = elapsed[elapsed.length / 2];
+        System.out.printf("%-40s items=%-6d items/s=%,12.0f median=%,9dµs min=%,9dµs max=%,9dµs%n",
+                name, items, items / (median / 1e9),
+                median / 1_000, elapsed[0] / 1_000, elapsed[elapsed.length - 1] / 1_000);
+    }
+    
+    static void header(String title) {
+        System.out.println();
+        System.out.println("== " + title);
+    }
+    
+    private static long[][] measure(int threads, Duration duration, Operation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        long[][] samples = new long[threads][];
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    LongList latencies = new LongList();
+                    start.await();
+                    long deadline = System.nanoTime() + duration.toNanos();
+                    long now;
+                    while ((now = System.nanoTime()) < deadline) {
+                        operation.run(thread);
+                        latencies.add(System.nanoTime() - now);
+                    }
+                    samples[thread] = latencies.toArray();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(duration.toSeconds() + 60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return samples;
+    }
+    
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000;
+    }
+    
+    private static final class LongList {
+        private long[] values = new long[1 << 12];
+        private int size;
+        
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+        
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
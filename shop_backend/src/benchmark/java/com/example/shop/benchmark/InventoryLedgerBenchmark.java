@@ -0,0 +1,85 @@
+package com.example.shop.benchmark;
+
+import com.example.shop.config.InventoryProperties;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.service.InventoryLedger;
+import com.example.shop.service.StockReservationService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인기 상품 하나에 주문이 몰릴 때 재고 차감 방식별 처리량
+ * - JPA 읽고-수정-저장 (PESSIMISTIC_WRITE 로 잠가 읽은 뒤 엔티티 수정)
+ * - 조건부 UPDATE (StockReservationService, DB 모드)
+ * - 인메모리 재고 원장 (InventoryLedger, 1초 주기 반영을 함께 돌림)
+ * 각 차감은 주문처럼 한 트랜잭션 안에서 1개씩 뺀다.
+ */
+public class InventoryLedgerBenchmark {
+    
+    private static final int[] THREADS = {1, 16};
+    
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = Bench.start(args)) {
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+            ProductRepository productRepository = context.getBean(ProductRepository.class);
+            StockReservationService stockReservationService = context.getBean(StockReservationService.class);
+            
+            Long productId = createHotProduct(context);
+            
+            InventoryProperties properties = new InventoryProperties();
+            properties.setJournalDir(Files.createTempDirectory("inventory-benchmark").toString());
+            InventoryLedger ledger = new InventoryLedger(context.getBean(JdbcTemplate.class), transactionTemplate, properties);
+            ledger.recover();
+            ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor();
+            flusher.scheduleWithFixedDelay(ledger::flush, 1, 1, TimeUnit.SECONDS);
+            
+            Bench.header("인기 상품 1개 재고 차감");
+            try {
+                for (int threads : THREADS) {
+                    Bench.run("jpa-read-modify-write", threads, thread ->
+                            transactionTemplate.executeWithoutResult(status -> {
+                                Product product = productRepository.findAllByIdInForUpdate(List.of(productId)).get(0);
+                                product.setStockQuantity(product.getStockQuantity() - 1);
+                            }));
+                    Bench.run("conditional-update", threads, thread ->
+                            transactionTemplate.executeWithoutResult(status ->
+                                    stockReservationService.reserve(Map.of(productId, 1))));
+                    Bench.run("inventory-ledger", threads, thread ->
+                            transactionTemplate.executeWithoutResult(status -> {
+                                if (!ledger.tryReserve(Map.of(productId, 1)).isEmpty()) {
+                                    throw new IllegalStateException("재고 부족");
+                                }
+                            }));
+                }
+            } finally {
+                flusher.shutdown();
+                flusher.awaitTermination(10, TimeUnit.SECONDS);
+                ledger.shutdown();
+            }
+        }
+    }
+    
+    private static Long createHotProduct(ConfigurableApplicationContext context) {
+        Category category = context.getBean(CategoryRepository.class).save(Category.builder()
+                .name("벤치마크-" + System.nanoTime())
+                .build());
+        return context.getBean(ProductRepository.class).save(Product.builder()
+                .name("인기 상품")
+                .price(new BigDecimal("1000"))
+                .stockQuantity(Integer.MAX_VALUE)
+                .category(category)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.shop.benchmark;
+
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 카테고리 목록 첫 페이지의 전체 건수 방식별 요청당 쿼리 수와 처리량 (카테고리 상품 수는 -Dbench.products, 기본 20000)
+ * - exact: 페이지 + COUNT
+ * - none: 페이지만 (다음 페이지 여부는 size + 1 건 조회로 판단)
+ * - approx: 페이지 + 캐시된 근사 건수 (refresh-after 마다 백그라운드에서 COUNT)
+ */
+public class ListingCountBenchmark {
+    
+    private static final int PRODUCTS = Integer.getInteger("bench.products", 20_000);
+    private static final int BATCH_SIZE = 1000;
+    private static final int COUNTED_REQUESTS = 1000;
+    private static final int[] THREADS = {1, 16};
+    
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = Bench.start(args,
+                "spring.jpa.properties.hibernate.generate_statistics=true")) {
+            ProductService productService = context.getBean(ProductService.class);
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            Long categoryId = createProducts(context);
+            Pageable firstPage = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+            
+            List<Listing> listings = List.of(
+                    new Listing("exact", () -> productService.getProductsByCategory(categoryId, firstPage)),
+                    new Listing("none", () -> productService.getProductsByCategorySlice(categoryId, firstPage, false)),
+                    new Listing("approx", () -> productService.getProductsByCategorySlice(categoryId, firstPage, true)));
+            
+            Bench.header("요청당 쿼리 수 (" + COUNTED_REQUESTS + "회)");
+            for (Listing listing : listings) {
+                listing.request.run();
+                statistics.clear();
+                for (int i = 0; i < COUNTED_REQUESTS; i++) {
+                    listing.request.run();
+                }
+                System.out.printf("%-40s queries/request=%.2f%n",
+                        listing.name, (double) statistics.getPrepareStatementCount() / COUNTED_REQUESTS);
+            }
+            
+            Bench.header("카테고리 목록 첫 페이지 (" + PRODUCTS + "건 중 20건)");
+            for (int threads : THREADS) {
+                for (Listing listing : listings) {
+                    Bench.run(listing.name, threads, thread -> listing.request.run());
+                }
+            }
+        }
+    }
+    
+    private static Long createProducts(ConfigurableApplicationContext context) {
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        Category category = context.getBean(CategoryRepository.class).save(Category.builder()
+                .name("목록-벤치마크-" + System.nanoTime())
+                .build());
+        for (int created = 0; created < PRODUCTS; created += BATCH_SIZE) {
+            List<Product> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < Math.min(BATCH_SIZE, PRODUCTS - created); i++) {
+                batch.add(Product.builder()
+                        .name("목록 상품 " + (created + i))
+                        .price(new BigDecimal("1000"))
+                        .stockQuantity(100)
+                        .category(category)
+                        .build());
+            }
+            productRepository.saveAll(batch);
+        }
+        return category.getId();
+    }
+    
+    private static final class Listing {
+        private final String name;
+        private final Runnable request;
+        
+        private Listing(String name, Runnable request) {
+            this.name = name;
+            this.request = request;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.shop.benchmark;
+
+import com.example.shop.config.OrderProperties;
+import com.example.shop.service.OrderNumberGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문번호 생성기 처리량 (회차당 발급 수는 -Dbench.ids, 기본 10000000)
+ * - nextId: 단일 스레드, 여러 스레드가 같은 생성기의 CAS 를 다투는 경우
+ * - nextOrderNumber: 문자열 조립까지 포함
+ * 애플리케이션 컨텍스트 없이 생성기만 만들어 잰다.
+ */
+public class OrderNumberGeneratorBenchmark {
+    
+    private static final int IDS = Integer.getInteger("bench.ids", 10_000_000);
+    private static final int[] THREADS = {1, 4, 16};
+    
+    // 결과를 쓰지 않으면 JIT 가 발급 루프를 없앨 수 있으므로 여기에 모은다
+    private static volatile long sink;
+    
+    public static void main(String[] args) throws Exception {
+        OrderNumberGenerator generator = new OrderNumberGenerator(new OrderProperties());
+        
+        Bench.header("주문번호 발급 (회차당 " + IDS + "건)");
+        for (int threads : THREADS) {
+            Bench.rounds("next-id threads=" + threads, IDS, () -> generate(generator, threads));
+        }
+        Bench.rounds("next-order-number threads=1", IDS, () -> {
+            long started = System.nanoTime();
+            int length = 0;
+            for (int i = 0; i < IDS; i++) {
+                length += generator.nextOrderNumber().length();
+            }
+            long elapsed = System.nanoTime() - started;
+            sink = length;
+            return elapsed;
+        });
+    }
+    
+    /**
+     * threads 개 스레드가 IDS 건을 나눠 발급하는 데 걸린 시간 (스레드 생성은 빼고 동시에 출발)
+     */
+    private static long generate(OrderNumberGenerator generator, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                int count = IDS / threads + (t < IDS % threads ? 1 : 0);
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    long mixed = 0;
+                    for (int i = 0; i < count; i++) {
+                        mixed ^= generator.nextId();
+                    }
+                    return mixed;
+                }));
+            }
+            ready.await();
+            long started = System.nanoTime();
+            start.countDown();
+            long mixed = 0;
+            for (Future<Long> future : futures) {
+                mixed ^= future.get(10, TimeUnit.MINUTES);
+            }
+            long elapsed = System.nanoTime() - started;
+            sink = mixed;
+            return elapsed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
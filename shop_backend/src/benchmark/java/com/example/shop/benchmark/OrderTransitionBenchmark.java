@@ -0,0 +1,71 @@
+package com.example.shop.benchmark;
+
+import com.example.shop.entity.Order;
+import com.example.shop.entity.User;
+import com.example.shop.repository.OrderRepository;
+import com.example.shop.repository.UserRepository;
+import com.example.shop.service.OrderService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 상태 일괄 변경 처리량 (배송 완료 스캔 시나리오)
+ * 주문마다 updateOrderStatus 를 호출하는 방식과 transitionOrders 한 번으로 처리하는 방식을 비교한다.
+ * 회차마다 SHIPPED 주문을 새로 만들고, 만드는 시간은 측정에서 뺀다.
+ */
+public class OrderTransitionBenchmark {
+    
+    private static final int[] BATCH_SIZES = {100, 1000};
+    
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = Bench.start(args)) {
+            OrderService orderService = context.getBean(OrderService.class);
+            TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+            OrderRepository orderRepository = context.getBean(OrderRepository.class);
+            User user = context.getBean(UserRepository.class).save(User.builder()
+                    .email("benchmark-" + System.nanoTime() + "@example.com")
+                    .password("password")
+                    .name("벤치마크")
+                    .build());
+            
+            Bench.header("SHIPPED → DELIVERED 상태 변경");
+            for (int size : BATCH_SIZES) {
+                Bench.rounds("update-order-status (건별)", size, () -> {
+                    List<Long> ids = createShippedOrders(transactionTemplate, orderRepository, user, size);
+                    long started = System.nanoTime();
+                    for (Long id : ids) {
+                        orderService.updateOrderStatus(id, Order.OrderStatus.DELIVERED);
+                    }
+                    return System.nanoTime() - started;
+                });
+                Bench.rounds("transition-orders (일괄)", size, () -> {
+                    List<Long> ids = createShippedOrders(transactionTemplate, orderRepository, user, size);
+                    long started = System.nanoTime();
+                    orderService.transitionOrders(ids, Order.OrderStatus.DELIVERED);
+                    return System.nanoTime() - started;
+                });
+            }
+        }
+    }
+    
+    private static List<Long> createShippedOrders(TransactionTemplate transactionTemplate,
+                                                  OrderRepository orderRepository, User user, int count) {
+        return transactionTemplate.execute(status -> {
+            List<Order> orders = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                orders.add(Order.builder()
+                        .orderNumber("ORD-BENCH-" + System.nanoTime() + "-" + i)
+                        .totalAmount(new BigDecimal("1000.00"))
+                        .status(Order.OrderStatus.SHIPPED)
+                        .user(user)
+                        .build());
+            }
+            return orderRepository.saveAll(orders).stream().map(Order::getId).collect(Collectors.toList());
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.shop.benchmark;
+
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.event.ProductChangedEvent;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.service.ProductSearchIndex;
+import com.example.shop.service.ProductService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 검색 방식별 처리량과 지연 (상품 수는 -Dbench.products, 기본 20000)
+ * - 상품명 LIKE '%키워드%' (searchProductsByName, 페이지 + COUNT 쿼리)
+ * - 역색인 BM25 순위 검색 (searchProductsRanked, 색인 조회 + IN 쿼리 1회)
+ * 검색어는 흔한 단어(적중 많음)와 드문 단어(적중 적음)를 섞어 번갈아 쓴다.
+ */
+public class ProductSearchBenchmark {
+    
+    private static final int PRODUCTS = Integer.getInteger("bench.products", 20_000);
+    private static final int BATCH_SIZE = 1000;
+    private static final int[] THREADS = {1, 16};
+    private static final String[] COMMON_WORDS = {"노트북", "마우스", "키보드", "모니터", "무선", "게이밍", "충전기", "케이블"};
+    private static final String[] RARE_WORDS = {"티타늄", "한정판", "리퍼브", "방수형"};
+    private static final String[] QUERIES = {"노트북", "무선 마우스", "게이밍 키보드", "티타늄", "한정판 모니터"};
+    
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = Bench.start(args,
+                "search.enabled=true",
+                "search.index-dir=" + Files.createTempDirectory("search-benchmark"))) {
+            ProductService productService = context.getBean(ProductService.class);
+            ProductSearchIndex searchIndex = context.getBean(ProductSearchIndex.class);
+            
+            awaitReady(searchIndex);
+            createProducts(context);
+            Pageable pageable = PageRequest.of(0, 20);
+            
+            Bench.header("상품 검색 (" + PRODUCTS + "건, 20건 페이지)");
+            for (int threads : THREADS) {
+                Bench.run("like", threads, thread ->
+                        productService.searchProductsByName(query(), pageable));
+                Bench.run("ranked-index", threads, thread ->
+                        productService.searchProductsRanked(query(), pageable));
+            }
+        }
+    }
+    
+    private static String query() {
+        return QUERIES[ThreadLocalRandom.current().nextInt(QUERIES.length)];
+    }
+    
+    private static void awaitReady(ProductSearchIndex searchIndex) throws InterruptedException {
+        while (!searchIndex.isReady()) {
+            Thread.sleep(50);
+        }
+    }
+    
+    // 색인은 빈 DB 로 시작했으므로 넣은 상품은 변경 이벤트로 색인에 반영한다
+    private static void createProducts(ConfigurableApplicationContext context) {
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        Category category = context.getBean(CategoryRepository.class).save(Category.builder()
+                .name("검색-벤치마크-" + System.nanoTime())
+                .build());
+        Random random = new Random(42);
+        for (int created = 0; created < PRODUCTS; created += BATCH_SIZE) {
+            List<Product> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < Math.min(BATCH_SIZE, PRODUCTS - created); i++) {
+                batch.add(Product.builder()
+                        .name(words(random, 3))
+                        .description(words(random, 10))
+                        .price(new BigDecimal("1000"))
+                        .stockQuantity(100)
+                        .category(category)
+                        .build());
+            }
+            List<Long> ids = productRepository.saveAll(batch).stream().map(Product::getId).collect(Collectors.toList());
+            context.publishEvent(new ProductChangedEvent(ids));
+        }
+    }
+    
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String[] pool = random.nextInt(50) == 0 ? RARE_WORDS : COMMON_WORDS;
+            text.append(pool[random.nextInt(pool.length)]).append(' ');
+        }
+        return text.toString().trim();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.shop.benchmark;
+
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.event.ProductChangedEvent;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.service.ProductSuggestIndex;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 자동완성 조회 지연 (p50/p99, 상품 수는 -Dbench.products, 기본 50000)
+ * - 조회만 있을 때
+ * - 상품 수정이 계속 들어와 rebuild-interval(1초)마다 trie 를 다시 만드는 동안
+ * 동시 조회 스레드 수를 늘려 가며 잰다.
+ */
+public class ProductSuggestBenchmark {
+    
+    private static final int PRODUCTS = Integer.getInteger("bench.products", 50_000);
+    private static final int BATCH_SIZE = 1000;
+    private static final int[] THREADS = {1, 8, 32};
+    private static final String[] BRANDS = {"삼성", "LG", "애플", "로지텍", "소니", "레노버", "ASUS", "Dell"};
+    private static final String[] ITEMS = {"노트북", "모니터", "키보드", "마우스", "헤드폰", "스피커", "태블릿", "충전기", "케이블", "웹캠"};
+    private static final String[] PREFIXES = {"삼", "삼성", "삼성 노", "노트", "LG 모", "마우", "헤드폰", "a", "ab", "로지텍 키보"};
+    
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = Bench.start(args, "suggest.enabled=true")) {
+            ProductSuggestIndex suggestIndex = context.getBean(ProductSuggestIndex.class);
+            List<Long> productIds = createProducts(context);
+            suggestIndex.refresh();
+            
+            Bench.header("자동완성 조회 (" + PRODUCTS + "건)");
+            for (int threads : THREADS) {
+                Bench.run("suggest", threads, thread ->
+                        suggestIndex.suggest(prefix(), 10));
+            }
+            
+            // 상품 수정 이벤트를 계속 보내 주기마다 trie 재생성이 조회와 겹치게 한다
+            ScheduledExecutorService updater = Executors.newSingleThreadScheduledExecutor();
+            Random random = new Random(11);
+            updater.scheduleWithFixedDelay(() -> context.publishEvent(
+                    new ProductChangedEvent(List.of(productIds.get(random.nextInt(productIds.size()))))),
+                    0, 50, TimeUnit.MILLISECONDS);
+            try {
+                for (int threads : THREADS) {
+                    Bench.run("suggest (trie 재생성 중)", threads, thread ->
+                            suggestIndex.suggest(prefix(), 10));
+                }
+            } finally {
+                updater.shutdownNow();
+            }
+        }
+    }
+    
+    private static String prefix() {
+        return PREFIXES[ThreadLocalRandom.current().nextInt(PREFIXES.length)];
+    }
+    
+    private static List<Long> createProducts(ConfigurableApplicationContext context) {
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        Category category = context.getBean(CategoryRepository.class).save(Category.builder()
+                .name("자동완성-벤치마크-" + System.nanoTime())
+                .build());
+        Random random = new Random(7);
+        List<Long> ids = new ArrayList<>(PRODUCTS);
+        for (int created = 0; created < PRODUCTS; created += BATCH_SIZE) {
+            List<Product> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < Math.min(BATCH_SIZE, PRODUCTS - created); i++) {
+                batch.add(Product.builder()
+                        .name(BRANDS[random.nextInt(BRANDS.length)] + " " + ITEMS[random.nextInt(ITEMS.length)]
+                                + " " + Integer.toString(random.nextInt(1_000_000), 36))
+                        .price(new BigDecimal("1000"))
+                        .stockQuantity(100)
+                        .category(category)
+                        .build());
+            }
+            productRepository.saveAll(batch).forEach(product -> ids.add(product.getId()));
+        }
+        return ids;
+    }
+}
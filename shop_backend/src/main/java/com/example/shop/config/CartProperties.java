@@ -0,0 +1,25 @@
+package com.example.shop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "cart")
+@Getter
+@Setter
+public class CartProperties {
+    private Store store = Store.DATABASE;
+    private int shards = 64;                              // 사용자 장바구니 맵 샤드 수 (샤드마다 잠금 하나)
+    private long flushInterval = 2000L;                   // 변경된 장바구니 → DB 반영 주기 (ms)
+    private int flushBatchSize = 500;                     // 한 트랜잭션에 반영할 최대 사용자 수
+    private Duration idleTtl = Duration.ofMinutes(30);    // 이 시간 동안 접근이 없으면 DB 반영 후 메모리에서 내림
+    
+    public enum Store {
+        DATABASE,   // 변경마다 carts 테이블에 반영
+        MEMORY      // 인메모리 장바구니 + 주기적/체크아웃 시 DB 반영 (단일 인스턴스 전용)
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.shop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "cart-sweep")
+@Getter
+@Setter
+public class CartSweepProperties {
+    private boolean enabled = true;
+    private Duration retention = Duration.ofDays(30);    // 마지막 변경 후 이 기간이 지난 장바구니 항목을 보관 테이블로 옮김
+    private long interval = 3600000L;                    // 정리 작업 주기 (ms)
+    private int chunkSize = 500;                         // 한 트랜잭션에서 옮길 최대 행 수
+    private int maxRowsPerRun = 100000;                  // 한 번 실행에서 훑을 최대 행 수 (나머지는 다음 주기)
+    private Duration chunkPause = Duration.ofMillis(20); // 청크 사이 쉬는 시간 (다른 트랜잭션에 잠금 양보)
+}
@@ -0,0 +1,21 @@
+package com.example.shop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "catalog-cache")
+@Getter
+@Setter
+public class CatalogCacheProperties {
+    private boolean enabled = true;
+    private long maximumSize = 1_000L;              // 최대 캐시 응답 수
+    private Duration ttl = Duration.ofMinutes(5);   // 쓰기 후 만료 시간
+    private int maxCachedPage = 4;                  // 이 페이지 번호까지만 캐시 (앞쪽 몇 페이지에 조회가 몰림)
+    private boolean gzip = true;                    // gzip 본문을 미리 만들어 둘지 여부
+    private int gzipMinSize = 1024;                 // 이보다 작은 응답은 압축하지 않음 (bytes)
+}
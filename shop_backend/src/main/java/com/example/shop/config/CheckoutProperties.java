@@ -0,0 +1,16 @@
+package com.example.shop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "checkout")
+@Getter
+@Setter
+public class CheckoutProperties {
+    private int queueCapacity = 1000;   // 비동기 주문 대기열 크기
+    private int workers = 2;            // 주문 처리 스레드 수
+    private int batchSize = 10;         // 한 트랜잭션에 묶어 처리할 최대 주문 수
+}
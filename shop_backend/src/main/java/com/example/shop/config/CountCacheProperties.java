@@ -0,0 +1,18 @@
+package com.example.shop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "count-cache")
+@Getter
+@Setter
+public class CountCacheProperties {
+    private long maximumSize = 10_000L;                       // 캐시할 조건(키) 수
+    private Duration refreshAfter = Duration.ofSeconds(30);   // 이 시간이 지난 값은 조회 시 돌려주고 백그라운드에서 다시 센다
+    private Duration expireAfter = Duration.ofMinutes(10);    // 이 시간 동안 조회가 없으면 버림
+}
@@ -0,0 +1,16 @@
+package com.example.shop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "facet")
+@Getter
+@Setter
+public class FacetProperties {
+    private boolean enabled = true;
+    private int buildBatchSize = 5000;    // 전체 적재 시 한 번에 읽을 상품 수
+    private long applyInterval = 500L;    // 모아 둔 변경 상품을 색인에 반영하는 주기 (ms)
+}
@@ -0,0 +1,23 @@
+package com.example.shop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "inventory")
+@Getter
+@Setter
+public class InventoryProperties {
+    private Mode mode = Mode.DATABASE;
+    private long flushInterval = 1000L;       // 재고 원장 → DB 반영 주기 (ms)
+    private int flushBatchSize = 500;         // DB 반영 시 배치 크기
+    private int stripes = 64;                 // 잠금 스트라이프 수
+    private String journalDir = "inventory-journal/";
+    
+    public enum Mode {
+        DATABASE,   // products 테이블에 직접 조건부 UPDATE
+        LEDGER      // 인메모리 재고 원장 + 주기적 DB 반영 (단일 인스턴스 전용)
+    }
+}
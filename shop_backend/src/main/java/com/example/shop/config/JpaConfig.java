@@ -1,6 +1,9 @@
 package com.example.shop.config;
 
+import com.example.shop.service.CartDuplicateMerger;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
@@ -8,4 +11,10 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 @EnableJpaAuditing  // 자동 시간 설정, entity의 수정·생성 시간 자동 추적
 @EnableConfigurationProperties({JwtProperties.class, FileProperties.class}) // JWT 및 파일 설정 활성화
 public class JpaConfig {
+    
+    // ddl-auto 가 장바구니 유니크 제약을 만들기 전에 중복 행을 합친다
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor cartDuplicateMergerDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(CartDuplicateMerger.class);
+    }
 }
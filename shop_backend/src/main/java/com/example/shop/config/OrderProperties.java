@@ -0,0 +1,20 @@
+package com.example.shop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "order")
+@Getter
+@Setter
+public class OrderProperties {
+    private ProductLock productLock = ProductLock.NONE;   // 직접 주문 시 상품 일괄 조회 잠금 방식
+    private int nodeId = 0;                                // 주문번호 생성기 노드 ID (인스턴스마다 고유, 0~1023)
+    
+    public enum ProductLock {
+        NONE,           // 잠금 없음 (재고는 조건부 UPDATE 로 보호)
+        PESSIMISTIC     // SELECT ... FOR UPDATE 로 주문 상품 행 잠금
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.shop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "outbox")
+@Getter
+@Setter
+public class OutboxProperties {
+    private boolean relayEnabled = true;    // false 면 기록만 하고 전달하지 않음 (다른 인스턴스가 전달 담당)
+    private long relayInterval = 500L;      // outbox → 이벤트 전달 주기 (ms)
+    private int batchSize = 200;            // 한 트랜잭션에서 전달할 최대 이벤트 수
+}
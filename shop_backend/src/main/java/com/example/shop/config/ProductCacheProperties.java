@@ -0,0 +1,18 @@
+package com.example.shop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "product-cache")
+@Getter
+@Setter
+public class ProductCacheProperties {
+    private boolean enabled = true;
+    private long maximumSize = 10_000L;             // 최대 캐시 상품 수
+    private Duration ttl = Duration.ofMinutes(10);  // 쓰기 후 만료 시간
+}
@@ -0,0 +1,9 @@
+package com.example.shop.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling  // 재고 원장 반영 등 주기 작업 활성화
+public class SchedulingConfig {
+}
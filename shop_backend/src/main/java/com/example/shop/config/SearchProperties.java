@@ -0,0 +1,17 @@
+package com.example.shop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "search")
+@Getter
+@Setter
+public class SearchProperties {
+    private boolean enabled = true;
+    private String indexDir = "search-index/";    // 색인 세그먼트 저장 위치
+    private long saveInterval = 600_000L;         // 변경된 색인을 세그먼트로 저장하는 주기 (ms)
+    private int buildBatchSize = 1000;            // 전체 색인 시 한 번에 읽을 상품 수
+}
@@ -0,0 +1,16 @@
+package com.example.shop.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "suggest")
+@Getter
+@Setter
+public class SuggestProperties {
+    private boolean enabled = true;
+    private long rebuildInterval = 1000L;     // 변경 이벤트를 모아 trie 를 다시 만드는 주기 (ms)
+    private long refreshInterval = 600_000L;  // 인기도(주문 수량, 상품 수)를 DB에서 다시 읽는 주기 (ms)
+}
@@ -1,6 +1,8 @@
 package com.example.shop.controller;
 
 import com.example.shop.dto.AdminDto;
+import com.example.shop.dto.CursorPage;
+import com.example.shop.dto.OrderDto;
 import com.example.shop.service.AdminService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -37,18 +39,17 @@ public class AdminController {
     }
     
     /**
-     * 전체 주문 관리 (페이징)
+     * 전체 주문 관리 (커서 페이지네이션)
      */
     @GetMapping("/orders")
-    @Operation(summary = "전체 주문 조회", description = "모든 주문을 페이징으로 조회합니다.")
-    public ResponseEntity<Page<AdminDto.OrderManagement>> getAllOrders(
-            @Parameter(description = "페이지 번호 (0부터 시작)", example = "0")
-            @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "페이지 크기", example = "20")
-            @RequestParam(defaultValue = "20") int size) {
+    @Operation(summary = "전체 주문 조회", description = "모든 주문을 최신순으로 커서 페이지네이션 조회합니다.")
+    public ResponseEntity<CursorPage<AdminDto.OrderManagement>> getAllOrders(
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20")
+            @RequestParam(defaultValue = "20") Integer size) {
         
-        Pageable pageable = PageRequest.of(page, size);
-        Page<AdminDto.OrderManagement> orders = adminService.getAllOrders(pageable);
+        CursorPage<AdminDto.OrderManagement> orders = adminService.getAllOrders(cursor, size);
         return ResponseEntity.ok(orders);
     }
     
@@ -66,6 +67,28 @@ public class AdminController {
         return ResponseEntity.ok(updatedOrder);
     }
     
+    /**
+     * 주문 일괄 상태 변경
+     */
+    @PostMapping("/orders/bulk-status")
+    @Operation(summary = "주문 일괄 상태 변경", 
+               description = "여러 주문의 상태를 한 번에 변경합니다. 상태 전이 규칙에 맞지 않는 주문은 거절되며 주문별 처리 결과를 반환합니다. CANCELLED 는 일괄 취소와 동일하게 재고를 복구합니다.")
+    public ResponseEntity<OrderDto.BulkResult> bulkUpdateOrderStatus(@RequestBody AdminDto.BulkStatusRequest request) {
+        OrderDto.BulkResult result = adminService.bulkUpdateOrderStatus(request);
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * 주문 일괄 취소
+     */
+    @PostMapping("/orders/bulk-cancel")
+    @Operation(summary = "주문 일괄 취소", 
+               description = "주문 ID 목록 또는 상태/기간 조건에 해당하는 주문을 한 번에 취소하고 재고를 복구합니다. 주문별 처리 결과를 반환합니다.")
+    public ResponseEntity<OrderDto.BulkResult> bulkCancelOrders(@RequestBody AdminDto.BulkCancelRequest request) {
+        OrderDto.BulkResult result = adminService.bulkCancelOrders(request);
+        return ResponseEntity.ok(result);
+    }
+    
     /**
      * 전체 사용자 관리 (페이징)
      */
@@ -39,6 +39,15 @@ public class CartController {
         return ResponseEntity.ok(responses);
     }
     
+    @Operation(summary = "장바구니 요약 조회", 
+               description = "장바구니 항목과 소계, 수량 합계, 재고 경고를 한 번에 조회합니다")
+    @GetMapping("/users/{userId}/summary")
+    public ResponseEntity<CartDto.Summary> getCartSummary(
+            @Parameter(description = "사용자 ID") @PathVariable Long userId) {
+        CartDto.Summary summary = cartService.getCartSummary(userId);
+        return ResponseEntity.ok(summary);
+    }
+    
     @Operation(summary = "장바구니 상품 수량 수정", description = "장바구니 상품의 수량을 수정합니다")
     @PutMapping("/users/{userId}/items/{cartId}")
     public ResponseEntity<CartDto.Response> updateCartItem(
@@ -49,6 +58,16 @@ public class CartController {
         return ResponseEntity.ok(response);
     }
     
+    @Operation(summary = "장바구니 일괄 변경", 
+               description = "담기(ADD)/수량 수정(UPDATE)/제거(REMOVE)를 한 번에 적용하고 변경 후 장바구니를 반환합니다. 하나라도 실패하면 아무것도 반영하지 않습니다")
+    @PostMapping("/users/{userId}/batch")
+    public ResponseEntity<List<CartDto.Response>> applyBatch(
+            @Parameter(description = "사용자 ID") @PathVariable Long userId,
+            @Valid @RequestBody CartDto.BatchRequest request) {
+        List<CartDto.Response> responses = cartService.applyBatch(userId, request);
+        return ResponseEntity.ok(responses);
+    }
+    
     @Operation(summary = "장바구니에서 상품 제거", description = "장바구니에서 특정 상품을 제거합니다")
     @DeleteMapping("/users/{userId}/items/{cartId}")
     public ResponseEntity<Void> removeFromCart(
@@ -1,17 +1,20 @@
 package com.example.shop.controller;
 
 import com.example.shop.dto.CategoryDto;
+import com.example.shop.service.CatalogResponseCache;
 import com.example.shop.service.CategoryService;
+import com.example.shop.service.CategorySnapshot;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/categories")
 @RequiredArgsConstructor
@@ -28,11 +31,18 @@ public class CategoryController {
         return ResponseEntity.ok(response);
     }
     
-    @Operation(summary = "모든 카테고리 조회", description = "모든 카테고리 목록을 조회합니다")
+    @Operation(summary = "모든 카테고리 조회", description = "모든 카테고리 목록을 활성 상품 수와 함께 조회합니다 (메모리 스냅샷, ETag/304 지원)")
     @GetMapping
-    public ResponseEntity<List<CategoryDto.Response>> getAllCategories() {
-        List<CategoryDto.Response> responses = categoryService.getAllCategories();
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<byte[]> getAllCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CategorySnapshot.Snapshot snapshot = categoryService.getCategorySnapshot();
+        if (CatalogResponseCache.etagMatches(ifNoneMatch, snapshot.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getEtag()).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.getEtag())
+                .body(snapshot.getJson());
     }
     
     @Operation(summary = "카테고리 조회", description = "카테고리 ID로 카테고리를 조회합니다")
@@ -1,7 +1,11 @@
 package com.example.shop.controller;
 
+import com.example.shop.dto.CheckoutDto;
+import com.example.shop.dto.CursorPage;
 import com.example.shop.dto.OrderDto;
+import com.example.shop.entity.CheckoutRequest;
 import com.example.shop.entity.Order;
+import com.example.shop.service.AsyncCheckoutService;
 import com.example.shop.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,7 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.net.URI;
 import java.util.Map;
 
 @RestController
@@ -24,27 +28,62 @@ import java.util.Map;
 public class OrderController {
     
     private final OrderService orderService;
+    private final AsyncCheckoutService asyncCheckoutService;
     
-    @Operation(summary = "장바구니에서 주문 생성", description = "사용자의 장바구니 내용으로 주문을 생성합니다")
+    @Operation(summary = "장바구니에서 주문 생성",
+            description = "사용자의 장바구니 내용으로 주문을 생성합니다. Idempotency-Key 헤더가 있으면 비동기로 접수하고 202를 반환합니다")
     @PostMapping("/users/{userId}/from-cart")
-    public ResponseEntity<OrderDto.Response> createOrderFromCart(
+    public ResponseEntity<?> createOrderFromCart(
             @Parameter(description = "사용자 ID") @PathVariable Long userId,
+            @Parameter(description = "멱등성 키 (비동기 주문)") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody OrderDto.Request request) {
         
+        if (idempotencyKey != null) {
+            return accepted(asyncCheckoutService.submit(userId, CheckoutRequest.CheckoutType.FROM_CART, idempotencyKey, request));
+        }
+        
         OrderDto.Response response = orderService.createOrderFromCart(userId, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
-    @Operation(summary = "직접 주문 생성", description = "장바구니 없이 직접 상품을 선택하여 주문을 생성합니다")
+    @Operation(summary = "직접 주문 생성",
+            description = "장바구니 없이 직접 상품을 선택하여 주문을 생성합니다. Idempotency-Key 헤더가 있으면 비동기로 접수하고 202를 반환합니다")
     @PostMapping("/users/{userId}/direct")
-    public ResponseEntity<OrderDto.Response> createDirectOrder(
+    public ResponseEntity<?> createDirectOrder(
             @Parameter(description = "사용자 ID") @PathVariable Long userId,
+            @Parameter(description = "멱등성 키 (비동기 주문)") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody OrderDto.Request request) {
         
+        if (idempotencyKey != null) {
+            return accepted(asyncCheckoutService.submit(userId, CheckoutRequest.CheckoutType.DIRECT, idempotencyKey, request));
+        }
+        
         OrderDto.Response response = orderService.createDirectOrder(userId, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    @Operation(summary = "비동기 주문 상태 조회", description = "사용자가 Idempotency-Key 로 접수한 주문의 처리 상태를 조회합니다")
+    @GetMapping("/users/{userId}/checkouts/{idempotencyKey}")
+    public ResponseEntity<CheckoutDto.Status> getCheckoutStatus(
+            @Parameter(description = "사용자 ID") @PathVariable Long userId,
+            @Parameter(description = "멱등성 키") @PathVariable String idempotencyKey) {
+        
+        CheckoutDto.Status response = asyncCheckoutService.getStatus(userId, idempotencyKey);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 처리 대기 중이면 202 + 상태 조회 URL, 이미 처리된 키면 기존 결과를 200으로 반환
+     */
+    private ResponseEntity<CheckoutDto.Status> accepted(CheckoutDto.Status status) {
+        if (status.getStatus() != CheckoutRequest.CheckoutStatus.PENDING) {
+            return ResponseEntity.ok(status);
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create(status.getStatusUrl()))
+                .body(status);
+    }
+    
     @Operation(summary = "주문 상세 조회", description = "주문 ID로 주문 상세 정보를 조회합니다")
     @GetMapping("/{orderId}")
     public ResponseEntity<OrderDto.Response> getOrder(
@@ -63,29 +102,36 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
     
-    @Operation(summary = "사용자별 주문 목록 조회", description = "특정 사용자의 모든 주문 목록을 조회합니다")
+    @Operation(summary = "사용자별 주문 목록 조회", description = "특정 사용자의 주문 목록을 최신순으로 조회합니다 (커서 페이지네이션)")
     @GetMapping("/users/{userId}")
-    public ResponseEntity<List<OrderDto.ListResponse>> getUserOrders(
-            @Parameter(description = "사용자 ID") @PathVariable Long userId) {
+    public ResponseEntity<CursorPage<OrderDto.ListResponse>> getUserOrders(
+            @Parameter(description = "사용자 ID") @PathVariable Long userId,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") Integer size) {
         
-        List<OrderDto.ListResponse> responses = orderService.getUserOrders(userId);
+        CursorPage<OrderDto.ListResponse> responses = orderService.getUserOrders(userId, cursor, size);
         return ResponseEntity.ok(responses);
     }
     
-    @Operation(summary = "모든 주문 목록 조회", description = "모든 주문 목록을 조회합니다 (관리자용)")
+    @Operation(summary = "모든 주문 목록 조회", description = "모든 주문 목록을 최신순으로 조회합니다 (관리자용, 커서 페이지네이션)")
     @GetMapping
-    public ResponseEntity<List<OrderDto.ListResponse>> getAllOrders() {
-        List<OrderDto.ListResponse> responses = orderService.getAllOrders();
+    public ResponseEntity<CursorPage<OrderDto.ListResponse>> getAllOrders(
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") Integer size) {
+        
+        CursorPage<OrderDto.ListResponse> responses = orderService.getAllOrders(cursor, size);
         return ResponseEntity.ok(responses);
     }
     
-    @Operation(summary = "주문 상태별 조회", description = "특정 상태의 주문들을 조회합니다")
+    @Operation(summary = "주문 상태별 조회", description = "특정 상태의 주문들을 최신순으로 조회합니다 (커서 페이지네이션)")
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<OrderDto.ListResponse>> getOrdersByStatus(
+    public ResponseEntity<CursorPage<OrderDto.ListResponse>> getOrdersByStatus(
             @Parameter(description = "주문 상태 (PENDING, CONFIRMED, SHIPPED, DELIVERED, CANCELLED)") 
-            @PathVariable Order.OrderStatus status) {
+            @PathVariable Order.OrderStatus status,
+            @Parameter(description = "이전 응답의 nextCursor (첫 페이지는 생략)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") Integer size) {
         
-        List<OrderDto.ListResponse> responses = orderService.getOrdersByStatus(status);
+        CursorPage<OrderDto.ListResponse> responses = orderService.getOrdersByStatus(status, cursor, size);
         return ResponseEntity.ok(responses);
     }
     
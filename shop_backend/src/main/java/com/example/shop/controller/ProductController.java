@@ -1,22 +1,32 @@
 package com.example.shop.controller;
 
+import com.example.shop.dto.CursorPage;
 import com.example.shop.dto.ProductDto;
+import com.example.shop.dto.SlicePage;
+import com.example.shop.repository.ProductFilter;
+import com.example.shop.repository.ProductSort;
+import com.example.shop.service.CatalogResponseCache;
 import com.example.shop.service.ProductService;
+import com.example.shop.service.ProductSuggestIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/products")
@@ -26,6 +36,8 @@ import java.util.List;
 public class ProductController {
     
     private final ProductService productService;
+    private final CatalogResponseCache catalogResponseCache;
+    private final ProductSuggestIndex productSuggestIndex;
     
     @Operation(summary = "상품 생성", description = "새로운 상품을 생성합니다")
     @PostMapping
@@ -34,34 +46,40 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
     
-    @Operation(summary = "모든 상품 조회", description = "모든 상품을 페이징으로 조회합니다")
+    @Operation(summary = "모든 상품 조회", description = "모든 상품을 페이징으로 조회합니다 (응답 캐시, ETag/304 지원)")
     @GetMapping
-    public ResponseEntity<Page<ProductDto.ListResponse>> getAllProducts(
+    public ResponseEntity<byte[]> getAllProducts(
             @Parameter(description = "페이지 번호 (0부터 시작)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기") @RequestParam(defaultValue = "10") int size,
-            @Parameter(description = "정렬 기준") @RequestParam(defaultValue = "createdAt") String sort,
-            @Parameter(description = "정렬 방향") @RequestParam(defaultValue = "desc") String direction) {
+            @Parameter(description = "정렬 기준 (popular, newest, price-low, price-high, rating 또는 createdAt, price, name, stockQuantity, reviewCount, averageRating)") @RequestParam(defaultValue = "createdAt") String sort,
+            @Parameter(description = "정렬 방향 (속성 이름으로 정렬할 때만 적용)") @RequestParam(defaultValue = "desc") String direction,
+            @Parameter(description = "전체 건수 (exact: COUNT 실행 / none: 다음 페이지 여부만 / approx: 캐시된 근사치)") @RequestParam(defaultValue = "exact") String count,
+            HttpServletRequest request) {
         
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
+        Pageable pageable = PageRequest.of(page, size, ProductSort.resolve(sort, direction));
+        SlicePage.CountMode countMode = SlicePage.CountMode.from(count);
         
-        Page<ProductDto.ListResponse> responses = productService.getAllProducts(pageable);
-        return ResponseEntity.ok(responses);
+        return cachedListing(request, listingKey("all", "", pageable, countMode), page,
+                () -> countMode.isExact() ? productService.getAllProducts(pageable)
+                        : productService.getAllProductsSlice(pageable, countMode.withApproximateTotal()));
     }
     
-    @Operation(summary = "활성 상품 조회", description = "활성화된 상품을 페이징으로 조회합니다")
+    @Operation(summary = "활성 상품 조회", description = "활성화된 상품을 페이징으로 조회합니다 (응답 캐시, ETag/304 지원)")
     @GetMapping("/active")
-    public ResponseEntity<Page<ProductDto.ListResponse>> getActiveProducts(
+    public ResponseEntity<byte[]> getActiveProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @Parameter(description = "전체 건수 (exact: COUNT 실행 / none: 다음 페이지 여부만 / approx: 캐시된 근사치)") @RequestParam(defaultValue = "exact") String count,
+            HttpServletRequest request) {
         
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
+        Pageable pageable = PageRequest.of(page, size, ProductSort.resolve(sort, direction));
+        SlicePage.CountMode countMode = SlicePage.CountMode.from(count);
         
-        Page<ProductDto.ListResponse> responses = productService.getActiveProducts(pageable);
-        return ResponseEntity.ok(responses);
+        return cachedListing(request, listingKey("active", "", pageable, countMode), page,
+                () -> countMode.isExact() ? productService.getActiveProducts(pageable)
+                        : productService.getActiveProductsSlice(pageable, countMode.withApproximateTotal()));
     }
     
     @Operation(summary = "상품 상세 조회", description = "상품 ID로 상품 상세 정보를 조회합니다")
@@ -71,66 +89,122 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
     
-    @Operation(summary = "카테고리별 상품 조회", description = "특정 카테고리의 상품을 조회합니다")
+    @Operation(summary = "카테고리별 상품 조회", description = "특정 카테고리의 상품을 조회합니다 (응답 캐시, ETag/304 지원)")
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<Page<ProductDto.ListResponse>> getProductsByCategory(
+    public ResponseEntity<byte[]> getProductsByCategory(
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @Parameter(description = "전체 건수 (exact: COUNT 실행 / none: 다음 페이지 여부만 / approx: 캐시된 근사치)") @RequestParam(defaultValue = "exact") String count,
+            HttpServletRequest request) {
         
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
+        Pageable pageable = PageRequest.of(page, size, ProductSort.resolve(sort, direction));
+        SlicePage.CountMode countMode = SlicePage.CountMode.from(count);
         
-        Page<ProductDto.ListResponse> responses = productService.getProductsByCategory(categoryId, pageable);
-        return ResponseEntity.ok(responses);
+        return cachedListing(request, listingKey("category", String.valueOf(categoryId), pageable, countMode), page,
+                () -> countMode.isExact() ? productService.getProductsByCategory(categoryId, pageable)
+                        : productService.getProductsByCategorySlice(categoryId, pageable, countMode.withApproximateTotal()));
     }
     
-    @Operation(summary = "상품 검색", description = "상품명으로 상품을 검색합니다")
+    @Operation(summary = "상품 검색", description = "상품명으로 상품을 검색합니다 (mode=ranked: 상품명·설명·카테고리명 관련도순, 정렬 파라미터 무시)")
     @GetMapping("/search")
-    public ResponseEntity<Page<ProductDto.ListResponse>> searchProducts(
+    public ResponseEntity<?> searchProducts(
             @Parameter(description = "검색 키워드") @RequestParam String keyword,
+            @Parameter(description = "검색 방식 (like / ranked)") @RequestParam(defaultValue = "like") String mode,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @Parameter(description = "전체 건수 (exact: COUNT 실행 / none: 다음 페이지 여부만 / approx: 캐시된 근사치)") @RequestParam(defaultValue = "exact") String count) {
         
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
+        // 순위 검색은 적중 수를 색인에서 바로 얻으므로 COUNT 쿼리가 없다
+        if ("ranked".equalsIgnoreCase(mode)) {
+            return ResponseEntity.ok(productService.searchProductsRanked(keyword,
+                    PageRequest.of(Math.max(page, 0), CursorPage.normalizeSize(size))));
+        }
         
+        Pageable pageable = PageRequest.of(page, size, ProductSort.resolve(sort, direction));
+        SlicePage.CountMode countMode = SlicePage.CountMode.from(count);
+        
+        if (!countMode.isExact()) {
+            return ResponseEntity.ok(productService.searchProductsByNameSlice(keyword, pageable, countMode.withApproximateTotal()));
+        }
         Page<ProductDto.ListResponse> responses = productService.searchProductsByName(keyword, pageable);
         return ResponseEntity.ok(responses);
     }
     
+    @Operation(summary = "상품 통합 조회", description = "카테고리·키워드·가격·재고 조건을 조합해 조회하고 facet 개수를 함께 반환합니다")
+    @GetMapping("/query")
+    public ResponseEntity<ProductDto.QueryResponse> queryProducts(
+            @Parameter(description = "카테고리 ID 목록") @RequestParam(required = false) List<Long> categoryIds,
+            @Parameter(description = "상품명 키워드") @RequestParam(required = false) String keyword,
+            @Parameter(description = "최소 가격") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "최대 가격") @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "재고 있는 상품만") @RequestParam(required = false) Boolean inStock,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "정렬 기준 (popular, newest, price-low, price-high, rating 또는 createdAt, price, name, stockQuantity, reviewCount, averageRating)") @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        
+        ProductFilter filter = ProductFilter.builder()
+                .categoryIds(categoryIds)
+                .keyword(keyword)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .inStock(inStock)
+                .build();
+        Pageable pageable = PageRequest.of(page, size, ProductSort.resolve(sort, direction));
+        
+        return ResponseEntity.ok(productService.queryProducts(filter, pageable));
+    }
+    
+    @Operation(summary = "검색어 자동완성", description = "입력한 접두사로 시작하는 단어가 있는 상품명/카테고리명을 인기순으로 조회합니다 (메모리 조회)")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductDto.Suggestion>> suggest(
+            @Parameter(description = "입력 중인 검색어") @RequestParam String prefix,
+            @Parameter(description = "최대 개수 (10 이하)") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productSuggestIndex.suggest(prefix, limit));
+    }
+    
     @Operation(summary = "가격대별 상품 조회", description = "가격 범위로 상품을 조회합니다")
     @GetMapping("/price-range")
-    public ResponseEntity<Page<ProductDto.ListResponse>> getProductsByPriceRange(
+    public ResponseEntity<?> getProductsByPriceRange(
             @Parameter(description = "최소 가격") @RequestParam BigDecimal minPrice,
             @Parameter(description = "최대 가격") @RequestParam BigDecimal maxPrice,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "price") String sort,
-            @RequestParam(defaultValue = "asc") String direction) {
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "전체 건수 (exact: COUNT 실행 / none: 다음 페이지 여부만 / approx: 캐시된 근사치)") @RequestParam(defaultValue = "exact") String count) {
         
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
+        Pageable pageable = PageRequest.of(page, size, ProductSort.resolve(sort, direction));
+        SlicePage.CountMode countMode = SlicePage.CountMode.from(count);
         
+        if (!countMode.isExact()) {
+            return ResponseEntity.ok(productService.getProductsByPriceRangeSlice(
+                    minPrice, maxPrice, pageable, countMode.withApproximateTotal()));
+        }
         Page<ProductDto.ListResponse> responses = productService.getProductsByPriceRange(minPrice, maxPrice, pageable);
         return ResponseEntity.ok(responses);
     }
     
     @Operation(summary = "재고 있는 상품 조회", description = "재고가 있는 상품을 조회합니다")
     @GetMapping("/in-stock")
-    public ResponseEntity<Page<ProductDto.ListResponse>> getProductsInStock(
+    public ResponseEntity<?> getProductsInStock(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "stockQuantity") String sort,
-            @RequestParam(defaultValue = "desc") String direction) {
+            @RequestParam(defaultValue = "desc") String direction,
+            @Parameter(description = "전체 건수 (exact: COUNT 실행 / none: 다음 페이지 여부만 / approx: 캐시된 근사치)") @RequestParam(defaultValue = "exact") String count) {
         
-        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
+        Pageable pageable = PageRequest.of(page, size, ProductSort.resolve(sort, direction));
+        SlicePage.CountMode countMode = SlicePage.CountMode.from(count);
         
+        if (!countMode.isExact()) {
+            return ResponseEntity.ok(productService.getProductsInStockSlice(pageable, countMode.withApproximateTotal()));
+        }
         Page<ProductDto.ListResponse> responses = productService.getProductsInStock(pageable);
         return ResponseEntity.ok(responses);
     }
@@ -183,4 +257,37 @@ public class ProductController {
         productService.increaseStock(productId, quantity);
         return ResponseEntity.ok().build();
     }
+    
+    /**
+     * 캐시된 목록 응답 전송 (If-None-Match 가 일치하면 304, gzip 수용 시 미리 압축한 본문)
+     */
+    private ResponseEntity<byte[]> cachedListing(HttpServletRequest request, String key, int page, Supplier<?> loader) {
+        CatalogResponseCache.CachedResponse cached = catalogResponseCache.get(key, page, loader);
+        
+        // 보낼 표현(gzip/원본)을 먼저 정하고 그 표현의 ETag 로 비교
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = cached.getGzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? cached.getGzipEtag() : cached.getEtag();
+        
+        if (CatalogResponseCache.etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cached.getGzip());
+        }
+        return builder.body(cached.getJson());
+    }
+    
+    private static String listingKey(String endpoint, String filter, Pageable pageable, SlicePage.CountMode countMode) {
+        return endpoint + "|" + filter + "|" + pageable.getPageNumber() + "|" + pageable.getPageSize() + "|" + pageable.getSort()
+                + "|" + countMode;
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.shop.controller;
 
 import com.example.shop.dto.ReviewDto;
+import com.example.shop.dto.SlicePage;
 import com.example.shop.service.ReviewService;
 import com.example.shop.util.SecurityUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -90,10 +91,12 @@ public class ReviewController {
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 건수 (exact: COUNT 실행 / none: 다음 페이지 여부만 / approx: 캐시된 근사치)", example = "exact")
+            @RequestParam(defaultValue = "exact") String count) {
         
         Pageable pageable = PageRequest.of(page, size);
-        ReviewDto.ListResponse response = reviewService.getProductReviews(productId, pageable);
+        ReviewDto.ListResponse response = reviewService.getProductReviews(productId, pageable, SlicePage.CountMode.from(count));
         return ResponseEntity.ok(response);
     }
     
@@ -108,10 +111,12 @@ public class ReviewController {
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 건수 (exact: COUNT 실행 / none: 다음 페이지 여부만 / approx: 캐시된 근사치)", example = "exact")
+            @RequestParam(defaultValue = "exact") String count) {
         
         Pageable pageable = PageRequest.of(page, size);
-        ReviewDto.ListResponse response = reviewService.getUserReviews(userId, pageable);
+        ReviewDto.ListResponse response = reviewService.getUserReviews(userId, pageable, SlicePage.CountMode.from(count));
         return ResponseEntity.ok(response);
     }
     
@@ -124,11 +129,13 @@ public class ReviewController {
             @Parameter(description = "페이지 번호 (0부터 시작)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "페이지 크기", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "전체 건수 (exact: COUNT 실행 / none: 다음 페이지 여부만 / approx: 캐시된 근사치)", example = "exact")
+            @RequestParam(defaultValue = "exact") String count) {
         
         Long userId = securityUtil.getCurrentUserId();
         Pageable pageable = PageRequest.of(page, size);
-        ReviewDto.ListResponse response = reviewService.getUserReviews(userId, pageable);
+        ReviewDto.ListResponse response = reviewService.getUserReviews(userId, pageable, SlicePage.CountMode.from(count));
         return ResponseEntity.ok(response);
     }
     
@@ -148,4 +148,24 @@ public class AdminDto {
         private long reviewCount;
         private LocalDateTime createdAt;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkCancelRequest {
+        private List<Long> orderIds;        // 지정 시 해당 주문만 취소
+        private String status;              // orderIds 가 없을 때: 대상 상태 (PENDING, CONFIRMED)
+        private LocalDateTime startDate;    // orderIds 가 없을 때: 주문일 시작 (포함)
+        private LocalDateTime endDate;      // orderIds 가 없을 때: 주문일 끝 (제외)
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkStatusRequest {
+        private List<Long> orderIds;
+        private String status; // CONFIRMED, SHIPPED, DELIVERED, CANCELLED
+    }
 }
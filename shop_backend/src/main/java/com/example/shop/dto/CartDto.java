@@ -1,8 +1,12 @@
 package com.example.shop.dto;
 
 import com.example.shop.entity.Cart;
+import com.example.shop.repository.ProductListView;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +14,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class CartDto {
     
@@ -51,6 +56,19 @@ public class CartDto {
                     .updatedAt(cart.getUpdatedAt())
                     .build();
         }
+        
+        // 엔티티 없이 만든 항목 (일괄 변경, 인메모리 장바구니)
+        public static Response of(Long id, ProductListView product, int quantity,
+                                  LocalDateTime createdAt, LocalDateTime updatedAt) {
+            return Response.builder()
+                    .id(id)
+                    .product(ProductDto.ListResponse.from(product))
+                    .quantity(quantity)
+                    .totalPrice(product.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
     }
     
     @Data
@@ -62,4 +80,74 @@ public class CartDto {
         @Min(value = 1, message = "수량은 1 이상이어야 합니다")
         private Integer quantity;
     }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchRequest {
+        @NotEmpty(message = "변경 항목은 필수입니다")
+        @Size(max = 100, message = "한 번에 최대 100개까지 변경할 수 있습니다")
+        private List<@Valid Operation> operations;
+    }
+    
+    /**
+     * 일괄 변경 항목 (요청 순서대로 적용)
+     * ADD: productId, quantity / UPDATE: cartId, quantity / REMOVE: cartId
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Operation {
+        @NotNull(message = "변경 종류는 필수입니다")
+        private OperationType type;
+        
+        private Long cartId;
+        
+        private Long productId;
+        
+        @Min(value = 1, message = "수량은 1 이상이어야 합니다")
+        private Integer quantity;
+    }
+    
+    public enum OperationType {
+        ADD, UPDATE, REMOVE
+    }
+    
+    /**
+     * 장바구니 요약 (항목 + 서버에서 계산한 합계 + 재고 경고)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Summary {
+        private List<Response> items;
+        private int itemCount;              // 항목(상품) 수
+        private int totalQuantity;          // 수량 합
+        private BigDecimal subtotal;
+        private List<StockWarning> stockWarnings;
+        private boolean orderable;          // 경고가 없어 그대로 주문할 수 있는지
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StockWarning {
+        private Long cartId;
+        private Long productId;
+        private String productName;
+        private StockWarningType type;
+        private int requestedQuantity;
+        private int availableQuantity;
+        private String message;
+    }
+    
+    public enum StockWarningType {
+        INACTIVE,           // 판매 중지된 상품
+        OUT_OF_STOCK,       // 품절
+        INSUFFICIENT_STOCK  // 담은 수량보다 재고가 적음
+    }
 }
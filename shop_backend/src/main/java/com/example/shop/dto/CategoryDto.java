@@ -35,6 +35,7 @@ public class CategoryDto {
         private String description;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
+        private Long productCount;    // 활성 상품 수 (카테고리 스냅샷으로 조회할 때만)
         
         public static Response from(Category category) {
             return Response.builder()
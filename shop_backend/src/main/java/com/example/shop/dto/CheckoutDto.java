@@ -0,0 +1,44 @@
+package com.example.shop.dto;
+
+import com.example.shop.entity.CheckoutRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+public class CheckoutDto {
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Status {
+        private String idempotencyKey;
+        private CheckoutRequest.CheckoutStatus status;
+        private Long orderId;
+        private String orderNumber;
+        private String errorMessage;
+        private String statusUrl;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        
+        public static Status from(CheckoutRequest request) {
+            return Status.builder()
+                    .idempotencyKey(request.getIdempotencyKey())
+                    .status(request.getStatus())
+                    .orderId(request.getOrderId())
+                    .orderNumber(request.getOrderNumber())
+                    .errorMessage(request.getErrorMessage())
+                    .statusUrl(statusUrl(request.getUserId(), request.getIdempotencyKey()))
+                    .createdAt(request.getCreatedAt())
+                    .updatedAt(request.getUpdatedAt())
+                    .build();
+        }
+        
+        public static String statusUrl(Long userId, String idempotencyKey) {
+            return "/api/orders/users/" + userId + "/checkouts/" + idempotencyKey;
+        }
+    }
+}
@@ -108,4 +108,48 @@ public class OrderDto {
                     .build();
         }
     }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkResult {
+        private int requested;
+        private int succeeded;
+        private int rejected;
+        private List<BulkOutcome> outcomes;
+        
+        public static BulkResult of(List<BulkOutcome> outcomes) {
+            int succeeded = (int) outcomes.stream().filter(BulkOutcome::isSuccess).count();
+            return BulkResult.builder()
+                    .requested(outcomes.size())
+                    .succeeded(succeeded)
+                    .rejected(outcomes.size() - succeeded)
+                    .outcomes(outcomes)
+                    .build();
+        }
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BulkOutcome {
+        private Long orderId;
+        private String orderNumber;
+        private boolean success;
+        private String message;
+        
+        public static BulkOutcome success(Order order) {
+            return success(order.getId(), order.getOrderNumber());
+        }
+        
+        public static BulkOutcome success(Long orderId, String orderNumber) {
+            return new BulkOutcome(orderId, orderNumber, true, null);
+        }
+        
+        public static BulkOutcome rejected(Long orderId, String orderNumber, String message) {
+            return new BulkOutcome(orderId, orderNumber, false, message);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.shop.dto;
 
 import com.example.shop.entity.Product;
+import com.example.shop.repository.ProductListView;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,6 +10,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class ProductDto {
     
@@ -41,7 +43,7 @@ public class ProductDto {
     }
     
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     @NoArgsConstructor
     @AllArgsConstructor
     public static class Response {
@@ -109,6 +111,8 @@ public class ProductDto {
         private String categoryName;
         private Integer stockQuantity;
         private Boolean isActive;
+        private Integer reviewCount;
+        private Double averageRating;
         
         public static ListResponse from(Product product) {
             return ListResponse.builder()
@@ -120,7 +124,76 @@ public class ProductDto {
                         product.getCategory().getName() : null)
                     .stockQuantity(product.getStockQuantity())
                     .isActive(product.getIsActive())
+                    .reviewCount(product.getReviewCount())
+                    .averageRating(product.getAverageRating())
+                    .build();
+        }
+        
+        public static ListResponse from(ProductListView view) {
+            return ListResponse.builder()
+                    .id(view.getId())
+                    .name(view.getName())
+                    .price(view.getPrice())
+                    .imageUrl(view.getImageUrl())
+                    .categoryName(view.getCategoryName())
+                    .stockQuantity(view.getStockQuantity())
+                    .isActive(view.getIsActive())
+                    .reviewCount(view.getReviewCount())
+                    .averageRating(view.getAverageRating())
                     .build();
         }
     }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Suggestion {
+        private String type;    // PRODUCT / CATEGORY
+        private Long id;
+        private String text;
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QueryResponse {
+        private List<ListResponse> content;
+        private int page;
+        private int size;
+        private long totalElements;
+        private int totalPages;
+        private Facets facets;
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Facets {
+        private List<CategoryFacet> categories;     // 카테고리 조건을 뺀 나머지 조건 기준
+        private List<PriceBucket> priceBuckets;     // 전체 조건 기준
+        private long inStock;                       // 전체 조건 기준
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryFacet {
+        private Long categoryId;
+        private String categoryName;
+        private long count;
+    }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBucket {
+        private BigDecimal min;
+        private BigDecimal max;     // null: 상한 없음
+        private long count;
+    }
 }
@@ -48,8 +48,9 @@ public class ReviewDto {
     @AllArgsConstructor
     public static class ListResponse {
         private List<Response> reviews;
-        private int totalPages;
-        private long totalElements;
+        private Integer totalPages;         // count=exact 일 때만 (그 외에는 null)
+        private Long totalElements;         // count=exact 일 때만
+        private Long approximateTotal;      // count=approx 일 때만 (캐시된 근사치)
         private int currentPage;
         private int size;
         private boolean hasNext;
@@ -0,0 +1,65 @@
+package com.example.shop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * COUNT 쿼리 없는 페이지 응답 (size + 1 건 조회로 다음 페이지 존재 여부만 판단)
+ * 무한 스크롤처럼 전체 건수가 필요 없는 클라이언트용이며, count=approx 로 요청하면 캐시된 근사 건수를 함께 준다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlicePage<T> {
+    
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private Long approximateTotal;    // count=approx 일 때만 (주기적으로 다시 세는 근사치, 그 외에는 null)
+    
+    public static <T> SlicePage<T> of(Slice<T> slice, Long approximateTotal) {
+        return SlicePage.<T>builder()
+                .content(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .approximateTotal(approximateTotal)
+                .build();
+    }
+    
+    /**
+     * 목록 조회 시 전체 건수 계산 방식 (count 요청 파라미터)
+     */
+    public enum CountMode {
+        EXACT,      // 기존 Page 응답 (목록 + COUNT 쿼리)
+        NONE,       // SlicePage, 전체 건수 없음
+        APPROX;     // SlicePage + 캐시된 근사 건수
+        
+        public static CountMode from(String value) {
+            if (value == null || value.isBlank()) {
+                return EXACT;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("지원하지 않는 count 값입니다 (exact, none, approx): " + value);
+            }
+        }
+        
+        public boolean isExact() {
+            return this == EXACT;
+        }
+        
+        public boolean withApproximateTotal() {
+            return this == APPROX;
+        }
+    }
+}
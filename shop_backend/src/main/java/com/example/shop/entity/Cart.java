@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "carts")
+@Table(name = "carts", uniqueConstraints =  // 사용자당 상품별 한 행 (동시 담기는 upsert 로 합쳐짐)
+        @UniqueConstraint(name = "uk_carts_user_product", columnNames = {"user_id", "product_id"}),
+        indexes = @Index(name = "idx_carts_updated_at", columnList = "updated_at"))  // 오래된 장바구니 정리 (updated_at, id 키셋)
 @Getter
 @Setter
 @NoArgsConstructor
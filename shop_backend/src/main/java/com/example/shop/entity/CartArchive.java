@@ -0,0 +1,39 @@
+package com.example.shop.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 정리된 장바구니 항목 보관 (추가만 하는 테이블, 외래 키 없음)
+ * id 는 원래 carts.id 이다.
+ */
+@Entity
+@Table(name = "cart_archive", indexes = @Index(name = "idx_cart_archive_user", columnList = "user_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartArchive {
+    
+    @Id
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Long productId;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
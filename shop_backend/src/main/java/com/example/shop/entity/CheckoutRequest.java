@@ -0,0 +1,60 @@
+package com.example.shop.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 비동기 주문 요청 (Idempotency-Key 별 처리 결과 보관)
+ */
+@Entity
+@Table(name = "checkout_requests")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckoutRequest extends BaseEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(unique = true, nullable = false, length = 100)
+    private String idempotencyKey;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CheckoutType type;
+    
+    // 주문 요청 본문 (JSON, 재시작 시 대기 중인 요청 복구용)
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private CheckoutStatus status = CheckoutStatus.PENDING;
+    
+    private Long orderId;
+    
+    @Column(length = 50)
+    private String orderNumber;
+    
+    @Column(length = 500)
+    private String errorMessage;
+    
+    public enum CheckoutType {
+        FROM_CART,  // 장바구니 주문
+        DIRECT      // 직접 주문
+    }
+    
+    public enum CheckoutStatus {
+        PENDING,    // 처리 대기
+        COMPLETED,  // 주문 생성 완료
+        FAILED      // 주문 생성 실패
+    }
+}
@@ -5,10 +5,38 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {  // 커서 페이지네이션 (created_at, id) - InnoDB 보조 인덱스에는 PK 가 포함됨
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_orders_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_orders_created", columnList = "created_at")
+})
+@NamedEntityGraph(  // 주문 상세 응답: 사용자 + 아이템 + 상품 + 카테고리
+        name = Order.DETAIL_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode(value = "orderItems", subgraph = "orderItems")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "orderItems", attributeNodes = @NamedAttributeNode(value = "product", subgraph = "product")),
+                @NamedSubgraph(name = "product", attributeNodes = @NamedAttributeNode("category"))
+        }
+)
+@NamedEntityGraph(  // 관리자 주문 관리: 사용자 + 아이템 + 상품
+        name = Order.ADMIN_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode(value = "orderItems", subgraph = "orderItems")
+        },
+        subgraphs = @NamedSubgraph(name = "orderItems", attributeNodes = @NamedAttributeNode("product"))
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,8 +44,13 @@ import java.util.List;
 @Builder
 public class Order extends BaseEntity {
     
+    public static final String DETAIL_GRAPH = "Order.detail";
+    public static final String ADMIN_GRAPH = "Order.admin";
+    public static final int ID_ALLOCATION_SIZE = 50;    // 주문/주문 아이템 id 시퀀스 증가폭 (IdSequenceInitializer 와 같이 사용)
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "orders_seq", allocationSize = ID_ALLOCATION_SIZE)  // IDENTITY 는 INSERT 배치를 막으므로 pooled 시퀀스 사용
     private Long id;
     
     @Column(unique = true, nullable = false, length = 50)
@@ -52,7 +85,37 @@ public class Order extends BaseEntity {
         CONFIRMED,  // 주문 확인
         SHIPPED,    // 배송 중
         DELIVERED,  // 배송 완료
-        CANCELLED   // 주문 취소
+        CANCELLED;  // 주문 취소
+        
+        // 상태 전이표: 현재 상태 -> 변경 가능한 다음 상태 (PENDING -> CONFIRMED -> SHIPPED -> DELIVERED, 배송 전 취소 가능)
+        private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+        // 역방향 표: 대상 상태 -> 허용되는 이전 상태 (일괄 전이 UPDATE 의 WHERE status IN 조건)
+        private static final Map<OrderStatus, Set<OrderStatus>> PREDECESSORS = new EnumMap<>(OrderStatus.class);
+        
+        static {
+            TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, CANCELLED));
+            TRANSITIONS.put(CONFIRMED, EnumSet.of(SHIPPED, CANCELLED));
+            TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED));
+            TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+            TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+            
+            for (OrderStatus status : values()) {
+                PREDECESSORS.put(status, EnumSet.noneOf(OrderStatus.class));
+            }
+            TRANSITIONS.forEach((from, targets) -> targets.forEach(to -> PREDECESSORS.get(to).add(from)));
+        }
+        
+        public boolean canTransitionTo(OrderStatus next) {
+            return TRANSITIONS.get(this).contains(next);
+        }
+        
+        public Set<OrderStatus> nextStatuses() {
+            return Collections.unmodifiableSet(TRANSITIONS.get(this));
+        }
+        
+        public Set<OrderStatus> predecessors() {
+            return Collections.unmodifiableSet(PREDECESSORS.get(this));
+        }
     }
     
     // 주문 총액 계산
@@ -15,7 +15,8 @@ import java.math.BigDecimal;
 public class OrderItem extends BaseEntity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_items_seq", allocationSize = Order.ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false)
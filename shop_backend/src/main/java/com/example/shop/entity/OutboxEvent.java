@@ -0,0 +1,50 @@
+package com.example.shop.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 이벤트 outbox (주문 변경과 같은 트랜잭션에서 기록, 릴레이가 전달 후 삭제)
+ * IDENTITY 는 INSERT 시점에 증가하므로 같은 주문의 이벤트는 id 순서가 곧 발생 순서다.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long orderId;
+    
+    @Column(nullable = false, length = 50)
+    private String orderNumber;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private EventType eventType;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Order.OrderStatus status;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Order.OrderStatus previousStatus;
+    
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+    
+    public enum EventType {
+        ORDER_CREATED,          // 주문 생성
+        ORDER_STATUS_CHANGED    // 주문 상태 변경 (확인, 배송, 배송 완료, 취소)
+    }
+}
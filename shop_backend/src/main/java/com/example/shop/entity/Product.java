@@ -2,18 +2,29 @@ package com.example.shop.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {  // 통합 조회(/api/products/query): 활성 여부 + 카테고리/가격/등록일 조건
+        @Index(name = "idx_products_active_category_price", columnList = "is_active, category_id, price"),
+        @Index(name = "idx_products_active_price", columnList = "is_active, price"),
+        @Index(name = "idx_products_active_created", columnList = "is_active, created_at"),
+        // 목록 정렬 기준(ProductSort)마다 활성 여부 + 정렬 컬럼 인덱스
+        @Index(name = "idx_products_active_name", columnList = "is_active, name"),
+        @Index(name = "idx_products_active_stock", columnList = "is_active, stock_quantity"),
+        @Index(name = "idx_products_active_reviews", columnList = "is_active, review_count"),
+        @Index(name = "idx_products_active_rating", columnList = "is_active, average_rating")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@DynamicUpdate  // 변경된 컬럼만 UPDATE (재고는 조건부 UPDATE/재고 원장이 따로 관리)
 public class Product extends BaseEntity {
     
     @Id
@@ -39,6 +50,15 @@ public class Product extends BaseEntity {
     @Builder.Default
     private Boolean isActive = true;
     
+    // 인기순/평점순 정렬용 리뷰 집계 (리뷰 작성·수정·삭제 시 ReviewService 가 다시 계산)
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer reviewCount = 0;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Double averageRating = 0.0;
+    
     // 카테고리와의 다대일 관계
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
@@ -0,0 +1,15 @@
+package com.example.shop.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 카테고리 정보 변경 (해당 카테고리 상품의 캐시 무효화용, 커밋 후 처리)
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CategoryChangedEvent {
+    private final Long categoryId;
+}
@@ -0,0 +1,40 @@
+package com.example.shop.event;
+
+import com.example.shop.entity.Order;
+import com.example.shop.entity.OutboxEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 라이프사이클 이벤트 (outbox 릴레이가 커밋된 순서대로 발행)
+ * 같은 주문의 이벤트는 eventId 오름차순으로 전달된다.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString
+public class OrderEvent {
+    private final Long eventId;
+    private final Long orderId;
+    private final String orderNumber;
+    private final OutboxEvent.EventType type;
+    private final Order.OrderStatus status;
+    private final Order.OrderStatus previousStatus;
+    private final LocalDateTime occurredAt;
+    
+    public static OrderEvent from(OutboxEvent event) {
+        return OrderEvent.builder()
+                .eventId(event.getId())
+                .orderId(event.getOrderId())
+                .orderNumber(event.getOrderNumber())
+                .type(event.getEventType())
+                .status(event.getStatus())
+                .previousStatus(event.getPreviousStatus())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.shop.event;
+
+import java.util.List;
+
+/**
+ * 외부 전달 대상 (메시지 브로커, 분석 파이프라인 등)
+ * 빈으로 등록하면 outbox 릴레이가 애플리케이션 이벤트 발행 후 배치 단위로 전달한다.
+ * 예외를 던지면 배치 전체가 다시 시도되므로 구현은 멱등이어야 한다 (at-least-once).
+ */
+public interface OrderEventSink {
+    
+    void publish(List<OrderEvent> events);
+}
@@ -0,0 +1,29 @@
+package com.example.shop.event;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+
+/**
+ * 상품 정보/재고 변경 (캐시 무효화·검색 색인 갱신용, 커밋 후 처리)
+ */
+@Getter
+@ToString
+public class ProductChangedEvent {
+    private final Collection<Long> productIds;
+    private final boolean stockOnly;    // 재고만 바뀐 경우 (검색 색인은 갱신하지 않음)
+    
+    public ProductChangedEvent(Collection<Long> productIds) {
+        this(productIds, false);
+    }
+    
+    private ProductChangedEvent(Collection<Long> productIds, boolean stockOnly) {
+        this.productIds = productIds;
+        this.stockOnly = stockOnly;
+    }
+    
+    public static ProductChangedEvent stock(Collection<Long> productIds) {
+        return new ProductChangedEvent(productIds, true);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.shop.exception;
+
+import java.io.Serial;
+
+/**
+ * 비동기 주문 대기열이 가득 찬 경우 (503)
+ */
+public class CheckoutQueueFullException extends RuntimeException {
+    
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    public CheckoutQueueFullException() {
+        super("주문 요청이 많아 처리할 수 없습니다. 잠시 후 같은 Idempotency-Key로 다시 시도해주세요.");
+    }
+}
@@ -92,6 +92,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
     
+    /**
+     * 비동기 주문 대기열 포화 처리
+     */
+    @ExceptionHandler(CheckoutQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleCheckoutQueueFullException(
+            CheckoutQueueFullException e, HttpServletRequest request) {
+        
+        log.warn("CheckoutQueueFullException: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = ErrorResponse.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                e.getMessage(),
+                request.getRequestURI()
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+    
     /**
      * RuntimeException 처리
      */
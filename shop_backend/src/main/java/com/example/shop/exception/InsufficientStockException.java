@@ -0,0 +1,51 @@
+package com.example.shop.exception;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 차감 실패 예외 (재고가 부족한 주문 라인 목록 포함)
+ */
+@Getter
+public class InsufficientStockException extends IllegalArgumentException {
+    
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private final List<Shortage> shortages;
+    
+    public InsufficientStockException(List<Shortage> shortages) {
+        super(buildMessage(shortages));
+        this.shortages = List.copyOf(shortages);
+    }
+    
+    private static String buildMessage(List<Shortage> shortages) {
+        return "재고가 부족한 상품이 있습니다: " + shortages.stream()
+                .map(Shortage::describe)
+                .collect(Collectors.joining(", "));
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class Shortage implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+        
+        private final Long productId;
+        private final String productName; // 존재하지 않는 상품이면 null
+        private final int requested;
+        private final int available;
+        
+        private String describe() {
+            if (productName == null) {
+                return String.format("상품 ID %d (존재하지 않는 상품)", productId);
+            }
+            return String.format("'%s' (ID %d, 요청: %d, 재고: %d)", productName, productId, requested, available);
+        }
+    }
+}
@@ -3,7 +3,13 @@ package com.example.shop.repository;
 import com.example.shop.entity.Cart;
 import com.example.shop.entity.Product;
 import com.example.shop.entity.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,8 +26,34 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     
     Optional<Cart> findByUserIdAndProductId(Long userId, Long productId);
     
+    // 장바구니 화면용: 항목 + 상품 + 카테고리를 사용자 ID 만으로 한 번에 (사용자 행은 읽지 않는다)
+    @Query("SELECT c FROM Cart c JOIN FETCH c.product p LEFT JOIN FETCH p.category " +
+           "WHERE c.user.id = :userId ORDER BY c.createdAt DESC, c.id DESC")
+    List<Cart> findWithProductByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
+    
+    // 일괄 변경용: 사용자의 장바구니 행을 잠가 읽는다 (읽은 수량으로 다시 쓰는 동안 담기 upsert 가 끼어들어 유실되지 않도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cart c WHERE c.user.id = :userId ORDER BY c.createdAt DESC, c.id DESC")
+    List<Cart> findByUserIdForUpdate(@Param("userId") Long userId);
+    
     Optional<Cart> findByUserAndProduct(User user, Product product);
     
+    // 응답용: 장바구니 항목 + 상품 + 카테고리 한 번에
+    @EntityGraph(attributePaths = {"product", "product.category"})
+    Optional<Cart> findWithProductByUserIdAndProductId(Long userId, Long productId);
+    
+    // 장바구니 담기 upsert: 활성 상품이고 이번에 담는 수량만큼 재고가 있을 때만 넣고, 이미 담겨 있으면 수량을 더한다
+    // (user_id, product_id) 유니크 인덱스가 동시에 담은 요청을 한 행으로 합친다. 조건에 맞지 않으면 0 을 돌려준다
+    // H2 도 MariaDB 호환 모드에서 같은 문법을 지원한다
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO carts (user_id, product_id, quantity, created_at, updated_at) " +
+                   "SELECT :userId, p.id, :quantity, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM products p " +
+                   "WHERE p.id = :productId AND p.is_active = TRUE AND p.stock_quantity >= :quantity " +
+                   "ON DUPLICATE KEY UPDATE quantity = quantity + :quantity, updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int upsertQuantity(@Param("userId") Long userId, @Param("productId") Long productId,
+                       @Param("quantity") int quantity);
+    
     void deleteByUserId(Long userId);
     
     void deleteByUser(User user);
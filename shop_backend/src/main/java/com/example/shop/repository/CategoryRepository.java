@@ -2,8 +2,12 @@ package com.example.shop.repository;
 
 import com.example.shop.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +16,35 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
     
     boolean existsByName(String name);
+    
+    // 자동완성용: 카테고리명 + 인기도(활성 상품 수)
+    @Query("SELECT c.id AS id, c.name AS name, COUNT(p) AS score " +
+           "FROM Category c LEFT JOIN c.products p ON p.isActive = true GROUP BY c.id, c.name")
+    List<SuggestView> findSuggestViews();
+    
+    @Query("SELECT c.id AS id, c.name AS name, COUNT(p) AS score " +
+           "FROM Category c LEFT JOIN c.products p ON p.isActive = true WHERE c.id = :id GROUP BY c.id, c.name")
+    Optional<SuggestView> findSuggestViewById(@Param("id") Long id);
+    
+    // 카테고리 스냅샷용: 카테고리 + 활성 상품 수 (GROUP BY 한 번)
+    @Query("SELECT c.id AS id, c.name AS name, c.description AS description, c.createdAt AS createdAt, " +
+           "c.updatedAt AS updatedAt, COUNT(p) AS productCount " +
+           "FROM Category c LEFT JOIN c.products p ON p.isActive = true " +
+           "GROUP BY c.id, c.name, c.description, c.createdAt, c.updatedAt ORDER BY c.id")
+    List<SnapshotView> findSnapshotViews();
+    
+    interface SuggestView {
+        Long getId();
+        String getName();
+        Long getScore();
+    }
+    
+    interface SnapshotView {
+        Long getId();
+        String getName();
+        String getDescription();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        Long getProductCount();
+    }
 }
@@ -0,0 +1,31 @@
+package com.example.shop.repository;
+
+import com.example.shop.entity.CheckoutRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CheckoutRequestRepository extends JpaRepository<CheckoutRequest, Long> {
+    
+    // 멱등성 키로 조회
+    Optional<CheckoutRequest> findByIdempotencyKey(String idempotencyKey);
+    
+    // 요청한 사용자의 것만 조회 (다른 사용자의 키는 없는 것과 같게 처리)
+    Optional<CheckoutRequest> findByIdempotencyKeyAndUserId(String idempotencyKey, Long userId);
+    
+    // 처리 대기 중인 요청 선점 (조건부 UPDATE 가 행을 잠그므로 먼저 커밋한 쪽만 1을 받는다)
+    @Modifying
+    @Query("UPDATE CheckoutRequest r SET r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = com.example.shop.entity.CheckoutRequest.CheckoutStatus.PENDING")
+    int claimPending(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    // 재시작 시 미처리 요청 복구
+    List<CheckoutRequest> findByStatusOrderByIdAsc(CheckoutRequest.CheckoutStatus status);
+}
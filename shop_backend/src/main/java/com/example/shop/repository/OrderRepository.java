@@ -1,12 +1,19 @@
 package com.example.shop.repository;
 
 import com.example.shop.entity.Order;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,13 +26,66 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     // 주문 번호로 조회
     Optional<Order> findByOrderNumber(String orderNumber);
     
+    // 주문 상세 조회 (사용자, 아이템, 상품, 카테고리를 한 번에 로딩)
+    @EntityGraph(Order.DETAIL_GRAPH)
+    Optional<Order> findWithDetailsById(Long id);
+    
+    // 주문 번호로 상세 조회 (사용자, 아이템, 상품, 카테고리를 한 번에 로딩)
+    @EntityGraph(Order.DETAIL_GRAPH)
+    Optional<Order> findWithDetailsByOrderNumber(String orderNumber);
+    
     // 상태별 주문 조회
     List<Order> findByStatusOrderByCreatedAtDesc(Order.OrderStatus status);
     
     // 관리자용: 전체 주문 조회 (페이징, 생성일 역순)
     Page<Order> findAllByOrderByCreatedAtDesc(Pageable pageable);
     
+    // 관리자용: 주문 관리 화면 조회 (사용자, 아이템, 상품을 한 번에 로딩)
+    @EntityGraph(Order.ADMIN_GRAPH)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids")
+    List<Order> findAllForAdminByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 관리자용: 주문 관리 화면 단건 조회
+    @EntityGraph(Order.ADMIN_GRAPH)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findForAdminById(@Param("id") Long id);
+    
+    // 사용자별 주문 커서 조회 ((createdAt, id) 기준 다음 행부터, idx_orders_user_created 사용)
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findUserOrdersAfter(@Param("userId") Long userId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Pageable pageable);
+    
+    // 상태별 주문 커서 조회 (idx_orders_status_created 사용)
+    @Query("SELECT o FROM Order o WHERE o.status = :status " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findStatusOrdersAfter(@Param("status") Order.OrderStatus status,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+    
+    // 전체 주문 커서 조회 (idx_orders_created 사용)
+    @Query("SELECT o FROM Order o " +
+           "WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findOrdersAfter(@Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Pageable pageable);
+    
+    // 관리자용: 주문 ID 커서 조회 (컬렉션 fetch join 은 DB 에서 LIMIT 할 수 없으므로 ID 를 먼저 자름)
+    @Query("SELECT o.id FROM Order o " +
+           "WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Long> findOrderIdsAfter(@Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Pageable pageable);
+    
     // 관리자용: 최근 주문 10개 조회
+    @EntityGraph(attributePaths = "user")
     List<Order> findTop10ByOrderByCreatedAtDesc();
     
     // 관리자용: 기간별 주문 조회
@@ -33,4 +93,44 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     // 사용자 ID로 주문 조회 (통계용)
     List<Order> findByUserId(Long userId);
+    
+    // 단건 상태 변경 대상 주문 행 잠금 (주문 행만 잠그고 연관 테이블은 잠그지 않음)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+    
+    // 일괄 처리 대상 주문 행 잠금 (주문 행만 잠그고 연관 테이블은 잠그지 않음)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids ORDER BY o.id")
+    List<Order> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+    
+    // 주문 + 주문 아이템 + 상품 한 번에 조회
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems i LEFT JOIN FETCH i.product WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 일괄 상태 전이 대상의 현재 상태 조회
+    @Query("SELECT o.id AS id, o.orderNumber AS orderNumber, o.status AS status FROM Order o WHERE o.id IN :ids")
+    List<StatusView> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 일괄 상태 전이 (허용된 이전 상태인 행만 변경 - 검증과 변경을 UPDATE 한 번으로 처리)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :target, o.updatedAt = :now " +
+           "WHERE o.id IN :ids AND o.status IN :predecessors")
+    int updateStatusWhereStatusIn(@Param("ids") Collection<Long> ids,
+                                  @Param("predecessors") Collection<Order.OrderStatus> predecessors,
+                                  @Param("target") Order.OrderStatus target,
+                                  @Param("now") LocalDateTime now);
+    
+    // 관리자용: 상태/기간 조건으로 주문 ID 조회 (일괄 처리 대상 선정)
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.createdAt >= :startDate AND o.createdAt < :endDate ORDER BY o.id")
+    List<Long> findIdsByStatusInAndCreatedAtBetween(@Param("statuses") Collection<Order.OrderStatus> statuses,
+                                                    @Param("startDate") LocalDateTime startDate,
+                                                    @Param("endDate") LocalDateTime endDate);
+    
+    // 주문 ID + 상태 프로젝션
+    interface StatusView {
+        Long getId();
+        String getOrderNumber();
+        Order.OrderStatus getStatus();
+    }
 }
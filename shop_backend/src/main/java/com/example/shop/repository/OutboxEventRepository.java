@@ -0,0 +1,24 @@
+package com.example.shop.repository;
+
+import com.example.shop.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    // 전달 대기 이벤트를 오래된 순으로 잠금 조회 (여러 인스턴스의 릴레이가 같은 이벤트를 중복 전달하지 않도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e ORDER BY e.id")
+    List<OutboxEvent> findBatchForRelay(Pageable pageable);
+    
+    // 가장 오래된 대기 이벤트 (지연 시간 측정용)
+    Optional<OutboxEvent> findFirstByOrderByIdAsc();
+}
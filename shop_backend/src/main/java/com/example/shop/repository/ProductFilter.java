@@ -0,0 +1,44 @@
+package com.example.shop.repository;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 상품 통합 조회 조건 (null/빈 값인 조건은 적용하지 않음, 활성 상품만 대상)
+ */
+@Getter
+@Builder
+public class ProductFilter {
+    
+    /** LIKE 이스케이프 문자 (DB마다 의미가 다른 역슬래시 대신) */
+    public static final char LIKE_ESCAPE = '!';
+    
+    private final List<Long> categoryIds;
+    private final String keyword;          // 상품명 부분 일치 (대소문자 무시)
+    private final BigDecimal minPrice;
+    private final BigDecimal maxPrice;
+    private final Boolean inStock;         // true: 재고 있는 상품만
+    
+    public boolean hasCategories() {
+        return categoryIds != null && !categoryIds.isEmpty();
+    }
+    
+    public boolean hasKeyword() {
+        return keyword != null && !keyword.isBlank();
+    }
+    
+    /**
+     * 부분 일치 LIKE 패턴 (소문자, 와일드카드 문자는 LIKE_ESCAPE 로 이스케이프)
+     */
+    public static String containsPattern(String keyword) {
+        String escaped = keyword.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.shop.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * 상품 목록 한 행 (ProductDto.ListResponse 에 필요한 컬럼만, 카테고리명은 조인으로)
+ * 엔티티를 만들지 않으므로 설명 등 큰 컬럼을 읽지 않고 영속성 컨텍스트에도 올라가지 않는다.
+ */
+public interface ProductListView {
+    Long getId();
+    String getName();
+    BigDecimal getPrice();
+    String getImageUrl();
+    String getCategoryName();
+    Integer getStockQuantity();
+    Boolean getIsActive();
+    Integer getReviewCount();
+    Double getAverageRating();
+}
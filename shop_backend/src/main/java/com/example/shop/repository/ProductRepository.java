@@ -1,49 +1,187 @@
 package com.example.shop.repository;
 
-import com.example.shop.entity.Category;
 import com.example.shop.entity.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+    
+    String LIST_VIEW = "SELECT p.id AS id, p.name AS name, p.price AS price, p.imageUrl AS imageUrl, " +
+                       "c.name AS categoryName, p.stockQuantity AS stockQuantity, p.isActive AS isActive, " +
+                       "p.reviewCount AS reviewCount, p.averageRating AS averageRating " +
+                       "FROM Product p LEFT JOIN p.category c ";
+    
+    // 상품 상세 조회 (카테고리 함께 로딩)
+    @EntityGraph(attributePaths = "category")
+    Optional<Product> findWithCategoryById(Long id);
     
     // 활성 상품 조회
     List<Product> findByIsActiveTrueOrderByCreatedAtDesc();
     
-    Page<Product> findByIsActiveTrue(Pageable pageable);
-    
     // 카테고리별 상품 조회
     List<Product> findByCategoryIdAndIsActiveTrue(Long categoryId);
     
-    Page<Product> findByCategoryAndIsActiveTrue(Category category, Pageable pageable);
-    
     // 상품명 검색
     List<Product> findByNameContainingIgnoreCaseAndIsActiveTrue(String name);
     
-    Page<Product> findByNameContainingIgnoreCaseAndIsActiveTrue(String name, Pageable pageable);
-    
-    // 가격 범위 검색
-    Page<Product> findByPriceBetweenAndIsActiveTrue(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
-    
-    // 재고 기반 검색
-    Page<Product> findByStockQuantityGreaterThanAndIsActiveTrue(int minStock, Pageable pageable);
-    
-    List<Product> findByStockQuantityLessThanAndIsActiveTrue(int threshold);
-    
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.stockQuantity > 0")
     List<Product> findAvailableProducts();
     
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.stockQuantity > :minStock")
     List<Product> findByStockQuantityGreaterThan(@Param("minStock") int minStock);
     
+    // 목록 조회: 목록 컬럼만 + 카테고리명 조인 한 번 (엔티티/영속성 컨텍스트 없이)
+    // Page 는 COUNT 를 따로 한 번 더, Slice 는 size + 1 건으로 다음 페이지 여부만 판단
+    @Query(value = LIST_VIEW, countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductListView> findListViews(Pageable pageable);
+    
+    @Query(LIST_VIEW)
+    Slice<ProductListView> findListViewSlice(Pageable pageable);
+    
+    @Query(value = LIST_VIEW + "WHERE p.isActive = true",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true")
+    Page<ProductListView> findActiveListViews(Pageable pageable);
+    
+    @Query(LIST_VIEW + "WHERE p.isActive = true")
+    Slice<ProductListView> findActiveListViewSlice(Pageable pageable);
+    
+    @Query(value = LIST_VIEW + "WHERE p.isActive = true AND c.id = :categoryId",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true AND p.category.id = :categoryId")
+    Page<ProductListView> findActiveListViewsByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query(LIST_VIEW + "WHERE p.isActive = true AND c.id = :categoryId")
+    Slice<ProductListView> findActiveListViewSliceByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    // pattern 은 ProductFilter.containsPattern 으로 만든 값
+    @Query(value = LIST_VIEW + "WHERE p.isActive = true AND LOWER(p.name) LIKE :pattern ESCAPE '!'",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true AND LOWER(p.name) LIKE :pattern ESCAPE '!'")
+    Page<ProductListView> findActiveListViewsByNameLike(@Param("pattern") String pattern, Pageable pageable);
+    
+    @Query(LIST_VIEW + "WHERE p.isActive = true AND LOWER(p.name) LIKE :pattern ESCAPE '!'")
+    Slice<ProductListView> findActiveListViewSliceByNameLike(@Param("pattern") String pattern, Pageable pageable);
+    
+    @Query(value = LIST_VIEW + "WHERE p.isActive = true AND p.price BETWEEN :minPrice AND :maxPrice",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true AND p.price BETWEEN :minPrice AND :maxPrice")
+    Page<ProductListView> findActiveListViewsByPriceBetween(@Param("minPrice") BigDecimal minPrice,
+                                                            @Param("maxPrice") BigDecimal maxPrice, Pageable pageable);
+    
+    @Query(LIST_VIEW + "WHERE p.isActive = true AND p.price BETWEEN :minPrice AND :maxPrice")
+    Slice<ProductListView> findActiveListViewSliceByPriceBetween(@Param("minPrice") BigDecimal minPrice,
+                                                                 @Param("maxPrice") BigDecimal maxPrice, Pageable pageable);
+    
+    @Query(value = LIST_VIEW + "WHERE p.isActive = true AND p.stockQuantity > 0",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true AND p.stockQuantity > 0")
+    Page<ProductListView> findActiveListViewsInStock(Pageable pageable);
+    
+    @Query(LIST_VIEW + "WHERE p.isActive = true AND p.stockQuantity > 0")
+    Slice<ProductListView> findActiveListViewSliceInStock(Pageable pageable);
+    
+    @Query(LIST_VIEW + "WHERE p.isActive = true AND p.stockQuantity < :threshold")
+    List<ProductListView> findActiveListViewsByStockLessThan(@Param("threshold") int threshold);
+    
+    // 검색 결과 행 일괄 조회 (순서는 호출 측에서 맞춘다)
+    @Query(LIST_VIEW + "WHERE p.id IN :ids")
+    List<ProductListView> findListViewsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 카테고리 삭제 전 소속 상품 존재 여부 (비활성 포함, 한 건만 확인)
+    boolean existsByCategoryId(Long categoryId);
+    
+    // 목록 근사 건수용 COUNT
+    long countByIsActiveTrue();
+    
+    long countByCategoryIdAndIsActiveTrue(Long categoryId);
+    
+    long countByNameContainingIgnoreCaseAndIsActiveTrue(String name);
+    
+    long countByPriceBetweenAndIsActiveTrue(BigDecimal minPrice, BigDecimal maxPrice);
+    
+    long countByStockQuantityGreaterThanAndIsActiveTrue(int minStock);
+    
     // 관리자용: 전체 상품 조회 (페이징, 생성일 역순)
     Page<Product> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    
+    // 검색 색인용: 상품 + 카테고리 일괄 조회
+    @EntityGraph(attributePaths = "category")
+    List<Product> findWithCategoryByIdIn(Collection<Long> ids);
+    
+    // 검색 색인용: ID 키셋 순회
+    @EntityGraph(attributePaths = "category")
+    List<Product> findWithCategoryByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    // 검색 색인용: 기준 시각 이후 상품 또는 소속 카테고리가 수정된 상품 ID
+    @Query("SELECT p.id FROM Product p LEFT JOIN p.category c WHERE p.updatedAt >= :since OR c.updatedAt >= :since")
+    List<Long> findIdsModifiedSince(@Param("since") LocalDateTime since);
+    
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+    
+    // 자동완성용: 활성 상품명 + 인기도(누적 주문 수량)
+    @Query("SELECT p.id AS id, p.name AS name, COALESCE(SUM(oi.quantity), 0L) AS score " +
+           "FROM Product p LEFT JOIN p.orderItems oi WHERE p.isActive = true GROUP BY p.id, p.name")
+    List<SuggestView> findSuggestViews();
+    
+    @Query("SELECT p.id AS id, p.name AS name, COALESCE(SUM(oi.quantity), 0L) AS score " +
+           "FROM Product p LEFT JOIN p.orderItems oi WHERE p.isActive = true AND p.id IN :ids GROUP BY p.id, p.name")
+    List<SuggestView> findSuggestViewsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // facet 색인용: ID 키셋 순회 (엔티티 대신 필요한 컬럼만)
+    @Query("SELECT p.id AS id, p.category.id AS categoryId, p.price AS price, p.stockQuantity AS stockQuantity, " +
+           "p.isActive AS active FROM Product p WHERE p.id > :lastId ORDER BY p.id")
+    List<FacetView> findFacetViewsAfter(@Param("lastId") Long lastId, Pageable pageable);
+    
+    @Query("SELECT p.id AS id, p.category.id AS categoryId, p.price AS price, p.stockQuantity AS stockQuantity, " +
+           "p.isActive AS active FROM Product p WHERE p.id IN :ids")
+    List<FacetView> findFacetViewsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // 리뷰 집계 컬럼 재계산 (reviews.product_id 인덱스로 해당 상품 리뷰만 읽음)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.reviewCount = (SELECT COUNT(r) FROM Review r WHERE r.product.id = p.id), " +
+           "p.averageRating = COALESCE((SELECT AVG(r.rating) FROM Review r WHERE r.product.id = p.id), 0.0) " +
+           "WHERE p.id = :productId")
+    int refreshReviewStats(@Param("productId") Long productId);
+    
+    // 집계 컬럼이 추가되기 전에 작성된 리뷰가 있는 상품만 채운다
+    @Modifying
+    @Query("UPDATE Product p SET p.reviewCount = (SELECT COUNT(r) FROM Review r WHERE r.product.id = p.id), " +
+           "p.averageRating = COALESCE((SELECT AVG(r.rating) FROM Review r WHERE r.product.id = p.id), 0.0) " +
+           "WHERE p.reviewCount = 0 AND EXISTS (SELECT 1 FROM Review r WHERE r.product.id = p.id)")
+    int backfillReviewStats();
+    
+    // 주문 상품 일괄 조회 (IN 쿼리 1회)
+    List<Product> findAllByIdIn(Collection<Long> ids);
+    
+    // 주문 상품 일괄 조회 + 행 잠금 (ID 순으로 잠가 교착 방지)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+    
+    interface SuggestView {
+        Long getId();
+        String getName();
+        Long getScore();
+    }
+    
+    interface FacetView {
+        Long getId();
+        Long getCategoryId();
+        BigDecimal getPrice();
+        Integer getStockQuantity();
+        Boolean getActive();
+    }
 }
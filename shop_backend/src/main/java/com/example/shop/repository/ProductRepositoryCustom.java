@@ -0,0 +1,49 @@
+package com.example.shop.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 조건 조합이 자유로운 상품 조회 (Criteria API 구현: ProductRepositoryImpl)
+ */
+public interface ProductRepositoryCustom {
+    
+    /** 가격 구간 경계 (원): [0, 1만), [1만, 5만), [5만, 10만), [10만, 50만), [50만, ∞) */
+    List<BigDecimal> PRICE_BUCKET_BOUNDS = List.of(
+            new BigDecimal("10000"), new BigDecimal("50000"), new BigDecimal("100000"), new BigDecimal("500000"));
+    
+    // 조건에 맞는 상품 한 페이지 (목록 컬럼만 + 카테고리명 조인, count 쿼리 없음)
+    List<ProductListView> findPageByFilter(ProductFilter filter, Pageable pageable);
+    
+    // 카테고리별 집계 한 번으로 facet 계산 (카테고리 조건은 빼고 묶음 - 다른 카테고리 선택지의 개수도 보여주기 위해)
+    List<FacetRow> countFacetsByFilter(ProductFilter filter);
+    
+    @Getter
+    @AllArgsConstructor
+    class FacetRow {
+        private final Long categoryId;
+        private final String categoryName;
+        private final long count;
+        private final long inStock;
+        private final long[] priceBuckets;    // PRICE_BUCKET_BOUNDS 로 나눈 구간별 상품 수
+    }
+    
+    // Criteria 생성자 표현식용 ProductListView 구현
+    @Getter
+    @AllArgsConstructor
+    class ListRow implements ProductListView {
+        private final Long id;
+        private final String name;
+        private final BigDecimal price;
+        private final String imageUrl;
+        private final String categoryName;
+        private final Integer stockQuantity;
+        private final Boolean isActive;
+        private final Integer reviewCount;
+        private final Double averageRating;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.shop.repository;
+
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+class ProductRepositoryImpl implements ProductRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<ProductListView> findPageByFilter(ProductFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductListView> query = cb.createQuery(ProductListView.class);
+        Root<Product> product = query.from(Product.class);
+        Join<Product, Category> category = product.join("category", JoinType.LEFT);
+        
+        query.select(cb.construct(ListRow.class, product.get("id"), product.get("name"), product.get("price"),
+                        product.get("imageUrl"), category.get("name"), product.get("stockQuantity"), product.get("isActive"),
+                        product.get("reviewCount"), product.get("averageRating")))
+                .where(predicates(cb, product, filter, true))
+                .orderBy(orders(cb, product, pageable.getSort()));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+    
+    @Override
+    public List<FacetRow> countFacetsByFilter(ProductFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+        Join<Product, Category> category = product.join("category", JoinType.LEFT);
+        Expression<BigDecimal> price = product.get("price");
+        
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(category.get("id"));
+        selections.add(category.get("name"));
+        selections.add(cb.count(product));
+        selections.add(countIf(cb, cb.gt(product.get("stockQuantity"), 0)));
+        BigDecimal lower = null;
+        for (BigDecimal upper : PRICE_BUCKET_BOUNDS) {
+            selections.add(countIf(cb, lower == null ? cb.lessThan(price, upper)
+                    : cb.and(cb.greaterThanOrEqualTo(price, lower), cb.lessThan(price, upper))));
+            lower = upper;
+        }
+        selections.add(countIf(cb, cb.greaterThanOrEqualTo(price, lower)));
+        
+        query.multiselect(selections)
+                .where(predicates(cb, product, filter, false))
+                .groupBy(category.get("id"), category.get("name"));
+        
+        List<FacetRow> rows = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            long[] buckets = new long[PRICE_BUCKET_BOUNDS.size() + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = tuple.get(4 + i, Number.class).longValue();
+            }
+            rows.add(new FacetRow(tuple.get(0, Long.class), tuple.get(1, String.class),
+                    tuple.get(2, Number.class).longValue(), tuple.get(3, Number.class).longValue(), buckets));
+        }
+        return rows;
+    }
+    
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<Product> product, ProductFilter filter,
+                                          boolean includeCategory) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isTrue(product.get("isActive")));
+        if (includeCategory && filter.hasCategories()) {
+            predicates.add(product.get("category").get("id").in(filter.getCategoryIds()));
+        }
+        if (filter.hasKeyword()) {
+            predicates.add(cb.like(cb.lower(product.get("name")),
+                    ProductFilter.containsPattern(filter.getKeyword()), ProductFilter.LIKE_ESCAPE));
+        }
+        if (filter.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(product.get("price"), filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(product.get("price"), filter.getMaxPrice()));
+        }
+        if (Boolean.TRUE.equals(filter.getInStock())) {
+            predicates.add(cb.gt(product.get("stockQuantity"), 0));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+    
+    // 정렬 가능한 속성만 허용하고, 같은 값이면 ID 로 순서를 고정 (ProductSort.withTiebreaker)
+    private static List<Order> orders(CriteriaBuilder cb, Root<Product> product, Sort sort) {
+        ProductSort.requireSortable(sort);
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : ProductSort.withTiebreaker(sort)) {
+            orders.add(order.isAscending() ? cb.asc(product.get(order.getProperty()))
+                    : cb.desc(product.get(order.getProperty())));
+        }
+        return orders;
+    }
+    
+    private static Expression<Long> countIf(CriteriaBuilder cb, Predicate condition) {
+        return cb.sum(cb.<Long>selectCase().when(condition, 1L).otherwise(0L));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.shop.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 상품 목록 정렬 기준 등록표 (프론트엔드 SortOption 값 → 인덱스가 있는 정렬)
+ * 목록 API 는 여기 등록된 정렬 옵션이나 정렬 가능 속성만 받는다. 임의 컬럼/연관 경로로 정렬하면
+ * 인덱스를 타지 못해 products 전체를 filesort 하므로 400 으로 거절한다.
+ * 인기순/평점순은 리뷰를 조인하지 않도록 products 의 비정규화 컬럼(reviewCount, averageRating)으로 정렬한다.
+ * 같은 값끼리의 순서는 ID 로 고정하며, 보조 인덱스 끝에 PK 가 붙으므로 같은 방향이면 인덱스 순서 그대로 읽힌다.
+ */
+public enum ProductSort {
+    POPULAR("popular", Sort.Direction.DESC, "reviewCount"),
+    NEWEST("newest", Sort.Direction.DESC, "createdAt"),
+    PRICE_LOW("price-low", Sort.Direction.ASC, "price"),
+    PRICE_HIGH("price-high", Sort.Direction.DESC, "price"),
+    RATING("rating", Sort.Direction.DESC, "averageRating");
+    
+    // 속성 이름으로 직접 정렬할 수 있는 항목 (모두 is_active 로 시작하는 인덱스가 있음)
+    public static final Set<String> SORTABLE_PROPERTIES =
+            Set.of("createdAt", "price", "name", "stockQuantity", "reviewCount", "averageRating");
+    
+    private final String key;
+    private final Sort.Direction direction;
+    private final String property;
+    
+    ProductSort(String key, Sort.Direction direction, String property) {
+        this.key = key;
+        this.direction = direction;
+        this.property = property;
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    public Sort toSort() {
+        return withTiebreaker(Sort.by(direction, property));
+    }
+    
+    /**
+     * 요청 파라미터를 정렬로 변환
+     * sort 가 정렬 옵션(popular, newest, price-low, price-high, rating)이면 direction 은 무시하고,
+     * 정렬 가능 속성이면 direction(asc/desc)을 적용한다. 그 밖의 값은 IllegalArgumentException.
+     */
+    public static Sort resolve(String sort, String direction) {
+        if (sort == null || sort.isBlank()) {
+            return NEWEST.toSort();
+        }
+        String value = sort.trim();
+        String key = value.toLowerCase(Locale.ROOT);
+        for (ProductSort option : values()) {
+            if (option.key.equals(key)) {
+                return option.toSort();
+            }
+        }
+        if (!SORTABLE_PROPERTIES.contains(value)) {
+            throw new IllegalArgumentException("지원하지 않는 정렬 기준입니다: " + sort + " (사용 가능: "
+                    + String.join(", ", Arrays.stream(values()).map(ProductSort::getKey).toList()) + ", "
+                    + String.join(", ", SORTABLE_PROPERTIES) + ")");
+        }
+        return withTiebreaker(Sort.by(Sort.Direction.fromString(direction), value));
+    }
+    
+    /**
+     * 이미 만들어진 정렬(Pageable 등)이 정렬 가능 속성만 쓰는지 확인
+     * 리포지토리 프래그먼트 안에서 던지면 InvalidDataAccessApiUsageException 으로 바뀌므로 호출 전에 검사한다.
+     */
+    public static void requireSortable(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!order.getProperty().equals("id") && !SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("정렬할 수 없는 항목입니다: " + order.getProperty());
+            }
+        }
+    }
+    
+    // 마지막 정렬과 같은 방향으로 ID 를 덧붙인다 (방향이 섞이면 인덱스 역순 스캔을 못 씀)
+    public static Sort withTiebreaker(Sort sort) {
+        Sort.Direction last = Sort.Direction.DESC;
+        for (Sort.Order order : sort) {
+            if (order.getProperty().equals("id")) {
+                return sort;
+            }
+            last = order.getDirection();
+        }
+        return sort.and(Sort.by(last, "id"));
+    }
+}
@@ -3,6 +3,7 @@ package com.example.shop.repository;
 import com.example.shop.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,6 +21,11 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // 사용자별 리뷰 조회 (페이징)
     Page<Review> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
     
+    // 상품별/사용자별 리뷰 Slice 조회 (COUNT 없음)
+    Slice<Review> findSliceByProductIdOrderByCreatedAtDesc(Long productId, Pageable pageable);
+    
+    Slice<Review> findSliceByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    
     // 상품별 리뷰 조회 (리스트)
     List<Review> findByProductIdOrderByCreatedAtDesc(Long productId);
     
@@ -0,0 +1,177 @@
+package com.example.shop.service;
+
+import com.example.shop.config.CartSweepProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 오래된 장바구니 정리
+ * 마지막 변경(updated_at) 후 retention 이 지난 carts 행을 (updated_at, id) 키셋 커서로 chunk-size 만큼씩 훑어,
+ * 청크마다 짧은 트랜잭션에서 행을 잠그고 cart_archive 로 복사한 뒤 삭제한다.
+ * 잠글 때 updated_at 조건을 다시 보므로 훑은 뒤에 다시 담긴 항목은 지우지 않고,
+ * 여러 인스턴스가 동시에 돌아도 먼저 잠근 쪽만 옮긴다.
+ * 지표: cart.sweep.scanned, cart.sweep.archived, cart.sweep.duration
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AbandonedCartSweeper {
+    
+    private static final Timestamp CURSOR_START = Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0));
+    
+    // 잠그지 않는 키셋 조회 (idx_carts_updated_at 만으로 처리)
+    private static final String SCAN_SQL =
+            "SELECT id, updated_at FROM carts " +
+            "WHERE updated_at < :cutoff " +
+            "AND (updated_at > :afterUpdatedAt OR (updated_at = :afterUpdatedAt AND id > :afterId)) " +
+            "ORDER BY updated_at, id LIMIT :limit";
+    private static final String LOCK_SQL =
+            "SELECT id FROM carts WHERE id IN (:ids) AND updated_at < :cutoff FOR UPDATE";
+    private static final String ARCHIVE_SQL =
+            "INSERT INTO cart_archive (id, user_id, product_id, quantity, created_at, updated_at, archived_at) " +
+            "SELECT id, user_id, product_id, quantity, created_at, updated_at, :archivedAt FROM carts WHERE id IN (:ids)";
+    private static final String DELETE_SQL = "DELETE FROM carts WHERE id IN (:ids)";
+    
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CartSweepProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    private Counter scanned;
+    private Counter archived;
+    private Timer duration;
+    
+    @PostConstruct
+    public void registerMetrics() {
+        scanned = Counter.builder("cart.sweep.scanned")
+                .description("정리 대상으로 훑은 장바구니 항목 수")
+                .register(meterRegistry);
+        archived = Counter.builder("cart.sweep.archived")
+                .description("보관 테이블로 옮기고 삭제한 장바구니 항목 수")
+                .register(meterRegistry);
+        duration = Timer.builder("cart.sweep.duration")
+                .description("정리 작업 1회 소요 시간")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${cart-sweep.interval:3600000}", initialDelayString = "${cart-sweep.interval:3600000}")
+    public void sweep() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            Result result = sweepBefore(LocalDateTime.now().minus(properties.getRetention()));
+            if (result.getScanned() > 0) {
+                log.info("오래된 장바구니 정리: 훑은 행 {}, 옮긴 행 {}", result.getScanned(), result.getArchived());
+            }
+        } catch (RuntimeException e) {
+            log.error("오래된 장바구니 정리 실패 - 다음 주기에 재시도합니다", e);
+        }
+    }
+    
+    /**
+     * cutoff 이전에 마지막으로 변경된 항목을 보관 테이블로 옮긴다 (max-rows-per-run 까지)
+     */
+    Result sweepBefore(LocalDateTime cutoff) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Timestamp cutoffAt = Timestamp.valueOf(cutoff);
+        Timestamp afterUpdatedAt = CURSOR_START;
+        long afterId = 0L;
+        long scannedRows = 0;
+        long archivedRows = 0;
+        try {
+            while (scannedRows < properties.getMaxRowsPerRun() && !Thread.currentThread().isInterrupted()) {
+                int limit = (int) Math.min(properties.getChunkSize(), properties.getMaxRowsPerRun() - scannedRows);
+                MapSqlParameterSource params = new MapSqlParameterSource()
+                        .addValue("cutoff", cutoffAt)
+                        .addValue("afterUpdatedAt", afterUpdatedAt)
+                        .addValue("afterId", afterId)
+                        .addValue("limit", limit);
+                List<Cursor> chunk = namedParameterJdbcTemplate.query(SCAN_SQL, params,
+                        (rs, rowNum) -> new Cursor(rs.getLong(1), rs.getTimestamp(2)));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                scannedRows += chunk.size();
+                scanned.increment(chunk.size());
+                
+                int moved = archiveChunk(chunk.stream().map(Cursor::getId).collect(Collectors.toList()), cutoffAt);
+                archivedRows += moved;
+                archived.increment(moved);
+                
+                Cursor last = chunk.get(chunk.size() - 1);
+                afterUpdatedAt = last.getUpdatedAt();
+                afterId = last.getId();
+                if (chunk.size() < limit) {
+                    break;
+                }
+                pause();
+            }
+            return new Result(scannedRows, archivedRows);
+        } finally {
+            sample.stop(duration);
+        }
+    }
+    
+    /**
+     * 청크 하나를 한 트랜잭션에서 잠금 → 복사 → 삭제 (잠금은 청크 크기만큼, 짧게)
+     */
+    private int archiveChunk(List<Long> ids, Timestamp cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> locked = namedParameterJdbcTemplate.queryForList(LOCK_SQL, new MapSqlParameterSource()
+                    .addValue("ids", ids)
+                    .addValue("cutoff", cutoff), Long.class);
+            if (locked.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("ids", locked)
+                    .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+            namedParameterJdbcTemplate.update(ARCHIVE_SQL, params);
+            return namedParameterJdbcTemplate.update(DELETE_SQL, params);
+        });
+        return moved != null ? moved : 0;
+    }
+    
+    private void pause() {
+        long millis = properties.getChunkPause().toMillis();
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    private static final class Cursor {
+        private final long id;
+        private final Timestamp updatedAt;
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    static final class Result {
+        private final long scanned;
+        private final long archived;
+    }
+}
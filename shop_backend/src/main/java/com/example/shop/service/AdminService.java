@@ -1,12 +1,15 @@
 package com.example.shop.service;
 
 import com.example.shop.dto.AdminDto;
+import com.example.shop.dto.CursorPage;
+import com.example.shop.dto.OrderDto;
 import com.example.shop.entity.Order;
 import com.example.shop.entity.Product;
 import com.example.shop.entity.User;
 import com.example.shop.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +18,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +32,7 @@ public class AdminService {
     private final OrderRepository orderRepository;
     private final ReviewRepository reviewRepository;
     private final CategoryRepository categoryRepository;
+    private final OrderService orderService;
     
     /**
      * 대시보드 통계 조회
@@ -78,11 +84,21 @@ public class AdminService {
     }
     
     /**
-     * 모든 주문 조회 (페이징)
+     * 모든 주문 조회 (커서 페이지네이션)
      */
-    public Page<AdminDto.OrderManagement> getAllOrders(Pageable pageable) {
-        Page<Order> orders = orderRepository.findAllByOrderByCreatedAtDesc(pageable);
-        return orders.map(this::convertToOrderManagementDto);
+    public CursorPage<AdminDto.OrderManagement> getAllOrders(String cursor, Integer size) {
+        CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+        int pageSize = CursorPage.normalizeSize(size);
+        List<Long> orderIds = orderRepository.findOrderIdsAfter(
+                after.getCreatedAt(), after.getId(), PageRequest.of(0, pageSize + 1));
+        Map<Long, Order> orders = orderIds.isEmpty() ? Map.of() :
+                orderRepository.findAllForAdminByIdIn(orderIds).stream()
+                        .collect(Collectors.toMap(Order::getId, Function.identity()));
+        
+        List<Order> rows = orderIds.stream().map(orders::get).collect(Collectors.toList());
+        return CursorPage.of(rows, pageSize,
+                order -> new CursorPage.Cursor(order.getCreatedAt(), order.getId()),
+                this::convertToOrderManagementDto);
     }
     
     /**
@@ -90,17 +106,39 @@ public class AdminService {
      */
     @Transactional
     public AdminDto.OrderManagement updateOrderStatus(Long orderId, AdminDto.OrderStatusUpdateRequest request) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findForAdminById(orderId)
                 .orElseThrow(() -> new RuntimeException("주문을 찾을 수 없습니다: " + orderId));
         
+        Order.OrderStatus newStatus;
         try {
-            Order.OrderStatus newStatus = Order.OrderStatus.valueOf(request.getStatus().toUpperCase());
-            order.setStatus(newStatus);
-            Order savedOrder = orderRepository.save(order);
-            return convertToOrderManagementDto(savedOrder);
+            newStatus = Order.OrderStatus.valueOf(request.getStatus().toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("잘못된 주문 상태입니다: " + request.getStatus());
         }
+        
+        // 상태 전이표 검증 (취소는 재고 복구 포함)
+        orderService.changeStatus(order, newStatus);
+        Order savedOrder = orderRepository.save(order);
+        return convertToOrderManagementDto(savedOrder);
+    }
+    
+    /**
+     * 주문 일괄 상태 변경 (배송 시작/완료 스캔 등)
+     */
+    @Transactional
+    public OrderDto.BulkResult bulkUpdateOrderStatus(AdminDto.BulkStatusRequest request) {
+        if (request.getOrderIds() == null || request.getOrderIds().isEmpty()) {
+            throw new IllegalArgumentException("주문 ID 목록이 필요합니다.");
+        }
+        return orderService.transitionOrders(request.getOrderIds(), parseStatus(request.getStatus()));
+    }
+    
+    /**
+     * 주문 일괄 취소 (주문 ID 목록 또는 상태/기간 조건)
+     */
+    @Transactional
+    public OrderDto.BulkResult bulkCancelOrders(AdminDto.BulkCancelRequest request) {
+        return orderService.cancelOrders(resolveBulkOrderIds(request));
     }
     
     /**
@@ -173,6 +211,29 @@ public class AdminService {
     // Private Helper Methods
     // =============================================================================
     
+    private List<Long> resolveBulkOrderIds(AdminDto.BulkCancelRequest request) {
+        if (request.getOrderIds() != null && !request.getOrderIds().isEmpty()) {
+            return request.getOrderIds();
+        }
+        if (request.getStatus() == null || request.getStartDate() == null || request.getEndDate() == null) {
+            throw new IllegalArgumentException("주문 ID 목록 또는 상태/기간 조건이 필요합니다.");
+        }
+        
+        return orderRepository.findIdsByStatusInAndCreatedAtBetween(
+                List.of(parseStatus(request.getStatus())), request.getStartDate(), request.getEndDate());
+    }
+    
+    private Order.OrderStatus parseStatus(String status) {
+        if (status == null) {
+            throw new IllegalArgumentException("주문 상태가 필요합니다.");
+        }
+        try {
+            return Order.OrderStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 주문 상태입니다: " + status);
+        }
+    }
+    
     private AdminDto.RecentOrder convertToRecentOrderDto(Order order) {
         return AdminDto.RecentOrder.builder()
                 .orderId(order.getId())
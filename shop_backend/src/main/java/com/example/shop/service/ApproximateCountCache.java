@@ -0,0 +1,95 @@
+package com.example.shop.service;
+
+import com.example.shop.config.CountCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * 목록 근사 건수 캐시 (count=approx)
+ * 처음 조회할 때만 COUNT 를 요청 스레드에서 실행하고, refresh-after 가 지난 값은 그대로 돌려주면서
+ * 전용 스레드에서 다시 센다. 따라서 요청 대부분은 COUNT 를 기다리지 않고, 값은 최대 refresh-after 만큼 늦다.
+ * 다시 셀 때 쓸 COUNT 함수는 값과 함께 저장한다 (검색어처럼 키 종류가 열려 있어 따로 등록해 둘 수 없으므로
+ * 로더 없는 Cache 에 넣고 새로 고침은 직접 예약한다).
+ */
+@Component
+@Slf4j
+public class ApproximateCountCache {
+    
+    static final String CACHE_NAME = "approximateCount";
+    
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "approximate-count-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Cache<String, Entry> cache;
+    private final long refreshAfterNanos;
+    
+    public ApproximateCountCache(CountCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterAccess(properties.getExpireAfter())
+                .recordStats()
+                .build();
+        this.refreshAfterNanos = properties.getRefreshAfter().toNanos();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+    
+    /**
+     * 키의 근사 건수 (없으면 counter 로 세어 저장, 오래된 값이면 돌려주면서 다시 세기를 예약)
+     *
+     * @param key     목록 종류와 필터 (예: "products:category:3")
+     * @param counter 해당 목록의 COUNT 쿼리
+     */
+    public long get(String key, LongSupplier counter) {
+        Entry entry = cache.get(key, k -> new Entry(counter.getAsLong(), counter));
+        if (System.nanoTime() - entry.countedAt >= refreshAfterNanos && entry.refreshing.compareAndSet(false, true)) {
+            scheduleRefresh(key, entry);
+        }
+        return entry.count;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+    
+    // 키마다 한 번만 예약되고, 그 사이 키가 만료·교체되었으면 결과를 버린다
+    private void scheduleRefresh(String key, Entry stale) {
+        try {
+            refresher.execute(() -> {
+                try {
+                    cache.asMap().replace(key, stale, new Entry(stale.counter.getAsLong(), stale.counter));
+                } catch (RuntimeException e) {
+                    stale.refreshing.set(false);    // 다음 조회에서 다시 시도
+                    log.warn("근사 건수 갱신 실패 (기존 값 유지): key={}, {}", key, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            stale.refreshing.set(false);
+        }
+    }
+    
+    private static final class Entry {
+        private final long count;
+        private final LongSupplier counter;
+        private final long countedAt = System.nanoTime();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        
+        private Entry(long count, LongSupplier counter) {
+            this.count = count;
+            this.counter = counter;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.shop.service;
+
+import com.example.shop.config.CheckoutProperties;
+import com.example.shop.dto.CheckoutDto;
+import com.example.shop.dto.OrderDto;
+import com.example.shop.entity.CheckoutRequest;
+import com.example.shop.exception.CheckoutQueueFullException;
+import com.example.shop.repository.CheckoutRequestRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * 비동기 주문 처리
+ * Idempotency-Key 별로 요청을 기록한 뒤 제한된 대기열에 넣고, 소수의 작업 스레드가
+ * 여러 주문을 한 트랜잭션으로 묶어 처리한다. 같은 키로 다시 요청하면 재실행 없이 기존 결과를 돌려준다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncCheckoutService {
+    
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,100}");
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private final OrderService orderService;
+    private final CheckoutRequestRepository checkoutRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CheckoutProperties checkoutProperties;
+    
+    private BlockingQueue<Job> queue;
+    private ExecutorService workers;
+    
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(checkoutProperties.getQueueCapacity());
+        recoverPendingRequests();
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(checkoutProperties.getWorkers(), runnable -> {
+            Thread thread = new Thread(runnable, "checkout-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < checkoutProperties.getWorkers(); i++) {
+            workers.submit(this::runWorker);
+        }
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        workers.shutdownNow();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * 재시작 전에 대기열에 있던 요청 복구 (웹 요청을 받기 전에 실행)
+     */
+    private void recoverPendingRequests() {
+        List<CheckoutRequest> pending = checkoutRequestRepository
+                .findByStatusOrderByIdAsc(CheckoutRequest.CheckoutStatus.PENDING);
+        for (CheckoutRequest request : pending) {
+            try {
+                OrderDto.Request body = objectMapper.readValue(request.getPayload(), OrderDto.Request.class);
+                if (!queue.offer(new Job(request.getId(), request.getUserId(), request.getType(), body))) {
+                    log.warn("주문 대기열이 가득 차 복구를 중단합니다: requestId = {} 이후 요청은 재시작 시 복구", request.getId());
+                    return;
+                }
+            } catch (JsonProcessingException e) {
+                log.error("주문 요청 복구 실패: idempotencyKey = {}", request.getIdempotencyKey(), e);
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("미처리 주문 요청 복구: {}건", pending.size());
+        }
+    }
+    
+    /**
+     * 주문 요청 접수 (같은 키가 이미 있으면 기존 결과 반환)
+     */
+    public CheckoutDto.Status submit(Long userId, CheckoutRequest.CheckoutType type,
+                                     String idempotencyKey, OrderDto.Request request) {
+        if (!KEY_PATTERN.matcher(idempotencyKey).matches()) {
+            throw new IllegalArgumentException("Idempotency-Key 는 영문, 숫자, '-', '_' 로 된 100자 이하 문자열이어야 합니다.");
+        }
+        
+        CheckoutRequest existing = checkoutRequestRepository.findByIdempotencyKey(idempotencyKey).orElse(null);
+        if (existing != null) {
+            return duplicate(existing, userId);
+        }
+        
+        CheckoutRequest saved;
+        try {
+            saved = checkoutRequestRepository.saveAndFlush(CheckoutRequest.builder()
+                    .idempotencyKey(idempotencyKey)
+                    .userId(userId)
+                    .type(type)
+                    .payload(objectMapper.writeValueAsString(request))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 같은 키로 동시에 들어온 요청: 먼저 저장된 요청의 결과를 따른다
+            return duplicate(checkoutRequestRepository.findByIdempotencyKey(idempotencyKey).orElseThrow(() -> e), userId);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("주문 요청을 처리할 수 없습니다.", e);
+        }
+        
+        if (!queue.offer(new Job(saved.getId(), userId, type, request))) {
+            // 접수하지 못한 요청은 지워서 같은 키로 다시 시도할 수 있게 한다
+            checkoutRequestRepository.delete(saved);
+            throw new CheckoutQueueFullException();
+        }
+        
+        log.info("비동기 주문 접수: userId = {}, type = {}, idempotencyKey = {}", userId, type, idempotencyKey);
+        return CheckoutDto.Status.from(saved);
+    }
+    
+    /**
+     * 주문 처리 상태 조회 (요청한 사용자의 키만)
+     */
+    public CheckoutDto.Status getStatus(Long userId, String idempotencyKey) {
+        CheckoutRequest request = checkoutRequestRepository.findByIdempotencyKeyAndUserId(idempotencyKey, userId)
+                .orElseThrow(() -> new IllegalArgumentException("주문 요청을 찾을 수 없습니다: " + idempotencyKey));
+        return CheckoutDto.Status.from(request);
+    }
+    
+    private CheckoutDto.Status duplicate(CheckoutRequest existing, Long userId) {
+        if (!existing.getUserId().equals(userId)) {
+            throw new IllegalArgumentException("다른 사용자가 사용한 Idempotency-Key 입니다.");
+        }
+        log.info("중복 주문 요청: idempotencyKey = {}, status = {}", existing.getIdempotencyKey(), existing.getStatus());
+        return CheckoutDto.Status.from(existing);
+    }
+    
+    private void runWorker() {
+        List<Job> batch = new ArrayList<>(checkoutProperties.getBatchSize());
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, checkoutProperties.getBatchSize() - 1);
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("주문 처리 스레드 오류", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+    
+    /**
+     * 여러 주문을 한 트랜잭션으로 처리하고, 하나라도 실패하면 전체를 되돌린 뒤 주문별로 다시 처리
+     */
+    private void processBatch(List<Job> batch) {
+        if (batch.size() > 1) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.forEach(this::process));
+                log.debug("주문 배치 처리 완료: {}건", batch.size());
+                return;
+            } catch (RuntimeException e) {
+                log.info("주문 배치 처리 실패, 개별 처리로 전환: {}건 ({})", batch.size(), e.getMessage());
+            }
+        }
+        
+        for (Job job : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> process(job));
+            } catch (RuntimeException e) {
+                fail(job, e);
+            }
+        }
+    }
+    
+    private OrderDto.Response createOrder(Job job) {
+        if (job.getType() == CheckoutRequest.CheckoutType.FROM_CART) {
+            return orderService.createOrderFromCart(job.getUserId(), job.getRequest());
+        }
+        return orderService.createDirectOrder(job.getUserId(), job.getRequest());
+    }
+    
+    /**
+     * 주문 생성 후 요청 기록을 완료 처리 (호출한 트랜잭션 안에서 함께 커밋)
+     * 재시작 복구로 여러 인스턴스가 같은 요청을 대기열에 올려도, 조건부 UPDATE 로 먼저 선점한 쪽만 실행한다.
+     */
+    private void process(Job job) {
+        if (checkoutRequestRepository.claimPending(job.getRequestId(), LocalDateTime.now()) == 0) {
+            return; // 이미 처리되었거나 지워진 요청은 다시 실행하지 않는다
+        }
+        CheckoutRequest request = checkoutRequestRepository.findById(job.getRequestId())
+                .orElseThrow(() -> new IllegalStateException("주문 요청 기록이 없습니다: " + job.getRequestId()));
+        
+        OrderDto.Response order = createOrder(job);
+        request.setStatus(CheckoutRequest.CheckoutStatus.COMPLETED);
+        request.setOrderId(order.getId());
+        request.setOrderNumber(order.getOrderNumber());
+    }
+    
+    private void fail(Job job, RuntimeException cause) {
+        String message = cause instanceof IllegalArgumentException
+                ? cause.getMessage()
+                : "주문 처리 중 오류가 발생했습니다.";
+        if (message != null && message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        if (!(cause instanceof IllegalArgumentException)) {
+            log.error("비동기 주문 처리 실패: requestId = {}", job.getRequestId(), cause);
+        }
+        
+        String errorMessage = message;
+        transactionTemplate.executeWithoutResult(status ->
+                checkoutRequestRepository.findById(job.getRequestId()).ifPresent(request -> {
+                    request.setStatus(CheckoutRequest.CheckoutStatus.FAILED);
+                    request.setErrorMessage(errorMessage);
+                }));
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    private static class Job {
+        private final Long requestId;
+        private final Long userId;
+        private final CheckoutRequest.CheckoutType type;
+        private final OrderDto.Request request;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.shop.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 장바구니 중복 행 병합 (uk_carts_user_product 생성 전 1회성 정리)
+ * 예전 담기 경로는 같은 사용자/상품 행을 여러 개 만들 수 있었고, 그런 데이터가 남아 있으면
+ * ddl-auto 가 유니크 제약을 만들지 못해 upsert 가 제자리 갱신을 하지 못한다.
+ * JPA 초기화(스키마 갱신)보다 먼저 실행되도록 JpaConfig 에서 의존 관계를 건다.
+ * 중복 그룹은 수량을 합쳐 가장 오래된(id 가 가장 작은) 행 하나만 남긴다. 중복이 없으면 조회 한 번으로 끝난다.
+ */
+@Component
+@Slf4j
+public class CartDuplicateMerger {
+    
+    private static final String DUPLICATES_SQL = "SELECT user_id, product_id, MIN(id), SUM(quantity) FROM carts "
+            + "GROUP BY user_id, product_id HAVING COUNT(*) > 1";
+    private static final String KEEP_SQL = "UPDATE carts SET quantity = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM carts WHERE user_id = ? AND product_id = ? AND id <> ?";
+    
+    // 조회 결과 배열의 자리
+    private static final int USER_ID = 0;
+    private static final int PRODUCT_ID = 1;
+    private static final int KEEP_ID = 2;
+    private static final int QUANTITY = 3;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    // JPA 보다 먼저 만들어지므로 JPA 트랜잭션 매니저 대신 DataSource 트랜잭션을 쓴다
+    public CartDuplicateMerger(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+    
+    @PostConstruct
+    public void merge() {
+        List<long[]> groups;
+        try {
+            groups = jdbcTemplate.query(DUPLICATES_SQL, (rs, rowNum) ->
+                    new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)});
+        } catch (BadSqlGrammarException e) {
+            return;    // 아직 carts 테이블이 없는 새 DB
+        }
+        if (groups.isEmpty()) {
+            return;
+        }
+        
+        // 합친 수량 갱신과 나머지 행 삭제를 한 트랜잭션으로 (중간에 실패해도 다음 시작 때 다시 합친다)
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(KEEP_SQL, groups, groups.size(), (ps, group) -> {
+                ps.setLong(1, group[QUANTITY]);
+                ps.setLong(2, group[KEEP_ID]);
+            });
+            jdbcTemplate.batchUpdate(DELETE_SQL, groups, groups.size(), (ps, group) -> {
+                ps.setLong(1, group[USER_ID]);
+                ps.setLong(2, group[PRODUCT_ID]);
+                ps.setLong(3, group[KEEP_ID]);
+            });
+        });
+        log.warn("장바구니 중복 행 병합: {}개 (사용자, 상품) 조합", groups.size());
+    }
+}
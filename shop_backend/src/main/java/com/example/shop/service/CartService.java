@@ -1,19 +1,35 @@
 package com.example.shop.service;
 
 import com.example.shop.dto.CartDto;
+import com.example.shop.dto.ProductDto;
 import com.example.shop.entity.Cart;
 import com.example.shop.entity.Product;
 import com.example.shop.entity.User;
 import com.example.shop.repository.CartRepository;
+import com.example.shop.repository.ProductListView;
 import com.example.shop.repository.ProductRepository;
 import com.example.shop.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,66 +38,107 @@ import java.util.stream.Collectors;
 @Slf4j
 public class CartService {
     
+    private static final String DELETE_SQL = "DELETE FROM carts WHERE id = ?";
+    private static final String UPDATE_SQL = "UPDATE carts SET quantity = ?, updated_at = ? WHERE id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO carts (user_id, product_id, quantity, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERTED_IDS_SQL =
+            "SELECT id, product_id FROM carts WHERE user_id = :userId AND product_id IN (:productIds)";
+    
     private final CartRepository cartRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final Optional<CartStore> cartStore;    // cart.store=memory 일 때만 (항목 ID 는 상품 ID)
     
     /**
      * 장바구니에 상품 추가
+     * 사용자/상품을 먼저 읽지 않고 upsert 한 번으로 넣거나 수량을 더한 뒤, 응답용으로 항목을 상품과 함께 한 번 읽는다.
+     * 합친 수량이 재고를 넘으면 예외로 트랜잭션을 롤백해 방금 더한 수량도 되돌린다.
      */
     public CartDto.Response addToCart(Long userId, CartDto.Request request) {
         log.info("장바구니에 상품 추가 시도: userId={}, productId={}, quantity={}", 
                 userId, request.getProductId(), request.getQuantity());
         
-        // 사용자 조회
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다: " + userId));
-        
-        // 상품 조회
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다: " + request.getProductId()));
-        
-        // 상품 활성화 상태 확인
-        if (!product.getIsActive()) {
-            throw new IllegalArgumentException("비활성화된 상품입니다");
+        Long productId = request.getProductId();
+        int quantity = request.getQuantity();
+        if (cartStore.isPresent()) {
+            ProductListView product = activeProductView(productId);
+            CartStore.Line line = cartStore.get().add(userId, productId, quantity, product.getStockQuantity());
+            return toResponse(line, product);
         }
         
-        // 재고 확인
-        if (product.getStockQuantity() < request.getQuantity()) {
-            throw new IllegalArgumentException("재고가 부족합니다. 현재 재고: " + product.getStockQuantity());
+        int affected;
+        try {
+            affected = cartRepository.upsertQuantity(userId, productId, quantity);
+        } catch (DataIntegrityViolationException e) {
+            // 상품 조건은 SELECT 에서 걸러지므로 남는 것은 user_id 외래 키 위반
+            throw new IllegalArgumentException("존재하지 않는 사용자입니다: " + userId);
         }
-        
-        // 이미 장바구니에 있는지 확인
-        Optional<Cart> existingCart = cartRepository.findByUserAndProduct(user, product);
-        
-        Cart cart;
-        if (existingCart.isPresent()) {
-            // 이미 존재하면 수량 증가
-            cart = existingCart.get();
-            int newQuantity = cart.getQuantity() + request.getQuantity();
-            
-            // 새로운 수량으로 재고 확인
-            if (product.getStockQuantity() < newQuantity) {
-                throw new IllegalArgumentException("재고가 부족합니다. 현재 재고: " + product.getStockQuantity() + 
-                        ", 장바구니 수량: " + cart.getQuantity());
-            }
-            
-            cart.setQuantity(newQuantity);
-            log.info("기존 장바구니 상품 수량 증가: cartId={}, newQuantity={}", cart.getId(), newQuantity);
-        } else {
-            // 새로 추가
-            cart = Cart.builder()
-                    .user(user)
-                    .product(product)
-                    .quantity(request.getQuantity())
-                    .build();
-            log.info("새 상품 장바구니 추가");
+        if (affected == 0) {
+            throw rejectedAddReason(productId);
         }
         
-        Cart savedCart = cartRepository.save(cart);
-        log.info("장바구니 추가 완료: cartId={}", savedCart.getId());
+        Cart cart = cartRepository.findWithProductByUserIdAndProductId(userId, productId)
+                .orElseThrow(() -> new IllegalStateException("장바구니 항목을 찾을 수 없습니다: " + productId));
+        Product product = cart.getProduct();
+        if (product.getStockQuantity() < cart.getQuantity()) {
+            throw new IllegalArgumentException("재고가 부족합니다. 현재 재고: " + product.getStockQuantity() + 
+                    ", 장바구니 수량: " + (cart.getQuantity() - quantity));
+        }
+        log.info("장바구니 추가 완료: cartId={}, quantity={}", cart.getId(), cart.getQuantity());
         
-        return CartDto.Response.from(savedCart);
+        return CartDto.Response.from(cart);
+    }
+    
+    // upsert 가 반영되지 않은 이유 (실패한 경우에만 상품을 읽는다)
+    private IllegalArgumentException rejectedAddReason(Long productId) {
+        Optional<Product> product = productRepository.findById(productId);
+        if (product.isEmpty()) {
+            return new IllegalArgumentException("존재하지 않는 상품입니다: " + productId);
+        }
+        if (!product.get().getIsActive()) {
+            return new IllegalArgumentException("비활성화된 상품입니다");
+        }
+        return new IllegalArgumentException("재고가 부족합니다. 현재 재고: " + product.get().getStockQuantity());
+    }
+    
+    // 인메모리 장바구니용 상품 확인 (목록 projection 한 번으로 활성 여부와 재고를 함께 읽는다)
+    private ProductListView activeProductView(Long productId) {
+        ProductListView product = productView(productId);
+        if (!product.getIsActive()) {
+            throw new IllegalArgumentException("비활성화된 상품입니다");
+        }
+        return product;
+    }
+    
+    private ProductListView productView(Long productId) {
+        return productRepository.findListViewsByIdIn(List.of(productId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다: " + productId));
+    }
+    
+    private Map<Long, ProductListView> productViews(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.findListViewsByIdIn(productIds).stream()
+                .collect(Collectors.toMap(ProductListView::getId, Function.identity()));
+    }
+    
+    // 인메모리 장바구니 항목 응답 (그사이 삭제된 상품은 뺀다. DB 반영 시에도 빠짐)
+    private static List<CartDto.Response> toResponses(List<CartStore.Line> lines,
+                                                      Map<Long, ProductListView> products) {
+        return lines.stream()
+                .filter(line -> products.containsKey(line.getProductId()))
+                .map(line -> toResponse(line, products.get(line.getProductId())))
+                .collect(Collectors.toList());
+    }
+    
+    private static CartDto.Response toResponse(CartStore.Line line, ProductListView product) {
+        return CartDto.Response.of(line.getProductId(), product, line.getQuantity(),
+                line.getCreatedAt(), line.getUpdatedAt());
     }
     
     /**
@@ -89,15 +146,55 @@ public class CartService {
      */
     @Transactional(readOnly = true)
     public List<CartDto.Response> getCartItems(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다: " + userId));
+        if (cartStore.isPresent()) {
+            List<CartStore.Line> lines = cartStore.get().lines(userId);
+            return toResponses(lines, productViews(
+                    lines.stream().map(CartStore.Line::getProductId).collect(Collectors.toList())));
+        }
         
-        List<Cart> cartItems = cartRepository.findByUserOrderByCreatedAtDesc(user);
-        return cartItems.stream()
+        return cartRowsWithProducts(userId).stream()
                 .map(CartDto.Response::from)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * 장바구니 요약 (항목, 소계, 수량, 재고 경고)
+     * 항목/상품/카테고리를 fetch join 한 번으로 읽으므로 항목 수와 관계없이 쿼리 수가 같다.
+     * 소계는 원 단위 × 100 의 long 으로 누적하고 마지막에 한 번만 BigDecimal 로 바꾼다.
+     */
+    @Transactional(readOnly = true)
+    public CartDto.Summary getCartSummary(Long userId) {
+        CartSummaryBuilder summary = new CartSummaryBuilder();
+        if (cartStore.isPresent()) {
+            List<CartStore.Line> lines = cartStore.get().lines(userId);
+            Map<Long, ProductListView> products = productViews(
+                    lines.stream().map(CartStore.Line::getProductId).collect(Collectors.toList()));
+            for (CartStore.Line line : lines) {
+                ProductListView product = products.get(line.getProductId());
+                if (product != null) {
+                    summary.add(line.getProductId(), ProductDto.ListResponse.from(product), line.getQuantity(),
+                            line.getCreatedAt(), line.getUpdatedAt());
+                }
+            }
+            return summary.build();
+        }
+        
+        for (Cart cart : cartRowsWithProducts(userId)) {
+            summary.add(cart.getId(), ProductDto.ListResponse.from(cart.getProduct()), cart.getQuantity(),
+                    cart.getCreatedAt(), cart.getUpdatedAt());
+        }
+        return summary.build();
+    }
+    
+    // 장바구니가 비어 있을 때만 사용자 존재 여부를 따로 확인한다
+    private List<Cart> cartRowsWithProducts(Long userId) {
+        List<Cart> rows = cartRepository.findWithProductByUserIdOrderByCreatedAtDesc(userId);
+        if (rows.isEmpty() && !userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("존재하지 않는 사용자입니다: " + userId);
+        }
+        return rows;
+    }
+    
     /**
      * 장바구니 상품 수량 수정
      */
@@ -105,6 +202,18 @@ public class CartService {
         log.info("장바구니 상품 수량 수정 시도: userId={}, cartId={}, quantity={}", 
                 userId, cartId, request.getQuantity());
         
+        if (cartStore.isPresent()) {
+            if (!cartStore.get().contains(userId, cartId)) {
+                throw new IllegalArgumentException("존재하지 않는 장바구니 항목입니다: " + cartId);
+            }
+            ProductListView product = productView(cartId);
+            if (product.getStockQuantity() < request.getQuantity()) {
+                throw new IllegalArgumentException("재고가 부족합니다. 현재 재고: " + product.getStockQuantity());
+            }
+            CartStore.Line line = cartStore.get().update(userId, cartId, request.getQuantity());
+            return toResponse(line, product);
+        }
+        
         Cart cart = cartRepository.findById(cartId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 장바구니 항목입니다: " + cartId));
         
@@ -126,12 +235,231 @@ public class CartService {
         return CartDto.Response.from(updatedCart);
     }
     
+    /**
+     * 장바구니 일괄 변경 (담기/수량 수정/제거를 요청 순서대로 적용)
+     * 사용자의 장바구니 행과 관련 상품을 한 번씩만 읽고, 최종 상태 기준으로 재고를 함께 검사한 뒤
+     * 바뀐 행만 DELETE/UPDATE/INSERT JDBC 배치로 반영한다. 하나라도 실패하면 아무것도 반영하지 않는다.
+     *
+     * @return 변경 후 장바구니 (최근에 담은 순)
+     */
+    public List<CartDto.Response> applyBatch(Long userId, CartDto.BatchRequest request) {
+        List<CartDto.Operation> operations = request.getOperations();
+        log.info("장바구니 일괄 변경 시도: userId={}, operations={}", userId, operations.size());
+        
+        if (cartStore.isPresent()) {
+            return applyBatchInMemory(userId, operations);
+        }
+        
+        // 행을 잠가 읽고 절대 수량으로 다시 쓴다 (그사이 새로 담긴 상품은 INSERT 유니크 위반으로 걸러진다)
+        List<Cart> rows = cartRepository.findByUserIdForUpdate(userId);
+        if (rows.isEmpty() && !userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("존재하지 않는 사용자입니다: " + userId);
+        }
+        Map<Long, Long> productOfRow = new HashMap<>();
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (Cart row : rows) {
+            Long productId = row.getProduct().getId();    // 프록시 ID 라 상품을 읽지 않는다
+            productOfRow.put(row.getId(), productId);
+            quantities.put(productId, row.getQuantity());
+        }
+        Set<Long> existing = new HashSet<>(quantities.keySet());
+        Set<Long> touched = applyOperations(quantities, operations, productOfRow::get);
+        
+        Set<Long> productIds = new HashSet<>(existing);
+        productIds.addAll(touched);
+        Map<Long, ProductListView> products = productViews(productIds);
+        validateBatch(quantities, touched, existing, products);
+        
+        // 최종 상태와 기존 행을 비교해 바뀐 행만 반영
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> deletes = new ArrayList<>();
+        List<Cart> updates = new ArrayList<>();
+        for (Cart row : rows) {
+            Integer quantity = quantities.get(productOfRow.get(row.getId()));
+            if (quantity == null) {
+                deletes.add(row.getId());
+            } else if (!quantity.equals(row.getQuantity())) {
+                updates.add(row);
+            }
+        }
+        List<Long> inserts = quantities.keySet().stream()
+                .filter(productId -> !existing.contains(productId))
+                .collect(Collectors.toList());
+        Map<Long, Long> insertedIds = writeBatch(userId, deletes, updates, quantities, productOfRow, inserts, now);
+        
+        List<CartDto.Response> responses = new ArrayList<>();
+        for (Long productId : inserts) {
+            responses.add(CartDto.Response.of(insertedIds.get(productId), products.get(productId),
+                    quantities.get(productId), now, now));
+        }
+        for (Cart row : rows) {
+            Long productId = productOfRow.get(row.getId());
+            Integer quantity = quantities.get(productId);
+            if (quantity != null) {
+                LocalDateTime updatedAt = quantity.equals(row.getQuantity()) ? row.getUpdatedAt() : now;
+                responses.add(CartDto.Response.of(row.getId(), products.get(productId), quantity,
+                        row.getCreatedAt(), updatedAt));
+            }
+        }
+        log.info("장바구니 일괄 변경 완료: userId={}, 추가 {}, 수정 {}, 제거 {}",
+                userId, inserts.size(), updates.size(), deletes.size());
+        return responses;
+    }
+    
+    // 인메모리 장바구니: 항목 ID 가 상품 ID 이고, 검사와 적용은 샤드 잠금 안에서 한 번에
+    private List<CartDto.Response> applyBatchInMemory(Long userId, List<CartDto.Operation> operations) {
+        CartStore store = cartStore.get();
+        Set<Long> productIds = new HashSet<>();
+        store.lines(userId).forEach(line -> productIds.add(line.getProductId()));
+        for (CartDto.Operation operation : operations) {
+            productIds.add(operation.getType() == CartDto.OperationType.ADD
+                    ? operation.getProductId() : operation.getCartId());
+        }
+        productIds.remove(null);
+        Map<Long, ProductListView> products = new HashMap<>(productViews(productIds));
+        
+        List<CartStore.Line> lines = store.apply(userId, quantities -> {
+            Set<Long> existing = new HashSet<>(quantities.keySet());
+            Set<Long> touched = applyOperations(quantities, operations, cartId -> cartId);
+            validateBatch(quantities, touched, existing, products);
+        });
+        
+        // 목록을 읽은 뒤 다른 요청이 담은 상품
+        List<Long> missing = lines.stream()
+                .map(CartStore.Line::getProductId)
+                .filter(productId -> !products.containsKey(productId))
+                .collect(Collectors.toList());
+        products.putAll(productViews(missing));
+        return toResponses(lines, products);
+    }
+    
+    /**
+     * 변경 항목을 상품 ID → 수량 맵에 차례로 적용
+     *
+     * @param itemToProduct 장바구니 항목 ID → 상품 ID
+     * @return 변경된 상품 ID
+     */
+    private static Set<Long> applyOperations(Map<Long, Integer> quantities, List<CartDto.Operation> operations,
+                                             Function<Long, Long> itemToProduct) {
+        Set<Long> touched = new HashSet<>();
+        for (CartDto.Operation operation : operations) {
+            switch (operation.getType()) {
+                case ADD -> {
+                    if (operation.getProductId() == null || operation.getQuantity() == null) {
+                        throw new IllegalArgumentException("상품 추가에는 상품 ID 와 수량이 필요합니다");
+                    }
+                    quantities.merge(operation.getProductId(), operation.getQuantity(), Integer::sum);
+                    touched.add(operation.getProductId());
+                }
+                case UPDATE -> {
+                    if (operation.getQuantity() == null) {
+                        throw new IllegalArgumentException("수량은 필수입니다");
+                    }
+                    Long productId = productOfItem(quantities, operation.getCartId(), itemToProduct);
+                    quantities.put(productId, operation.getQuantity());
+                    touched.add(productId);
+                }
+                case REMOVE -> {
+                    Long productId = productOfItem(quantities, operation.getCartId(), itemToProduct);
+                    quantities.remove(productId);
+                    touched.add(productId);
+                }
+            }
+        }
+        return touched;
+    }
+    
+    private static Long productOfItem(Map<Long, Integer> quantities, Long cartId, Function<Long, Long> itemToProduct) {
+        Long productId = cartId != null ? itemToProduct.apply(cartId) : null;
+        if (productId == null || !quantities.containsKey(productId)) {
+            throw new IllegalArgumentException("존재하지 않는 장바구니 항목입니다: " + cartId);
+        }
+        return productId;
+    }
+    
+    /**
+     * 변경된 항목의 최종 수량을 함께 검사 (부족한 상품을 모두 모아 한 번에 알린다)
+     * 새로 담는 상품만 활성 여부를 본다 (이미 담긴 상품의 수량 수정은 단건 API 와 같게 허용).
+     */
+    private static void validateBatch(Map<Long, Integer> quantities, Set<Long> touched, Set<Long> existing,
+                                      Map<Long, ProductListView> products) {
+        List<String> shortages = new ArrayList<>();
+        for (Long productId : touched) {
+            Integer quantity = quantities.get(productId);
+            if (quantity == null) {
+                continue;
+            }
+            ProductListView product = products.get(productId);
+            if (product == null) {
+                throw new IllegalArgumentException("존재하지 않는 상품입니다: " + productId);
+            }
+            if (!existing.contains(productId) && !product.getIsActive()) {
+                throw new IllegalArgumentException("비활성화된 상품입니다: " + productId);
+            }
+            if (product.getStockQuantity() < quantity) {
+                shortages.add(productId + "(현재 재고: " + product.getStockQuantity() + ", 요청 수량: " + quantity + ")");
+            }
+        }
+        if (!shortages.isEmpty()) {
+            throw new IllegalArgumentException("재고가 부족합니다: " + String.join(", ", shortages));
+        }
+    }
+    
+    /**
+     * 바뀐 행을 JDBC 배치로 반영 (영속성 컨텍스트를 거치지 않음)
+     *
+     * @return 새로 넣은 행의 상품 ID → 장바구니 항목 ID
+     */
+    private Map<Long, Long> writeBatch(Long userId, List<Long> deletes, List<Cart> updates,
+                                       Map<Long, Integer> quantities, Map<Long, Long> productOfRow,
+                                       List<Long> inserts, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, deletes, deletes.size(),
+                    (ps, cartId) -> ps.setLong(1, cartId));
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, row) -> {
+                ps.setInt(1, quantities.get(productOfRow.get(row.getId())));
+                ps.setTimestamp(2, timestamp);
+                ps.setLong(3, row.getId());
+            });
+        }
+        if (inserts.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), (ps, productId) -> {
+                ps.setLong(1, userId);
+                ps.setLong(2, productId);
+                ps.setInt(3, quantities.get(productId));
+                ps.setTimestamp(4, timestamp);
+                ps.setTimestamp(5, timestamp);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 읽은 뒤 다른 요청이 같은 상품을 먼저 담은 경우 (user_id, product_id) 유니크 인덱스 위반
+            throw new IllegalArgumentException("장바구니가 동시에 변경되었습니다. 다시 시도해 주세요");
+        }
+        Map<Long, Long> ids = new HashMap<>();
+        namedParameterJdbcTemplate.query(INSERTED_IDS_SQL,
+                Map.of("userId", userId, "productIds", inserts),
+                rs -> {
+                    ids.put(rs.getLong(2), rs.getLong(1));
+                });
+        return ids;
+    }
+    
     /**
      * 장바구니에서 상품 제거
      */
     public void removeFromCart(Long userId, Long cartId) {
         log.info("장바구니에서 상품 제거 시도: userId={}, cartId={}", userId, cartId);
         
+        if (cartStore.isPresent()) {
+            cartStore.get().remove(userId, cartId);
+            return;
+        }
+        
         Cart cart = cartRepository.findById(cartId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 장바구니 항목입니다: " + cartId));
         
@@ -150,6 +478,11 @@ public class CartService {
     public void clearCart(Long userId) {
         log.info("장바구니 전체 비우기 시도: userId={}", userId);
         
+        if (cartStore.isPresent()) {
+            cartStore.get().clear(userId);
+            return;
+        }
+        
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다: " + userId));
         
@@ -162,6 +495,10 @@ public class CartService {
      */
     @Transactional(readOnly = true)
     public int getCartItemCount(Long userId) {
+        if (cartStore.isPresent()) {
+            return cartStore.get().count(userId);
+        }
+        
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다: " + userId));
         
@@ -173,6 +510,13 @@ public class CartService {
      */
     @Transactional(readOnly = true)
     public boolean isProductInCart(Long userId, Long productId) {
+        if (cartStore.isPresent()) {
+            if (!productRepository.existsById(productId)) {
+                throw new IllegalArgumentException("존재하지 않는 상품입니다: " + productId);
+            }
+            return cartStore.get().contains(userId, productId);
+        }
+        
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 사용자입니다: " + userId));
         
@@ -181,4 +525,67 @@ public class CartService {
         
         return cartRepository.findByUserAndProduct(user, product).isPresent();
     }
+    
+    private static final class CartSummaryBuilder {
+        private final List<CartDto.Response> items = new ArrayList<>();
+        private final List<CartDto.StockWarning> warnings = new ArrayList<>();
+        private long subtotalCents;
+        private int totalQuantity;
+        
+        void add(Long cartId, ProductDto.ListResponse product, int quantity,
+                 LocalDateTime createdAt, LocalDateTime updatedAt) {
+            long lineCents = Math.multiplyExact(toCents(product.getPrice()), quantity);
+            subtotalCents = Math.addExact(subtotalCents, lineCents);
+            totalQuantity += quantity;
+            items.add(CartDto.Response.builder()
+                    .id(cartId)
+                    .product(product)
+                    .quantity(quantity)
+                    .totalPrice(BigDecimal.valueOf(lineCents, 2))
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build());
+            
+            int stock = product.getStockQuantity();
+            if (!Boolean.TRUE.equals(product.getIsActive())) {
+                warnings.add(warning(cartId, product, quantity, CartDto.StockWarningType.INACTIVE,
+                        "판매가 중지된 상품입니다"));
+            } else if (stock == 0) {
+                warnings.add(warning(cartId, product, quantity, CartDto.StockWarningType.OUT_OF_STOCK,
+                        "품절된 상품입니다"));
+            } else if (stock < quantity) {
+                warnings.add(warning(cartId, product, quantity, CartDto.StockWarningType.INSUFFICIENT_STOCK,
+                        "재고가 부족합니다. 현재 재고: " + stock));
+            }
+        }
+        
+        CartDto.Summary build() {
+            return CartDto.Summary.builder()
+                    .items(items)
+                    .itemCount(items.size())
+                    .totalQuantity(totalQuantity)
+                    .subtotal(BigDecimal.valueOf(subtotalCents, 2))
+                    .stockWarnings(warnings)
+                    .orderable(!items.isEmpty() && warnings.isEmpty())
+                    .build();
+        }
+        
+        private static CartDto.StockWarning warning(Long cartId, ProductDto.ListResponse product, int quantity,
+                                                    CartDto.StockWarningType type, String message) {
+            return CartDto.StockWarning.builder()
+                    .cartId(cartId)
+                    .productId(product.getId())
+                    .productName(product.getName())
+                    .type(type)
+                    .requestedQuantity(quantity)
+                    .availableQuantity(product.getStockQuantity())
+                    .message(message)
+                    .build();
+        }
+        
+        // 가격 컬럼은 소수 둘째 자리까지이므로 100배 한 정수로 정확히 표현된다
+        private static long toCents(BigDecimal price) {
+            return price.movePointRight(2).longValueExact();
+        }
+    }
 }
@@ -0,0 +1,614 @@
+package com.example.shop.service;
+
+import com.example.shop.config.CartProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 인메모리 장바구니 (cart.store=memory)
+ * 사용자별 장바구니를 상품 ID → 수량 배열로 샤드 맵에 두고, 변경된 장바구니는 주기적으로 모아 carts 테이블에 반영한다.
+ * 한 주기 안의 여러 변경은 사용자당 DELETE + INSERT 한 번으로 합쳐지고, 주문 시에는 주문 트랜잭션 안에서 먼저 반영한다.
+ * 반영을 마친 뒤 idle-ttl 동안 접근이 없던 장바구니는 메모리에서 내리고, 다음 접근 때 DB 에서 다시 읽는다.
+ * 장바구니의 기준이 이 프로세스이므로 애플리케이션 인스턴스가 하나일 때만 사용해야 한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cart", name = "store", havingValue = "memory")
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class CartStore {
+    
+    // 사용자 존재 확인과 장바구니 적재를 한 번에 (행이 없으면 존재하지 않는 사용자)
+    private static final String LOAD_SQL =
+            "SELECT u.id, c.product_id, c.quantity, c.created_at, c.updated_at " +
+            "FROM users u LEFT JOIN carts c ON c.user_id = u.id WHERE u.id = ?";
+    private static final String DELETE_SQL = "DELETE FROM carts WHERE user_id = ?";
+    // 그사이 삭제된 사용자/상품의 항목은 조인에서 빠진다 (외래 키 위반으로 배치 전체가 실패하지 않도록)
+    private static final String INSERT_SQL =
+            "INSERT INTO carts (user_id, product_id, quantity, created_at, updated_at) " +
+            "SELECT u.id, p.id, ?, ?, ? FROM users u JOIN products p ON p.id = ? WHERE u.id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CartProperties cartProperties;
+    
+    private Shard[] shards;
+    
+    @PostConstruct
+    public void init() {
+        shards = new Shard[cartProperties.getShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+        log.info("인메모리 장바구니 모드 시작: shards={}, flushInterval={}ms, idleTtl={}",
+                shards.length, cartProperties.getFlushInterval(), cartProperties.getIdleTtl());
+    }
+    
+    /**
+     * 장바구니 항목 (최근에 담은 순)
+     */
+    public List<Line> lines(Long userId) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            return lines(cartOf(shard, userId));
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    private static List<Line> lines(UserCart cart) {
+        List<Line> lines = new ArrayList<>(cart.size);
+        for (int i = 0; i < cart.size; i++) {
+            lines.add(cart.line(i));
+        }
+        lines.sort((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()));
+        return lines;
+    }
+    
+    /**
+     * 상품 담기 (이미 담겨 있으면 수량을 더한다)
+     *
+     * @param stock 상품의 현재 재고 (합친 수량이 넘으면 예외)
+     */
+    public Line add(Long userId, Long productId, int quantity, int stock) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            UserCart cart = cartOf(shard, userId);
+            int index = cart.indexOf(productId);
+            int current = index >= 0 ? cart.quantities[index] : 0;
+            if (current + quantity > stock) {
+                throw new IllegalArgumentException(current == 0
+                        ? "재고가 부족합니다. 현재 재고: " + stock
+                        : "재고가 부족합니다. 현재 재고: " + stock + ", 장바구니 수량: " + current);
+            }
+            return cart.line(cart.put(productId, current + quantity));
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    /**
+     * 수량 변경
+     */
+    public Line update(Long userId, Long productId, int quantity) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            UserCart cart = cartOf(shard, userId);
+            if (cart.indexOf(productId) < 0) {
+                throw new IllegalArgumentException("존재하지 않는 장바구니 항목입니다: " + productId);
+            }
+            return cart.line(cart.put(productId, quantity));
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    public void remove(Long userId, Long productId) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            if (!cartOf(shard, userId).remove(productId)) {
+                throw new IllegalArgumentException("존재하지 않는 장바구니 항목입니다: " + productId);
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    public void clear(Long userId) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            cartOf(shard, userId).clear();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    public int count(Long userId) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            return cartOf(shard, userId).size;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    public boolean contains(Long userId, Long productId) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            return cartOf(shard, userId).indexOf(productId) >= 0;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    /**
+     * 여러 변경을 한 번에 적용 (change 가 예외를 던지면 아무것도 바뀌지 않는다)
+     * change 는 샤드 잠금 안에서 상품 ID → 수량 사본(담은 순)을 받아 고친다.
+     *
+     * @return 변경 후 항목 (최근에 담은 순)
+     */
+    public List<Line> apply(Long userId, Consumer<Map<Long, Integer>> change) {
+        Shard shard = shardOf(userId);
+        shard.lock.lock();
+        try {
+            UserCart cart = cartOf(shard, userId);
+            Map<Long, Integer> quantities = new LinkedHashMap<>();
+            for (int i = 0; i < cart.size; i++) {
+                quantities.put(cart.productIds[i], cart.quantities[i]);
+            }
+            change.accept(quantities);
+            
+            for (int i = cart.size - 1; i >= 0; i--) {
+                if (!quantities.containsKey(cart.productIds[i])) {
+                    cart.remove(cart.productIds[i]);
+                }
+            }
+            quantities.forEach((productId, quantity) -> {
+                int index = cart.indexOf(productId);
+                if (index < 0 || cart.quantities[index] != quantity) {
+                    cart.put(productId, quantity);
+                }
+            });
+            return lines(cart);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    /**
+     * 주문 직전 반영: 진행 중인 주문 트랜잭션 안에서 사용자의 장바구니를 carts 테이블에 쓴다.
+     * 주문 트랜잭션이 끝날 때까지 사용자 샤드의 반영 잠금을 잡아, 주기 반영이 오래된 스냅샷을 주문 뒤에 다시 쓰지 않게 한다.
+     * 커밋되면 돌려받은 Checkout 에 알린 주문 수량만큼 메모리에서 빼고, 롤백되면 다음 주기에 다시 반영하도록 표시한다.
+     */
+    public Checkout persistForCheckout(Long userId) {
+        Shard shard = shardOf(userId);
+        Checkout checkout = new Checkout(shard, userId);
+        shard.flushLock.lock();
+        try {
+            Snapshot snapshot;
+            shard.lock.lock();
+            try {
+                snapshot = cartOf(shard, userId).snapshot(userId);
+            } finally {
+                shard.lock.unlock();
+            }
+            write(List.of(snapshot));
+            markFlushed(snapshot);
+        } catch (RuntimeException e) {
+            shard.flushLock.unlock();
+            throw e;
+        }
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            shard.flushLock.unlock();
+            checkout.completed = true;
+            return checkout;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    checkout.complete(status == STATUS_COMMITTED);
+                } finally {
+                    shard.flushLock.unlock();
+                }
+            }
+        });
+        return checkout;
+    }
+    
+    /**
+     * 변경된 장바구니를 carts 테이블에 일괄 반영 (write-behind) 후 오래 쓰지 않은 장바구니를 내린다
+     * 주문 중인 샤드는 건너뛰고 다음 주기에 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${cart.flush-interval:2000}")
+    public void flush() {
+        flush(false);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flush(true);
+    }
+    
+    /**
+     * 샤드를 차례로 반영 잠금하며 스냅샷을 모으고, flush-batch-size 이상 모이면 쓰고 잠금을 푼다
+     *
+     * @param waitForCheckouts false 면 주문 중인 샤드를 기다리지 않고 건너뛴다
+     */
+    private synchronized void flush(boolean waitForCheckouts) {
+        List<Shard> locked = new ArrayList<>();
+        List<Snapshot> snapshots = new ArrayList<>();
+        int written = 0;
+        try {
+            for (Shard shard : shards) {
+                if (waitForCheckouts) {
+                    shard.flushLock.lock();
+                } else if (!shard.flushLock.tryLock()) {
+                    continue;
+                }
+                locked.add(shard);
+                shard.lock.lock();
+                try {
+                    shard.carts.forEach((userId, cart) -> {
+                        if (cart.isDirty()) {
+                            snapshots.add(cart.snapshot(userId));
+                        }
+                    });
+                } finally {
+                    shard.lock.unlock();
+                }
+                if (snapshots.size() >= cartProperties.getFlushBatchSize()) {
+                    written += writeBatches(snapshots);
+                    snapshots.clear();
+                    unlockAll(locked);
+                }
+            }
+            written += writeBatches(snapshots);
+        } finally {
+            unlockAll(locked);
+        }
+        if (written > 0) {
+            log.debug("장바구니 DB 반영 완료: {}명", written);
+        }
+        evictIdle();
+    }
+    
+    private int writeBatches(List<Snapshot> snapshots) {
+        int batchSize = cartProperties.getFlushBatchSize();
+        int written = 0;
+        for (int from = 0; from < snapshots.size(); from += batchSize) {
+            List<Snapshot> batch = snapshots.subList(from, Math.min(from + batchSize, snapshots.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+                batch.forEach(this::markFlushed);
+                written += batch.size();
+            } catch (RuntimeException e) {
+                log.error("장바구니 DB 반영 실패, 다음 주기에 재시도합니다: {}명", batch.size(), e);
+            }
+        }
+        return written;
+    }
+    
+    private static void unlockAll(List<Shard> locked) {
+        locked.forEach(shard -> shard.flushLock.unlock());
+        locked.clear();
+    }
+    
+    /**
+     * 반영된 뒤 idle-ttl 동안 접근이 없던 장바구니를 메모리에서 내린다 (DB 값이 최신)
+     */
+    private void evictIdle() {
+        long idleBefore = System.currentTimeMillis() - cartProperties.getIdleTtl().toMillis();
+        int evicted = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                Iterator<UserCart> iterator = shard.carts.values().iterator();
+                while (iterator.hasNext()) {
+                    UserCart cart = iterator.next();
+                    if (!cart.isDirty() && cart.lastAccess <= idleBefore) {
+                        iterator.remove();
+                        evicted++;
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        if (evicted > 0) {
+            log.debug("유휴 장바구니 내림: {}명", evicted);
+        }
+    }
+    
+    private void write(List<Snapshot> snapshots) {
+        jdbcTemplate.batchUpdate(DELETE_SQL, snapshots, snapshots.size(),
+                (ps, snapshot) -> ps.setLong(1, snapshot.userId));
+        List<Object[]> rows = new ArrayList<>();
+        for (Snapshot snapshot : snapshots) {
+            for (int i = 0; i < snapshot.productIds.length; i++) {
+                rows.add(new Object[]{snapshot.quantities[i], new Timestamp(snapshot.createdAt[i]),
+                        new Timestamp(snapshot.updatedAt[i]), snapshot.productIds[i], snapshot.userId});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+    }
+    
+    // 스냅샷 이후 다시 바뀌었으면 dirty 로 남는다
+    private void markFlushed(Snapshot snapshot) {
+        Shard shard = shardOf(snapshot.userId);
+        shard.lock.lock();
+        try {
+            UserCart cart = shard.carts.get(snapshot.userId);
+            if (cart != null) {
+                cart.flushedVersion = Math.max(cart.flushedVersion, snapshot.version);
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    /**
+     * 메모리에 없으면 DB 에서 읽어 올린다 (DB 조회는 샤드 잠금을 놓고 한다)
+     * 호출 시 샤드 잠금을 잡고 있어야 하며, 돌아올 때도 잡은 상태다.
+     */
+    private UserCart cartOf(Shard shard, Long userId) {
+        UserCart cart = shard.carts.get(userId);
+        if (cart == null) {
+            shard.lock.unlock();
+            UserCart loaded;
+            try {
+                loaded = load(userId);
+            } finally {
+                shard.lock.lock();
+            }
+            cart = shard.carts.putIfAbsent(userId, loaded);
+            if (cart == null) {
+                cart = loaded;
+            }
+        }
+        cart.lastAccess = System.currentTimeMillis();
+        return cart;
+    }
+    
+    private UserCart load(Long userId) {
+        UserCart cart = new UserCart();
+        boolean[] userExists = {false};
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            userExists[0] = true;
+            long productId = rs.getLong(2);
+            if (!rs.wasNull()) {
+                cart.append(productId, rs.getInt(3), rs.getTimestamp(4).getTime(), rs.getTimestamp(5).getTime());
+            }
+        }, userId);
+        if (!userExists[0]) {
+            throw new IllegalArgumentException("존재하지 않는 사용자입니다: " + userId);
+        }
+        return cart;
+    }
+    
+    private Shard shardOf(Long userId) {
+        return shards[Math.floorMod(Long.hashCode(userId), shards.length)];
+    }
+    
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static final class Line {
+        private final Long productId;
+        private final int quantity;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+    }
+    
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ReentrantLock flushLock = new ReentrantLock();    // DB 반영 직렬화 (주문 트랜잭션 동안 유지)
+        private final Map<Long, UserCart> carts = new HashMap<>();
+    }
+    
+    /**
+     * 진행 중인 장바구니 주문 (persistForCheckout 이 돌려준다)
+     */
+    public static final class Checkout {
+        private final Shard shard;
+        private final Long userId;
+        private Map<Long, Integer> ordered = Map.of();
+        private boolean completed;
+        
+        private Checkout(Shard shard, Long userId) {
+            this.shard = shard;
+            this.userId = userId;
+        }
+        
+        /**
+         * 주문한 상품별 수량 (커밋되면 장바구니에서 이만큼 뺀다)
+         */
+        public void ordered(Map<Long, Integer> quantities) {
+            ordered = Map.copyOf(quantities);
+            if (completed) {
+                complete(true);
+            }
+        }
+        
+        private void complete(boolean committed) {
+            shard.lock.lock();
+            try {
+                UserCart cart = shard.carts.get(userId);
+                if (cart == null) {
+                    return;
+                }
+                if (committed) {
+                    cart.subtract(ordered);
+                } else {
+                    cart.version++;
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+    
+    @AllArgsConstructor
+    private static final class Snapshot {
+        private final long userId;
+        private final long version;
+        private final long[] productIds;
+        private final int[] quantities;
+        private final long[] createdAt;
+        private final long[] updatedAt;
+    }
+    
+    /**
+     * 사용자 한 명의 장바구니 (상품 수가 적으므로 박싱 없는 병렬 배열에 선형 탐색)
+     * version 은 변경마다 올라가고, DB 에 반영된 version 과 다르면 dirty 다.
+     */
+    private static final class UserCart {
+        private long[] productIds = new long[4];
+        private int[] quantities = new int[4];
+        private long[] createdAt = new long[4];
+        private long[] updatedAt = new long[4];
+        private int size;
+        private long version;
+        private long flushedVersion;
+        private long lastAccess;
+        
+        boolean isDirty() {
+            return version != flushedVersion;
+        }
+        
+        int indexOf(long productId) {
+            for (int i = 0; i < size; i++) {
+                if (productIds[i] == productId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        
+        int put(long productId, int quantity) {
+            long now = System.currentTimeMillis();
+            int index = indexOf(productId);
+            if (index < 0) {
+                append(productId, quantity, now, now);
+                index = size - 1;
+            } else {
+                quantities[index] = quantity;
+                updatedAt[index] = now;
+            }
+            version++;
+            return index;
+        }
+        
+        // DB 에서 읽은 항목 추가 (변경이 아니므로 version 은 그대로)
+        void append(long productId, int quantity, long created, long updated) {
+            if (size == productIds.length) {
+                int capacity = size * 2;
+                productIds = Arrays.copyOf(productIds, capacity);
+                quantities = Arrays.copyOf(quantities, capacity);
+                createdAt = Arrays.copyOf(createdAt, capacity);
+                updatedAt = Arrays.copyOf(updatedAt, capacity);
+            }
+            productIds[size] = productId;
+            quantities[size] = quantity;
+            createdAt[size] = created;
+            updatedAt[size] = updated;
+            size++;
+        }
+        
+        boolean remove(long productId) {
+            int index = indexOf(productId);
+            if (index < 0) {
+                return false;
+            }
+            removeAt(index);
+            version++;
+            return true;
+        }
+        
+        void clear() {
+            if (size > 0) {
+                size = 0;
+                version++;
+            }
+        }
+        
+        /**
+         * 주문이 커밋된 뒤 주문한 수량만큼 뺀다
+         * 주문 트랜잭션이 carts 행을 지웠으므로 남은 항목(주문 중에 새로 담은 것)이 있을 때만 다시 반영한다.
+         */
+        void subtract(Map<Long, Integer> ordered) {
+            ordered.forEach((productId, quantity) -> {
+                int index = indexOf(productId);
+                if (index < 0) {
+                    return;
+                }
+                quantities[index] -= quantity;
+                if (quantities[index] <= 0) {
+                    removeAt(index);
+                }
+            });
+            version++;
+            if (size == 0) {
+                flushedVersion = version;
+            }
+        }
+        
+        Snapshot snapshot(long userId) {
+            return new Snapshot(userId, version, Arrays.copyOf(productIds, size), Arrays.copyOf(quantities, size),
+                    Arrays.copyOf(createdAt, size), Arrays.copyOf(updatedAt, size));
+        }
+        
+        Line line(int index) {
+            return new Line(productIds[index], quantities[index],
+                    toDateTime(createdAt[index]), toDateTime(updatedAt[index]));
+        }
+        
+        private void removeAt(int index) {
+            int tail = size - index - 1;
+            System.arraycopy(productIds, index + 1, productIds, index, tail);
+            System.arraycopy(quantities, index + 1, quantities, index, tail);
+            System.arraycopy(createdAt, index + 1, createdAt, index, tail);
+            System.arraycopy(updatedAt, index + 1, updatedAt, index, tail);
+            size--;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.shop.service;
+
+import com.example.shop.config.CatalogCacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 카탈로그 목록 응답 캐시 (직렬화된 JSON 바이트 + 선택적 gzip 본문 + 강한 ETag)
+ * 항목은 만들 때의 카탈로그 버전을 기억하고, 버전이 바뀌면 다음 조회에서 다시 만든다.
+ * ETag 는 본문 해시이므로 인스턴스가 달라도 같은 내용이면 같은 값이다.
+ * gzip 본문은 바이트가 다른 표현이므로 "-gzip" 을 붙인 별도 ETag 를 쓴다.
+ */
+@Component
+public class CatalogResponseCache {
+    
+    static final String CACHE_NAME = "catalogResponse";
+    
+    private final Cache<String, CachedResponse> cache;
+    private final CatalogVersion catalogVersion;
+    private final CatalogCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    
+    public CatalogResponseCache(CatalogVersion catalogVersion, CatalogCacheProperties properties,
+                                ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.catalogVersion = catalogVersion;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+    
+    /**
+     * 정규화된 키로 응답 조회, 없거나 카탈로그 버전이 바뀌었으면 loader 결과를 직렬화해 저장
+     *
+     * @param key  엔드포인트와 정규화된 파라미터 (page, size, sort, direction, 필터)
+     * @param page 요청 페이지 번호 (maxCachedPage 보다 뒤 페이지는 저장하지 않음)
+     */
+    public CachedResponse get(String key, int page, Supplier<?> loader) {
+        // 로딩 전에 버전을 읽어 두어야 로딩 중 쓰기가 커밋되면 다음 조회에서 다시 만든다
+        long version = catalogVersion.current();
+        if (properties.isEnabled() && page <= properties.getMaxCachedPage()) {
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null && cached.version == version) {
+                return cached;
+            }
+            CachedResponse built = build(loader.get(), version);
+            cache.put(key, built);
+            return built;
+        }
+        return build(loader.get(), version);
+    }
+    
+    private CachedResponse build(Object body, long version) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답 직렬화 실패", e);
+        }
+        byte[] gzip = properties.isGzip() && json.length >= properties.getGzipMinSize() ? gzip(json) : null;
+        String etag = etag(json);
+        return new CachedResponse(json, gzip, etag, gzip != null ? gzipEtag(etag) : null, version);
+    }
+    
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+    
+    static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+    
+    /**
+     * If-None-Match 헤더에 ETag 가 포함되는지 (약한 비교, * 허용)
+     */
+    public static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Getter
+    @AllArgsConstructor
+    public static class CachedResponse {
+        private final byte[] json;
+        private final byte[] gzip;      // 압축 대상이 아니면 null
+        private final String etag;
+        private final String gzipEtag;  // gzip 본문의 ETag (압축 대상이 아니면 null)
+        private final long version;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.shop.service;
+
+import com.example.shop.event.CategoryChangedEvent;
+import com.example.shop.event.ProductChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 카탈로그 버전 카운터
+ * 상품/카테고리 쓰기가 커밋될 때마다 증가하며, 목록 응답 캐시는 이 값이 바뀌면 다시 만든다.
+ * 주문마다 발생하는 재고 변경은 세지 않으므로, 목록에 보이는 재고 수치는 캐시 ttl 만큼 늦을 수 있다.
+ */
+@Component
+public class CatalogVersion {
+    
+    private final AtomicLong version = new AtomicLong();
+    
+    public long current() {
+        return version.get();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!event.isStockOnly()) {
+            version.incrementAndGet();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -2,14 +2,16 @@ package com.example.shop.service;
 
 import com.example.shop.dto.CategoryDto;
 import com.example.shop.entity.Category;
+import com.example.shop.event.CategoryChangedEvent;
 import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -18,6 +20,9 @@ import java.util.stream.Collectors;
 public class CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final CategorySnapshot categorySnapshot;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * 카테고리 생성
@@ -36,20 +41,26 @@ public class CategoryService {
                 .build();
         
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
         log.info("카테고리 생성 완료: categoryId={}, name={}", savedCategory.getId(), savedCategory.getName());
         
         return CategoryDto.Response.from(savedCategory);
     }
     
     /**
-     * 모든 카테고리 조회
+     * 모든 카테고리 조회 (메모리 스냅샷, 활성 상품 수 포함)
      */
     @Transactional(readOnly = true)
     public List<CategoryDto.Response> getAllCategories() {
-        List<Category> categories = categoryRepository.findAll();
-        return categories.stream()
-                .map(CategoryDto.Response::from)
-                .collect(Collectors.toList());
+        return categorySnapshot.get().getCategories();
+    }
+    
+    /**
+     * 모든 카테고리 스냅샷 (직렬화된 본문과 ETag 포함)
+     */
+    @Transactional(readOnly = true)
+    public CategorySnapshot.Snapshot getCategorySnapshot() {
+        return categorySnapshot.get();
     }
     
     /**
@@ -57,10 +68,8 @@ public class CategoryService {
      */
     @Transactional(readOnly = true)
     public CategoryDto.Response getCategoryById(Long categoryId) {
-        Category category = categoryRepository.findById(categoryId)
+        return categorySnapshot.findById(categoryId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 카테고리입니다: " + categoryId));
-        
-        return CategoryDto.Response.from(category);
     }
     
     /**
@@ -68,10 +77,8 @@ public class CategoryService {
      */
     @Transactional(readOnly = true)
     public CategoryDto.Response getCategoryByName(String name) {
-        Category category = categoryRepository.findByName(name)
+        return categorySnapshot.findByName(name)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 카테고리명입니다: " + name));
-        
-        return CategoryDto.Response.from(category);
     }
     
     /**
@@ -96,6 +103,7 @@ public class CategoryService {
         }
         
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
         log.info("카테고리 수정 완료: categoryId={}, name={}", updatedCategory.getId(), updatedCategory.getName());
         
         return CategoryDto.Response.from(updatedCategory);
@@ -110,12 +118,13 @@ public class CategoryService {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 카테고리입니다: " + categoryId));
         
-        // 카테고리에 속한 상품이 있는지 확인
-        if (!category.getProducts().isEmpty()) {
+        // 카테고리에 속한 상품이 있는지 확인 (상품 컬렉션을 읽지 않고 EXISTS 한 번)
+        if (productRepository.existsByCategoryId(categoryId)) {
             throw new IllegalArgumentException("해당 카테고리에 상품이 존재합니다. 먼저 상품을 다른 카테고리로 이동하거나 삭제해주세요.");
         }
         
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
         log.info("카테고리 삭제 완료: categoryId={}", categoryId);
     }
     
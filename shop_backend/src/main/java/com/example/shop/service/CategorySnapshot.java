@@ -0,0 +1,132 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.CategoryDto;
+import com.example.shop.event.CategoryChangedEvent;
+import com.example.shop.event.ProductChangedEvent;
+import com.example.shop.repository.CategoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 카테고리 스냅샷 (전체 카테고리 + 카테고리별 활성 상품 수, 직렬화된 JSON 과 ETag)
+ * 읽기는 AtomicReference 의 불변 스냅샷만 보므로 DB 를 거치지 않고 잠금도 없다.
+ * 카테고리 변경이나 상품 변경(등록·수정·활성 전환·삭제)이 커밋되면 GROUP BY 한 번으로 새로 만들어 통째로 바꾼다.
+ * 재고만 바뀐 이벤트는 상품 수와 무관하므로 무시한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategorySnapshot {
+    
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicLong generations = new AtomicLong();
+    
+    /**
+     * 현재 스냅샷 (처음 조회할 때 또는 갱신 실패 후에는 여기서 만든다)
+     */
+    public Snapshot get() {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+    
+    public Optional<CategoryDto.Response> findById(Long categoryId) {
+        return Optional.ofNullable(get().byId.get(categoryId));
+    }
+    
+    public Optional<CategoryDto.Response> findByName(String name) {
+        return Optional.ofNullable(get().byName.get(name));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        refreshQuietly();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!event.isStockOnly()) {
+            refreshQuietly();
+        }
+    }
+    
+    /**
+     * 새 스냅샷으로 교체
+     * 동시에 여러 번 갱신되면 나중에 시작한 갱신의 결과만 남긴다 (먼저 시작한 느린 조회가 최신 값을 덮지 않도록).
+     */
+    Snapshot refresh() {
+        long generation = generations.incrementAndGet();
+        Snapshot built = build(generation);
+        return current.accumulateAndGet(built,
+                (previous, next) -> previous == null || previous.generation < next.generation ? next : previous);
+    }
+    
+    // 갱신이 실패하면 오래된 값을 계속 내보내지 않도록 비우고, 다음 조회에서 다시 만든다
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("카테고리 스냅샷 갱신 실패: 다음 조회에서 다시 만듭니다.", e);
+            current.set(null);
+        }
+    }
+    
+    private Snapshot build(long generation) {
+        List<CategoryDto.Response> categories = categoryRepository.findSnapshotViews().stream()
+                .map(view -> CategoryDto.Response.builder()
+                        .id(view.getId())
+                        .name(view.getName())
+                        .description(view.getDescription())
+                        .createdAt(view.getCreatedAt())
+                        .updatedAt(view.getUpdatedAt())
+                        .productCount(view.getProductCount())
+                        .build())
+                .toList();
+        
+        Map<Long, CategoryDto.Response> byId = new HashMap<>();
+        Map<String, CategoryDto.Response> byName = new HashMap<>();
+        for (CategoryDto.Response category : categories) {
+            byId.put(category.getId(), category);
+            byName.put(category.getName(), category);
+        }
+        
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(categories);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("카테고리 스냅샷 직렬화 실패", e);
+        }
+        log.debug("카테고리 스냅샷 갱신: {}개", categories.size());
+        return new Snapshot(categories, Map.copyOf(byId), Map.copyOf(byName), json,
+                CatalogResponseCache.etag(json), generation);
+    }
+    
+    /**
+     * 불변 스냅샷 (DTO 는 공유되므로 호출 측에서 수정하지 않는다)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final List<CategoryDto.Response> categories;
+        private final Map<Long, CategoryDto.Response> byId;
+        private final Map<String, CategoryDto.Response> byName;
+        private final byte[] json;
+        private final String etag;
+        private final long generation;
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.shop.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 facet 비트맵 (상품 ID 를 비트 위치로 사용)
+ * 활성 상품, 재고 있음, 가격대별, 카테고리별 비트맵을 두고 조건 조합의 개수를 교집합으로 센다.
+ * 가격 비트맵은 facet 가격대보다 잘게(1-2-5 단위) 나눠 두고 facet 가격대는 그 합으로 센다.
+ * 가격 조건에 걸친 가격대만 상품별 가격으로 다시 거르므로 잘게 나눌수록 다시 거르는 상품이 줄어든다.
+ * 상품 변경 시 이전 카테고리/가격을 알아야 해당 비트맵에서 뺄 수 있으므로 상품별 값을 배열로 함께 둔다.
+ */
+final class FacetBitmaps {
+    
+    private static final long NO_CATEGORY = 0L;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long[] bandBounds;                 // 가격 비트맵 경계 (원 단위 × 100, 오름차순)
+    private final int[] bucketOfBand;                // 가격 비트맵 → facet 가격대 번호
+    private final int bucketCount;
+    private final CompressedBitmap active = new CompressedBitmap();
+    private final CompressedBitmap inStock = new CompressedBitmap();
+    private final CompressedBitmap[] priceBands;
+    private final Map<Long, CompressedBitmap> byCategory = new HashMap<>();
+    
+    private long[] categoryOf = new long[1024];
+    private long[] priceOf = new long[1024];
+    
+    /**
+     * @param bucketBounds facet 가격대 경계 (오름차순, 마지막 가격대는 상한 없음)
+     */
+    FacetBitmaps(List<BigDecimal> bucketBounds) {
+        long[] buckets = bucketBounds.stream().mapToLong(FacetBitmaps::toCents).toArray();
+        TreeSet<Long> bounds = new TreeSet<>();
+        for (long decade = 1_000_00L; decade <= 10_000_000_00L; decade *= 10) {
+            bounds.add(decade);
+            bounds.add(decade * 2);
+            bounds.add(decade * 5);
+        }
+        Arrays.stream(buckets).forEach(bounds::add);
+        
+        this.bandBounds = bounds.stream().mapToLong(Long::longValue).toArray();
+        this.bucketOfBand = new int[bandBounds.length + 1];
+        this.bucketCount = buckets.length + 1;
+        this.priceBands = new CompressedBitmap[bandBounds.length + 1];
+        for (int i = 0; i < priceBands.length; i++) {
+            long lower = i == 0 ? Long.MIN_VALUE : bandBounds[i - 1];
+            int bucket = 0;
+            while (bucket < buckets.length && lower >= buckets[bucket]) {
+                bucket++;
+            }
+            bucketOfBand[i] = bucket;
+            priceBands[i] = new CompressedBitmap();
+        }
+    }
+    
+    /**
+     * 활성 상품 추가/교체
+     */
+    void put(long productId, Long categoryId, BigDecimal price, boolean hasStock) {
+        int id = toDocId(productId);
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            ensureCapacity(id + 1);
+            long cents = toCents(price);
+            long category = categoryId != null ? categoryId : NO_CATEGORY;
+            active.add(id);
+            if (hasStock) {
+                inStock.add(id);
+            }
+            priceBands[band(cents)].add(id);
+            if (category != NO_CATEGORY) {
+                byCategory.computeIfAbsent(category, key -> new CompressedBitmap()).add(id);
+            }
+            categoryOf[id] = category;
+            priceOf[id] = cents;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 재고 여부만 갱신 (색인에 없는 상품은 무시)
+     */
+    void setInStock(long productId, boolean hasStock) {
+        int id = toDocId(productId);
+        lock.writeLock().lock();
+        try {
+            if (!active.contains(id)) {
+                return;
+            }
+            if (hasStock) {
+                inStock.add(id);
+            } else {
+                inStock.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void remove(long productId) {
+        int id = toDocId(productId);
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    int size() {
+        lock.readLock().lock();
+        try {
+            return active.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 비트맵과 상품별 배열의 대략적인 메모리 사용량
+     */
+    long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = active.sizeInBytes() + inStock.sizeInBytes()
+                    + categoryOf.length * 8L + priceOf.length * 8L;
+            for (CompressedBitmap bitmap : priceBands) {
+                bytes += bitmap.sizeInBytes();
+            }
+            for (CompressedBitmap bitmap : byCategory.values()) {
+                bytes += 48 + bitmap.sizeInBytes();    // HashMap 항목과 Long 키 포함
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 조건 조합의 facet 개수
+     * 카테고리별 개수는 카테고리 조건을 뺀 나머지 조건으로, 나머지는 모든 조건으로 센다.
+     *
+     * @param categoryIds 비어 있으면 카테고리 조건 없음
+     * @param minPrice    null 이면 하한 없음
+     * @param maxPrice    null 이면 상한 없음
+     */
+    Counts count(Collection<Long> categoryIds, BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly) {
+        lock.readLock().lock();
+        try {
+            CompressedBitmap base = active;
+            if (inStockOnly) {
+                base = base.and(inStock);
+            }
+            if (minPrice != null || maxPrice != null) {
+                base = base.and(priceRange(minPrice != null ? toCents(minPrice) : Long.MIN_VALUE,
+                        maxPrice != null ? toCents(maxPrice) : Long.MAX_VALUE));
+            }
+            
+            Map<Long, Long> categories = new LinkedHashMap<>();
+            for (Map.Entry<Long, CompressedBitmap> entry : byCategory.entrySet()) {
+                int count = entry.getValue().andCardinality(base);
+                if (count > 0) {
+                    categories.put(entry.getKey(), (long) count);
+                }
+            }
+            
+            CompressedBitmap matches = base;
+            if (categoryIds != null && !categoryIds.isEmpty()) {
+                CompressedBitmap selected = new CompressedBitmap();
+                for (Long categoryId : categoryIds) {
+                    CompressedBitmap bitmap = byCategory.get(categoryId);
+                    if (bitmap != null) {
+                        selected = selected.or(bitmap);
+                    }
+                }
+                matches = base.and(selected);
+            } else if (matches == active) {
+                matches = active.or(new CompressedBitmap());    // 잠금 밖으로 내보내므로 복사본
+            }
+            
+            long[] buckets = new long[bucketCount];
+            for (int i = 0; i < priceBands.length; i++) {
+                buckets[bucketOfBand[i]] += matches.andCardinality(priceBands[i]);
+            }
+            return new Counts(categories, matches.cardinality(), matches.andCardinality(inStock), buckets, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // [min, max] 가격 범위 상품: 범위에 완전히 들어가는 가격대는 통째로, 걸친 가격대는 상품별 가격으로 거른다
+    private CompressedBitmap priceRange(long min, long max) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (int i = 0; i < priceBands.length; i++) {
+            long lower = i == 0 ? Long.MIN_VALUE : bandBounds[i - 1];
+            long upper = i == bandBounds.length ? Long.MAX_VALUE : bandBounds[i] - 1;    // 가격대 상한은 미포함
+            if (upper < min || lower > max) {
+                continue;
+            }
+            if (lower >= min && upper <= max) {
+                result = result.or(priceBands[i]);
+            } else {
+                CompressedBitmap partial = new CompressedBitmap();
+                priceBands[i].forEach(id -> {
+                    if (priceOf[id] >= min && priceOf[id] <= max) {
+                        partial.add(id);
+                    }
+                });
+                result = result.or(partial);
+            }
+        }
+        return result;
+    }
+    
+    private void removeInternal(int id) {
+        if (id >= priceOf.length || !active.contains(id)) {
+            return;
+        }
+        active.remove(id);
+        inStock.remove(id);
+        priceBands[band(priceOf[id])].remove(id);
+        if (categoryOf[id] != NO_CATEGORY) {
+            CompressedBitmap bitmap = byCategory.get(categoryOf[id]);
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                byCategory.remove(categoryOf[id]);
+            }
+        }
+    }
+    
+    private int band(long cents) {
+        int index = Arrays.binarySearch(bandBounds, cents);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+    
+    private void ensureCapacity(int required) {
+        if (required > priceOf.length) {
+            int capacity = Math.max(required, priceOf.length * 2);
+            categoryOf = Arrays.copyOf(categoryOf, capacity);
+            priceOf = Arrays.copyOf(priceOf, capacity);
+        }
+    }
+    
+    private static int toDocId(long productId) {
+        if (productId < 0 || productId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("facet 색인에 넣을 수 없는 상품 ID 입니다: " + productId);
+        }
+        return (int) productId;
+    }
+    
+    // 가격 컬럼이 소수 둘째 자리까지이므로 100배 한 정수로 비교한다
+    private static long toCents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+    
+    static final class Counts {
+        final Map<Long, Long> categories;    // 카테고리 ID → 개수 (카테고리 조건 제외)
+        final long total;
+        final long inStock;
+        final long[] priceBuckets;
+        final CompressedBitmap matches;       // 모든 조건을 만족하는 상품 ID
+        
+        Counts(Map<Long, Long> categories, long total, long inStock, long[] priceBuckets, CompressedBitmap matches) {
+            this.categories = categories;
+            this.total = total;
+            this.inStock = inStock;
+            this.priceBuckets = priceBuckets;
+            this.matches = matches;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.shop.service;
+
+import com.example.shop.entity.Order;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 주문/주문 아이템 id 시퀀스를 기존 데이터 뒤로 맞춤
+ * IDENTITY 로 만들어진 DB 에 ddl-auto 가 시퀀스를 새로 만들면 1부터 시작해 기존 id 와 충돌하므로,
+ * 시작 시 시퀀스가 MAX(id) 보다 뒤처져 있으면 그 다음부터 나눠 주도록 다시 시작한다.
+ * 이미 앞서 있으면 건드리지 않는다 (확인하느라 시퀀스를 한 번 호출하므로 id 한 블록을 건너뛴다).
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceInitializer {
+    
+    // 시퀀스 → 그 시퀀스로 id 를 받는 테이블
+    private static final Map<String, String> SEQUENCES = new LinkedHashMap<>();
+    
+    static {
+        SEQUENCES.put("orders_seq", "orders");
+        SEQUENCES.put("order_items_seq", "order_items");
+    }
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @PostConstruct
+    public void alignSequences() {
+        SEQUENCES.forEach((sequence, table) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (maxId == null) {
+                return;
+            }
+            // pooled 옵티마이저는 시퀀스 값 V 를 받으면 V - (증가폭 - 1) ~ V 를 나눠 준다
+            long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+            if (next - Order.ID_ALLOCATION_SIZE < maxId) {
+                long restart = maxId + Order.ID_ALLOCATION_SIZE;
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restart);
+                log.warn("id 시퀀스가 기존 데이터보다 뒤처져 다시 시작합니다: {} (MAX(id)={}, {} → {})",
+                        sequence, maxId, next, restart);
+            }
+        });
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.shop.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 재고 원장 저널 (append-only 세그먼트 파일)
+ * 레코드는 (상품 ID, 변경 후 재고) 절대값이므로 여러 번 재생해도 결과가 같다.
+ */
+class InventoryJournal implements Closeable {
+    
+    private static final String PREFIX = "inventory-";
+    private static final String SUFFIX = ".journal";
+    
+    private final Path directory;
+    private long segment;
+    private FileOutputStream file;
+    private DataOutputStream out;
+    
+    InventoryJournal(Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("재고 저널 디렉터리를 만들 수 없습니다: " + directory, e);
+        }
+        this.directory = directory;
+        List<Long> segments = listSegments();
+        this.segment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1) + 1;
+        open();
+    }
+    
+    /**
+     * 현재 세그먼트 이전의 모든 세그먼트를 순서대로 읽어 상품별 마지막 재고를 복원
+     */
+    synchronized Map<Long, Long> replay() {
+        Map<Long, Long> values = new HashMap<>();
+        for (long previous : listSegments()) {
+            if (previous >= segment) {
+                continue;
+            }
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(pathOf(previous))))) {
+                while (true) {
+                    long productId = in.readLong();
+                    long value = in.readLong();
+                    values.put(productId, value);
+                }
+            } catch (EOFException e) {
+                // 세그먼트 끝 (비정상 종료로 잘린 마지막 레코드는 버린다)
+            } catch (IOException e) {
+                throw new UncheckedIOException("재고 저널을 읽을 수 없습니다: " + pathOf(previous), e);
+            }
+        }
+        return values;
+    }
+    
+    synchronized void append(long productId, long value) {
+        try {
+            out.writeLong(productId);
+            out.writeLong(value);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("재고 저널 기록에 실패했습니다.", e);
+        }
+    }
+    
+    /**
+     * 새 세그먼트로 교체하고 새 세그먼트 번호를 반환
+     */
+    synchronized long rotate() {
+        closeCurrent();
+        segment++;
+        open();
+        return segment;
+    }
+    
+    /**
+     * DB 반영이 끝난 세그먼트(지정 번호 미만) 삭제
+     */
+    synchronized void deleteBefore(long keepFrom) {
+        for (long previous : listSegments()) {
+            if (previous < keepFrom) {
+                try {
+                    Files.deleteIfExists(pathOf(previous));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("재고 저널을 삭제할 수 없습니다: " + pathOf(previous), e);
+                }
+            }
+        }
+    }
+    
+    synchronized long currentSegment() {
+        return segment;
+    }
+    
+    @Override
+    public synchronized void close() {
+        closeCurrent();
+    }
+    
+    private void open() {
+        try {
+            file = new FileOutputStream(pathOf(segment).toFile(), true);
+            out = new DataOutputStream(new BufferedOutputStream(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("재고 저널을 열 수 없습니다: " + pathOf(segment), e);
+        }
+    }
+    
+    private void closeCurrent() {
+        try {
+            out.flush();
+            file.getFD().sync();
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("재고 저널을 닫을 수 없습니다: " + pathOf(segment), e);
+        }
+    }
+    
+    private Path pathOf(long number) {
+        return directory.resolve(PREFIX + String.format("%019d", number) + SUFFIX);
+    }
+    
+    private List<Long> listSegments() {
+        List<Long> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .forEach(segments::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("재고 저널 디렉터리를 읽을 수 없습니다: " + directory, e);
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+}
@@ -0,0 +1,340 @@
+package com.example.shop.service;
+
+import com.example.shop.config.InventoryProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 인메모리 재고 원장 (inventory.mode=ledger)
+ * 상품별 재고를 스트라이프 잠금으로 보호되는 long 셀에 보관하고,
+ * 변경분은 주문 트랜잭션이 커밋된 뒤 저널에 기록하고 주기적으로 products.stock_quantity 에 일괄 반영한다.
+ * 셀은 진행 중인 주문의 예약까지 뺀 가용 재고와 커밋된 재고를 따로 들고 있어,
+ * 롤백된 주문은 저널에 남지 않는다.
+ * 재고의 기준이 이 프로세스이므로 애플리케이션 인스턴스가 하나일 때만 사용해야 한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory", name = "mode", havingValue = "ledger")
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryLedger {
+    
+    /** tryReserve 결과에서 존재하지 않는 상품을 나타내는 값 */
+    public static final long MISSING = -1L;
+    
+    private static final String LOAD_SQL = "SELECT stock_quantity FROM products WHERE id = ?";
+    private static final String FLUSH_SQL = "UPDATE products SET stock_quantity = ? WHERE id = ?";
+    
+    private static final int AVAILABLE = 0;    // 진행 중인 예약까지 반영 (재고 검사/조회 기준)
+    private static final int COMMITTED = 1;    // 커밋된 변경만 반영 (저널/DB 반영 기준)
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryProperties inventoryProperties;
+    
+    private final ConcurrentHashMap<Long, long[]> counters = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    // 커밋 반영은 읽기 잠금, 세그먼트 교체 + 스냅샷은 쓰기 잠금 (교체 전 세그먼트의 레코드가 스냅샷에서 빠지지 않게)
+    private final ReentrantReadWriteLock segmentLock = new ReentrantReadWriteLock();
+    private ReentrantLock[] stripes;
+    private InventoryJournal journal;
+    
+    /**
+     * 시작 시 저널 재생 (비정상 종료로 DB에 반영되지 못한 재고 복구)
+     */
+    @PostConstruct
+    public void recover() {
+        stripes = new ReentrantLock[inventoryProperties.getStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        
+        journal = new InventoryJournal(Paths.get(inventoryProperties.getJournalDir()));
+        Map<Long, Long> pending = journal.replay();
+        if (!pending.isEmpty()) {
+            log.warn("재고 저널 재생: 미반영 상품 {}개를 DB에 복구합니다.", pending.size());
+            writeToDatabase(new TreeMap<>(pending));
+        }
+        journal.deleteBefore(journal.currentSegment());
+        log.info("재고 원장 모드 시작: stripes={}, flushInterval={}ms",
+                stripes.length, inventoryProperties.getFlushInterval());
+    }
+    
+    /**
+     * 재고 차감 (모든 라인이 충분할 때만 한꺼번에 차감)
+     *
+     * @return 부족한 상품 ID → 현재 재고 (존재하지 않는 상품은 MISSING), 성공 시 빈 맵
+     */
+    public Map<Long, Long> tryReserve(Map<Long, Integer> quantities) {
+        SortedMap<Long, Long> deltas = new TreeMap<>();
+        quantities.forEach((productId, quantity) -> deltas.put(productId, -quantity.longValue()));
+        
+        Map<Long, Long> shortages = reserveAvailable(deltas);
+        if (shortages.isEmpty()) {
+            commitOnCompletion(deltas, true);
+        }
+        return shortages;
+    }
+    
+    /**
+     * 재고 복구/입고
+     */
+    public void release(Map<Long, Integer> quantities) {
+        SortedMap<Long, Long> deltas = new TreeMap<>();
+        quantities.forEach((productId, quantity) -> deltas.put(productId, quantity.longValue()));
+        
+        List<Long> missing = new ArrayList<>();
+        for (Long productId : deltas.keySet()) {
+            if (cellFor(productId) == null) {
+                missing.add(productId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("존재하지 않는 상품입니다: " + missing);
+        }
+        // 복구분은 커밋 전에 다른 주문이 가져가지 못하도록 커밋 후에 가용 재고에 더한다
+        commitOnCompletion(deltas, false);
+    }
+    
+    /**
+     * 관리자가 재고를 직접 지정한 경우 (진행 중인 주문의 예약분은 유지)
+     * 상품 수정 트랜잭션이 롤백되면 반영하지 않도록 저널 기록과 셀 갱신은 커밋 후에 한다.
+     */
+    public void set(Long productId, long value) {
+        if (cellFor(productId) == null) {
+            throw new IllegalArgumentException("존재하지 않는 상품입니다: " + productId);
+        }
+        commitOnCompletion(() -> overwrite(productId, value), null);
+    }
+    
+    /**
+     * 원장에 올라와 있는 상품의 현재 재고 (아직 로드되지 않았으면 DB 값이 최신이므로 empty)
+     */
+    public OptionalLong current(Long productId) {
+        if (!counters.containsKey(productId)) {
+            return OptionalLong.empty();
+        }
+        ReentrantLock lock = stripeOf(productId);
+        lock.lock();
+        try {
+            return OptionalLong.of(counters.get(productId)[AVAILABLE]);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * 변경된 상품 재고를 products 테이블에 일괄 반영 (write-behind)
+     */
+    @Scheduled(fixedDelayString = "${inventory.flush-interval:1000}")
+    public synchronized void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        
+        // 커밋 반영을 잠시 막고 세그먼트 교체 + 스냅샷: 이전 세그먼트의 모든 레코드가 스냅샷에 포함된다
+        long segment;
+        SortedMap<Long, Long> snapshot = new TreeMap<>();
+        segmentLock.writeLock().lock();
+        try {
+            segment = journal.rotate();
+            for (Long productId : dirty) {
+                dirty.remove(productId);
+                snapshot.put(productId, counters.get(productId)[COMMITTED]);
+            }
+        } finally {
+            segmentLock.writeLock().unlock();
+        }
+        
+        try {
+            writeToDatabase(snapshot);
+            journal.deleteBefore(segment);
+            log.debug("재고 원장 DB 반영 완료: {}개 상품", snapshot.size());
+        } catch (RuntimeException e) {
+            dirty.addAll(snapshot.keySet());
+            log.error("재고 원장 DB 반영 실패, 다음 주기에 재시도합니다: {}개 상품", snapshot.size(), e);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        journal.close();
+    }
+    
+    /**
+     * 모든 라인이 충분할 때만 가용 재고에서 한꺼번에 뺀다 (저널/DB 반영은 커밋 후)
+     */
+    private Map<Long, Long> reserveAvailable(SortedMap<Long, Long> deltas) {
+        List<ReentrantLock> locks = locksFor(deltas.keySet());
+        locks.forEach(ReentrantLock::lock);
+        try {
+            Map<Long, Long> shortages = new TreeMap<>();
+            Map<Long, long[]> cells = new HashMap<>();
+            for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                long[] cell = cellFor(entry.getKey());
+                if (cell == null) {
+                    shortages.put(entry.getKey(), MISSING);
+                } else if (cell[AVAILABLE] + entry.getValue() < 0) {
+                    shortages.put(entry.getKey(), cell[AVAILABLE]);
+                } else {
+                    cells.put(entry.getKey(), cell);
+                }
+            }
+            if (!shortages.isEmpty()) {
+                return shortages;
+            }
+            deltas.forEach((productId, delta) -> cells.get(productId)[AVAILABLE] += delta);
+            return shortages;
+        } finally {
+            unlock(locks);
+        }
+    }
+    
+    /**
+     * 원장 변경은 DB 트랜잭션에 묶이지 않으므로 주문 트랜잭션의 결과에 맞춰 확정하거나 되돌린다
+     * (트랜잭션 밖이면 바로 확정)
+     *
+     * @param reserved 가용 재고에 이미 반영된 변경인지 (차감은 미리, 복구는 커밋 후에 반영)
+     */
+    private void commitOnCompletion(SortedMap<Long, Long> deltas, boolean reserved) {
+        commitOnCompletion(() -> commit(deltas, reserved), reserved ? () -> rollback(deltas) : null);
+    }
+    
+    /**
+     * @param onRollback 롤백 시 되돌릴 일 (미리 반영한 것이 없으면 null)
+     */
+    private void commitOnCompletion(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    onCommit.run();
+                } else if (onRollback != null) {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+    
+    /**
+     * 커밋된 재고를 갱신하고 저널에 기록 (저널에는 커밋된 변경만 남는다)
+     */
+    private void commit(SortedMap<Long, Long> deltas, boolean reserved) {
+        List<ReentrantLock> locks = locksFor(deltas.keySet());
+        segmentLock.readLock().lock();
+        locks.forEach(ReentrantLock::lock);
+        try {
+            for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                long[] cell = counters.get(entry.getKey());
+                journal.append(entry.getKey(), cell[COMMITTED] + entry.getValue());
+                cell[COMMITTED] += entry.getValue();
+                if (!reserved) {
+                    cell[AVAILABLE] += entry.getValue();
+                }
+                dirty.add(entry.getKey());
+            }
+        } finally {
+            unlock(locks);
+            segmentLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 지정한 재고를 커밋된 재고로 확정하고 저널에 기록 (가용 재고는 진행 중인 예약분만큼 뺀 값)
+     */
+    private void overwrite(Long productId, long value) {
+        ReentrantLock lock = stripeOf(productId);
+        segmentLock.readLock().lock();
+        lock.lock();
+        try {
+            long[] cell = counters.get(productId);
+            journal.append(productId, value);
+            cell[AVAILABLE] = value - (cell[COMMITTED] - cell[AVAILABLE]);
+            cell[COMMITTED] = value;
+            dirty.add(productId);
+        } finally {
+            lock.unlock();
+            segmentLock.readLock().unlock();
+        }
+    }
+    
+    private void rollback(SortedMap<Long, Long> deltas) {
+        List<ReentrantLock> locks = locksFor(deltas.keySet());
+        locks.forEach(ReentrantLock::lock);
+        try {
+            deltas.forEach((productId, delta) -> counters.get(productId)[AVAILABLE] -= delta);
+        } finally {
+            unlock(locks);
+        }
+    }
+    
+    private long[] cellFor(Long productId) {
+        return counters.computeIfAbsent(productId, id -> {
+            List<Long> rows = jdbcTemplate.query(LOAD_SQL, (rs, rowNum) -> rs.getLong(1), id);
+            return rows.isEmpty() ? null : new long[]{rows.get(0), rows.get(0)};
+        });
+    }
+    
+    private ReentrantLock stripeOf(Long productId) {
+        return stripes[Math.floorMod(Long.hashCode(productId), stripes.length)];
+    }
+    
+    /**
+     * 항상 스트라이프 번호 순서로 잠가 교착을 피한다
+     */
+    private List<ReentrantLock> locksFor(Set<Long> productIds) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long productId : productIds) {
+            indexes.add(Math.floorMod(Long.hashCode(productId), stripes.length));
+        }
+        List<ReentrantLock> locks = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            locks.add(stripes[index]);
+        }
+        return locks;
+    }
+    
+    private static void unlock(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+    
+    private void writeToDatabase(SortedMap<Long, Long> values) {
+        List<Map.Entry<Long, Long>> rows = new ArrayList<>(values.entrySet());
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(FLUSH_SQL, rows, inventoryProperties.getFlushBatchSize(), (ps, row) -> {
+                    ps.setLong(1, row.getValue());
+                    ps.setLong(2, row.getKey());
+                }));
+    }
+}
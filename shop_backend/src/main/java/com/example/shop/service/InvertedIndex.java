@@ -0,0 +1,395 @@
+package com.example.shop.service;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * BM25 역색인 (상품 ID → 문서 번호, 단어 → 포스팅 목록)
+ * 변경된 문서는 기존 번호를 삭제 표시하고 새 번호로 다시 추가하며,
+ * 삭제 표시가 일정 비율을 넘으면 살아 있는 문서만 남기도록 압축한다.
+ * 압축 전까지 문서 빈도(df)에는 삭제된 문서가 포함되지만 순위에 미치는 영향은 작다.
+ */
+final class InvertedIndex {
+    
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double COMPACT_RATIO = 0.25;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> docNoByProduct = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    
+    private long[] productIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private boolean[] live = new boolean[1024];
+    private int docCount;       // 발급한 문서 번호 수 (삭제 포함)
+    private int liveCount;
+    private long liveLength;
+    
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+    
+    /**
+     * 문서 추가/교체
+     *
+     * @param termFreqs 단어 → 가중 출현 횟수
+     */
+    void put(long productId, Map<String, Integer> termFreqs) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+            compactIfNeeded();
+            if (termFreqs.isEmpty()) {
+                return;
+            }
+            int docNo = docCount++;
+            ensureDocCapacity(docCount);
+            int length = 0;
+            for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(docNo, entry.getValue());
+                length += entry.getValue();
+            }
+            productIds[docNo] = productId;
+            lengths[docNo] = length;
+            live[docNo] = true;
+            docNoByProduct.put(productId, docNo);
+            liveCount++;
+            liveLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * BM25 상위 limit 건 (offset 이후) 과 전체 적중 수
+     */
+    Hits search(List<String> queryTerms, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0 || queryTerms.isEmpty()) {
+                return new Hits(List.of(), 0);
+            }
+            Scratch work = scratch.get();
+            work.ensureCapacity(docCount);
+            float[] scores = work.scores;
+            double avgLength = (double) liveLength / liveCount;
+            
+            for (String term : new LinkedHashSet<>(queryTerms)) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (liveCount - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int docNo = list.docs[i];
+                    if (!live[docNo]) {
+                        continue;
+                    }
+                    int tf = list.freqs[i];
+                    double norm = K1 * (1 - B + B * lengths[docNo] / avgLength);
+                    if (scores[docNo] == 0) {
+                        work.touch(docNo);
+                    }
+                    scores[docNo] += (float) (idf * tf * (K1 + 1) / (tf + norm));
+                }
+            }
+            
+            // 힙 크기는 적중 수를 넘지 않는다 (offset + limit 가 커도 int 넘침·과대 할당 없음)
+            int k = (int) Math.min((long) offset + limit, work.touchedCount);
+            PriorityQueue<Integer> top = new PriorityQueue<>(Math.max(1, k), (a, b) -> compare(scores, a, b));
+            for (int i = 0; i < work.touchedCount; i++) {
+                int docNo = work.touched[i];
+                if (top.size() < k) {
+                    top.add(docNo);
+                } else if (k > 0 && compare(scores, docNo, top.peek()) > 0) {
+                    top.poll();
+                    top.add(docNo);
+                }
+            }
+            
+            long[] ranked = new long[top.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = productIds[top.poll()];
+            }
+            int total = work.touchedCount;
+            work.reset();
+            
+            List<Long> page = new ArrayList<>(Math.max(0, ranked.length - offset));
+            for (int i = offset; i < ranked.length; i++) {
+                page.add(ranked[i]);
+            }
+            return new Hits(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // 양수면 a 가 상위 (점수가 같으면 먼저 색인된 문서가 상위)
+    private static int compare(float[] scores, int a, int b) {
+        int byScore = Float.compare(scores[a], scores[b]);
+        return byScore != 0 ? byScore : Integer.compare(b, a);
+    }
+    
+    /**
+     * 세그먼트 기록 (살아 있는 문서만, 문서 번호를 0부터 다시 매김)
+     */
+    void writeTo(DataOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            int[] remap = new int[docCount];
+            int next = 0;
+            out.writeInt(liveCount);
+            for (int docNo = 0; docNo < docCount; docNo++) {
+                if (live[docNo]) {
+                    remap[docNo] = next++;
+                    out.writeLong(productIds[docNo]);
+                    out.writeInt(lengths[docNo]);
+                }
+            }
+            
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                Postings list = entry.getValue();
+                int liveDocs = 0;
+                for (int i = 0; i < list.size; i++) {
+                    if (live[list.docs[i]]) {
+                        liveDocs++;
+                    }
+                }
+                out.writeUTF(entry.getKey());
+                out.writeInt(liveDocs);
+                int previous = 0;
+                for (int i = 0; i < list.size; i++) {
+                    int docNo = list.docs[i];
+                    if (live[docNo]) {
+                        writeVarInt(out, remap[docNo] - previous);
+                        writeVarInt(out, list.freqs[i]);
+                        previous = remap[docNo];
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 세그먼트 읽기 (기존 내용을 대체)
+     */
+    void readFrom(DataInput in) throws IOException {
+        lock.writeLock().lock();
+        try {
+            clear();
+            int count = in.readInt();
+            ensureDocCapacity(count);
+            for (int docNo = 0; docNo < count; docNo++) {
+                productIds[docNo] = in.readLong();
+                lengths[docNo] = in.readInt();
+                live[docNo] = true;
+                docNoByProduct.put(productIds[docNo], docNo);
+                liveLength += lengths[docNo];
+            }
+            docCount = count;
+            liveCount = count;
+            
+            int terms = in.readInt();
+            for (int t = 0; t < terms; t++) {
+                String term = in.readUTF();
+                int size = in.readInt();
+                Postings list = new Postings(size);
+                int docNo = 0;
+                for (int i = 0; i < size; i++) {
+                    docNo += readVarInt(in);
+                    list.add(docNo, readVarInt(in));
+                }
+                if (size > 0) {
+                    postings.put(term, list);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void removeInternal(long productId) {
+        Integer docNo = docNoByProduct.remove(productId);
+        if (docNo != null && live[docNo]) {
+            live[docNo] = false;
+            liveCount--;
+            liveLength -= lengths[docNo];
+        }
+    }
+    
+    private void compactIfNeeded() {
+        if (docCount - liveCount > Math.max(1024, docCount * COMPACT_RATIO)) {
+            compact();
+        }
+    }
+    
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int docNo = 0; docNo < docCount; docNo++) {
+            if (live[docNo]) {
+                remap[docNo] = next;
+                productIds[next] = productIds[docNo];
+                lengths[next] = lengths[docNo];
+                docNoByProduct.put(productIds[next], next);
+                next++;
+            } else {
+                remap[docNo] = -1;
+            }
+        }
+        Arrays.fill(live, 0, docCount, false);
+        Arrays.fill(live, 0, next, true);
+        docCount = next;
+        
+        postings.values().removeIf(list -> list.retain(remap) == 0);
+    }
+    
+    private void clear() {
+        docNoByProduct.clear();
+        postings.clear();
+        docCount = 0;
+        liveCount = 0;
+        liveLength = 0;
+        Arrays.fill(live, false);
+    }
+    
+    private void ensureDocCapacity(int required) {
+        if (required > productIds.length) {
+            int capacity = Math.max(required, productIds.length * 2);
+            productIds = Arrays.copyOf(productIds, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            live = Arrays.copyOf(live, capacity);
+        }
+    }
+    
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+    
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+    
+    /**
+     * 단어별 포스팅 (문서 번호 오름차순)
+     */
+    private static final class Postings {
+        private int[] docs;
+        private int[] freqs;
+        private int size;
+        
+        Postings() {
+            this(4);
+        }
+        
+        Postings(int capacity) {
+            docs = new int[Math.max(1, capacity)];
+            freqs = new int[Math.max(1, capacity)];
+        }
+        
+        void add(int docNo, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = docNo;
+            freqs[size] = freq;
+            size++;
+        }
+        
+        int retain(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int docNo = remap[docs[i]];
+                if (docNo >= 0) {
+                    docs[next] = docNo;
+                    freqs[next] = freqs[i];
+                    next++;
+                }
+            }
+            size = next;
+            return size;
+        }
+    }
+    
+    /**
+     * 질의별 점수 누적 버퍼 (스레드마다 재사용)
+     */
+    private static final class Scratch {
+        private float[] scores = new float[0];
+        private int[] touched = new int[64];
+        private int touchedCount;
+        
+        void ensureCapacity(int docCount) {
+            if (scores.length < docCount) {
+                scores = new float[Math.max(docCount, scores.length * 2)];
+            }
+        }
+        
+        void touch(int docNo) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = docNo;
+        }
+        
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+    
+    static final class Hits {
+        final List<Long> productIds;
+        final int total;
+        
+        Hits(List<Long> productIds, int total) {
+            this.productIds = productIds;
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.shop.service;
+
+import com.example.shop.config.OrderProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주문번호 생성기 (Snowflake 방식)
+ * 41비트 밀리초 + 10비트 노드 ID + 12비트 시퀀스로 구성된 64비트 ID를 잠금 없이(CAS) 발급한다.
+ * 노드 ID가 인스턴스마다 다르면 여러 인스턴스에서도 충돌하지 않고, 한 노드 안에서는 항상 증가한다.
+ */
+@Component
+public class OrderNumberGenerator {
+    
+    private static final String PREFIX = "ORD-";
+    
+    static final long EPOCH = 1704067200000L;  // 2024-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    
+    private final long nodeBits;
+    
+    // (경과 밀리초 << SEQUENCE_BITS) | 시퀀스
+    private final AtomicLong state = new AtomicLong();
+    
+    public OrderNumberGenerator(OrderProperties orderProperties) {
+        long nodeId = orderProperties.getNodeId();
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("order.node-id 는 0~" + MAX_NODE_ID + " 사이여야 합니다: " + nodeId);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+    }
+    
+    /**
+     * 주문번호 생성 (예: ORD-73154092711215104)
+     */
+    public String nextOrderNumber() {
+        return PREFIX + nextId();
+    }
+    
+    public long nextId() {
+        while (true) {
+            long previous = state.get();
+            long elapsed = System.currentTimeMillis() - EPOCH;
+            
+            // 새 밀리초면 시퀀스 0부터, 같은 밀리초(또는 시계가 뒤로 간 경우)면 이전 값 + 1.
+            // 한 밀리초에 시퀀스를 모두 쓰면 자리올림으로 다음 밀리초를 미리 사용하므로 대기 없이 단조 증가한다.
+            long next = elapsed > (previous >>> SEQUENCE_BITS)
+                    ? elapsed << SEQUENCE_BITS
+                    : previous + 1;
+            
+            if (state.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.shop.service;
+
+import com.example.shop.entity.Order;
+import com.example.shop.entity.OutboxEvent;
+import com.example.shop.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 이벤트 outbox 기록
+ * 주문 변경과 같은 트랜잭션에서 INSERT 하므로 주문이 커밋될 때만 이벤트가 남는다.
+ * IDENTITY 키는 JPA 배치 INSERT 를 막기 때문에 JDBC 배치로 직접 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (order_id, order_number, event_type, status, previous_status, occurred_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 주문 생성 이벤트
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCreated(Order order) {
+        insert(List.<Object[]>of(new Object[]{order.getId(), order.getOrderNumber(),
+                OutboxEvent.EventType.ORDER_CREATED.name(), order.getStatus().name(), null, now()}));
+    }
+    
+    /**
+     * 주문 상태 변경 이벤트
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Order order, Order.OrderStatus previousStatus) {
+        insert(List.<Object[]>of(statusChangedRow(order.getId(), order.getOrderNumber(), previousStatus, order.getStatus(), now())));
+    }
+    
+    /**
+     * 일괄 상태 변경 이벤트 (변경 전 상태 조회 결과 기준)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Collection<OrderRepository.StatusView> changed, Order.OrderStatus status) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Timestamp occurredAt = now();
+        insert(changed.stream()
+                .map(view -> statusChangedRow(view.getId(), view.getOrderNumber(), view.getStatus(), status, occurredAt))
+                .collect(Collectors.toList()));
+    }
+    
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+    
+    private static Object[] statusChangedRow(Long orderId, String orderNumber, Order.OrderStatus previousStatus,
+                                             Order.OrderStatus status, Timestamp occurredAt) {
+        return new Object[]{orderId, orderNumber, OutboxEvent.EventType.ORDER_STATUS_CHANGED.name(),
+                status.name(), previousStatus.name(), occurredAt};
+    }
+    
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+}
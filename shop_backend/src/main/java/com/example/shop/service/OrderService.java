@@ -1,5 +1,7 @@
 package com.example.shop.service;
 
+import com.example.shop.config.OrderProperties;
+import com.example.shop.dto.CursorPage;
 import com.example.shop.dto.OrderDto;
 import com.example.shop.entity.*;
 import com.example.shop.repository.CartRepository;
@@ -9,14 +11,22 @@ import com.example.shop.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +39,13 @@ public class OrderService {
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final CartRepository cartRepository;
+    private final StockReservationService stockReservationService;
+    private final OrderProperties orderProperties;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OrderOutbox orderOutbox;
+    private final Optional<CartStore> cartStore;
+    
+    private static final int MAX_BULK_SIZE = 1000;
     
     /**
      * 장바구니에서 주문 생성
@@ -41,6 +58,9 @@ public class OrderService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + userId));
         
+        // 인메모리 장바구니면 이 트랜잭션 안에서 먼저 carts 테이블에 반영
+        Optional<CartStore.Checkout> checkout = cartStore.map(store -> store.persistForCheckout(userId));
+        
         // 사용자의 장바구니 조회
         List<Cart> cartItems = cartRepository.findByUserIdOrderByCreatedAtDesc(userId);
         if (cartItems.isEmpty()) {
@@ -49,7 +69,7 @@ public class OrderService {
         
         // 주문 생성
         Order order = Order.builder()
-                .orderNumber(generateOrderNumber())
+                .orderNumber(orderNumberGenerator.nextOrderNumber())
                 .totalAmount(BigDecimal.ZERO)
                 .status(Order.OrderStatus.PENDING)
                 .shippingAddress(request.getShippingAddress())
@@ -58,17 +78,10 @@ public class OrderService {
                 .build();
         
         // 장바구니 아이템들을 주문 아이템으로 변환
+        Map<Long, Integer> stockRequests = new TreeMap<>();
         for (Cart cartItem : cartItems) {
             Product product = cartItem.getProduct();
             
-            // 재고 확인
-            if (product.getStockQuantity() < cartItem.getQuantity()) {
-                throw new IllegalArgumentException(
-                    String.format("상품 '%s'의 재고가 부족합니다. (요청: %d, 재고: %d)", 
-                        product.getName(), cartItem.getQuantity(), product.getStockQuantity())
-                );
-            }
-            
             // 주문 아이템 생성
             OrderItem orderItem = OrderItem.builder()
                     .quantity(cartItem.getQuantity())
@@ -77,17 +90,19 @@ public class OrderService {
                     .build();
             
             order.addOrderItem(orderItem);
-            
-            // 재고 차감
-            product.setStockQuantity(product.getStockQuantity() - cartItem.getQuantity());
-            productRepository.save(product);
+            stockRequests.merge(product.getId(), cartItem.getQuantity(), Integer::sum);
         }
         
-        // 주문 저장
+        // 재고 차감 (전체 라인을 조건부 UPDATE 배치로 처리, 부족하면 예외로 전체 롤백)
+        stockReservationService.reserve(stockRequests);
+        
+        // 주문 저장 (+ 생성 이벤트 기록)
         Order savedOrder = orderRepository.save(order);
+        orderOutbox.orderCreated(savedOrder);
         
-        // 장바구니 비우기
+        // 장바구니 비우기 (인메모리 장바구니는 커밋 후 주문한 수량만큼 뺀다)
         cartRepository.deleteAll(cartItems);
+        checkout.ifPresent(cart -> cart.ordered(stockRequests));
         
         log.info("주문 생성 완료: orderNumber = {}, totalAmount = {}", 
                 savedOrder.getOrderNumber(), savedOrder.getTotalAmount());
@@ -112,7 +127,7 @@ public class OrderService {
         
         // 주문 생성
         Order order = Order.builder()
-                .orderNumber(generateOrderNumber())
+                .orderNumber(orderNumberGenerator.nextOrderNumber())
                 .totalAmount(BigDecimal.ZERO)
                 .status(Order.OrderStatus.PENDING)
                 .shippingAddress(request.getShippingAddress())
@@ -120,18 +135,13 @@ public class OrderService {
                 .user(user)
                 .build();
         
+        // 주문 상품 일괄 조회 및 검증 (라인 수와 무관하게 IN 쿼리 1회)
+        Map<Long, Product> products = loadOrderProducts(request.getOrderItems());
+        
         // 주문 아이템들 처리
+        Map<Long, Integer> stockRequests = new TreeMap<>();
         for (OrderDto.OrderItemRequest itemRequest : request.getOrderItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다: " + itemRequest.getProductId()));
-            
-            // 재고 확인
-            if (product.getStockQuantity() < itemRequest.getQuantity()) {
-                throw new IllegalArgumentException(
-                    String.format("상품 '%s'의 재고가 부족합니다. (요청: %d, 재고: %d)", 
-                        product.getName(), itemRequest.getQuantity(), product.getStockQuantity())
-                );
-            }
+            Product product = products.get(itemRequest.getProductId());
             
             // 주문 아이템 생성
             OrderItem orderItem = OrderItem.builder()
@@ -141,14 +151,15 @@ public class OrderService {
                     .build();
             
             order.addOrderItem(orderItem);
-            
-            // 재고 차감
-            product.setStockQuantity(product.getStockQuantity() - itemRequest.getQuantity());
-            productRepository.save(product);
+            stockRequests.merge(product.getId(), itemRequest.getQuantity(), Integer::sum);
         }
         
-        // 주문 저장
+        // 재고 차감 (전체 라인을 조건부 UPDATE 배치로 처리, 부족하면 예외로 전체 롤백)
+        stockReservationService.reserve(stockRequests);
+        
+        // 주문 저장 (+ 생성 이벤트 기록)
         Order savedOrder = orderRepository.save(order);
+        orderOutbox.orderCreated(savedOrder);
         
         log.info("직접 주문 생성 완료: orderNumber = {}, totalAmount = {}", 
                 savedOrder.getOrderNumber(), savedOrder.getTotalAmount());
@@ -160,7 +171,7 @@ public class OrderService {
      * 주문 상세 조회
      */
     public OrderDto.Response getOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithDetailsById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다: " + orderId));
         
         return OrderDto.Response.from(order);
@@ -169,31 +180,34 @@ public class OrderService {
     /**
      * 사용자별 주문 목록 조회
      */
-    public List<OrderDto.ListResponse> getUserOrders(Long userId) {
-        List<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return orders.stream()
-                .map(OrderDto.ListResponse::from)
-                .collect(Collectors.toList());
+    public CursorPage<OrderDto.ListResponse> getUserOrders(Long userId, String cursor, Integer size) {
+        CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+        int pageSize = CursorPage.normalizeSize(size);
+        List<Order> orders = orderRepository.findUserOrdersAfter(
+                userId, after.getCreatedAt(), after.getId(), PageRequest.of(0, pageSize + 1));
+        return toCursorPage(orders, pageSize);
     }
     
     /**
      * 모든 주문 목록 조회 (관리자용)
      */
-    public List<OrderDto.ListResponse> getAllOrders() {
-        List<Order> orders = orderRepository.findAll();
-        return orders.stream()
-                .map(OrderDto.ListResponse::from)
-                .collect(Collectors.toList());
+    public CursorPage<OrderDto.ListResponse> getAllOrders(String cursor, Integer size) {
+        CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+        int pageSize = CursorPage.normalizeSize(size);
+        List<Order> orders = orderRepository.findOrdersAfter(
+                after.getCreatedAt(), after.getId(), PageRequest.of(0, pageSize + 1));
+        return toCursorPage(orders, pageSize);
     }
     
     /**
      * 주문 상태별 조회
      */
-    public List<OrderDto.ListResponse> getOrdersByStatus(Order.OrderStatus status) {
-        List<Order> orders = orderRepository.findByStatusOrderByCreatedAtDesc(status);
-        return orders.stream()
-                .map(OrderDto.ListResponse::from)
-                .collect(Collectors.toList());
+    public CursorPage<OrderDto.ListResponse> getOrdersByStatus(Order.OrderStatus status, String cursor, Integer size) {
+        CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+        int pageSize = CursorPage.normalizeSize(size);
+        List<Order> orders = orderRepository.findStatusOrdersAfter(
+                status, after.getCreatedAt(), after.getId(), PageRequest.of(0, pageSize + 1));
+        return toCursorPage(orders, pageSize);
     }
     
     /**
@@ -203,13 +217,9 @@ public class OrderService {
     public OrderDto.Response updateOrderStatus(Long orderId, Order.OrderStatus status) {
         log.info("주문 상태 변경: orderId = {}, status = {}", orderId, status);
         
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다: " + orderId));
-        
-        // 상태 변경 검증
-        validateStatusChange(order.getStatus(), status);
+        Order order = findForStatusChange(orderId);
         
-        order.setStatus(status);
+        changeStatus(order, status);
         Order savedOrder = orderRepository.save(order);
         
         log.info("주문 상태 변경 완료: orderNumber = {}, status = {}", 
@@ -225,86 +235,256 @@ public class OrderService {
     public OrderDto.Response cancelOrder(Long orderId) {
         log.info("주문 취소 요청: orderId = {}", orderId);
         
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다: " + orderId));
+        Order order = findForStatusChange(orderId);
         
-        // 취소 가능한 상태인지 확인
-        if (order.getStatus() == Order.OrderStatus.SHIPPED || 
-            order.getStatus() == Order.OrderStatus.DELIVERED) {
-            throw new IllegalArgumentException("배송 중이거나 배송 완료된 주문은 취소할 수 없습니다.");
+        // 취소 가능 여부 확인, 재고 복구 후 상태 변경
+        changeStatus(order, Order.OrderStatus.CANCELLED);
+        Order savedOrder = orderRepository.save(order);
+        
+        log.info("주문 취소 완료: orderNumber = {}", savedOrder.getOrderNumber());
+        
+        return OrderDto.Response.from(savedOrder);
+    }
+    
+    /**
+     * 주문 상태 변경 (상태 전이표 검증, 취소는 재고 복구 포함) - 단건 상태 변경 경로 공용
+     */
+    @Transactional
+    public void changeStatus(Order order, Order.OrderStatus status) {
+        String rejection = transitionRejection(order.getStatus(), status);
+        if (rejection != null) {
+            throw new IllegalArgumentException(rejection);
         }
         
-        if (order.getStatus() == Order.OrderStatus.CANCELLED) {
-            throw new IllegalArgumentException("이미 취소된 주문입니다.");
+        if (status == Order.OrderStatus.CANCELLED) {
+            stockReservationService.release(stockDeltas(List.of(order)));
+        }
+        Order.OrderStatus previousStatus = order.getStatus();
+        order.setStatus(status);
+        
+        // 주문 행 UPDATE 로 행 잠금을 먼저 잡은 뒤 이벤트를 기록해야 같은 주문의 이벤트 id 가 커밋 순서를 따른다
+        orderRepository.saveAndFlush(order);
+        orderOutbox.statusChanged(order, previousStatus);
+    }
+    
+    /**
+     * 주문 일괄 상태 전이 (대상 상태별 UPDATE 한 번으로 검증과 변경을 함께 수행)
+     */
+    @Transactional
+    public OrderDto.BulkResult transitionOrders(Collection<Long> orderIds, Order.OrderStatus target) {
+        if (target == Order.OrderStatus.CANCELLED) {
+            // 취소는 재고 복구가 필요하므로 일괄 취소 흐름으로 처리
+            return cancelOrders(orderIds);
         }
         
-        // 재고 복구
-        for (OrderItem orderItem : order.getOrderItems()) {
-            Product product = orderItem.getProduct();
-            product.setStockQuantity(product.getStockQuantity() + orderItem.getQuantity());
-            productRepository.save(product);
+        Set<Long> ids = new TreeSet<>(orderIds);
+        if (ids.isEmpty()) {
+            return OrderDto.BulkResult.of(List.of());
         }
+        validateBulkSize(ids);
+        log.info("주문 일괄 상태 변경 요청: {}건 -> {}", ids.size(), target);
         
-        // 주문 상태를 취소로 변경
-        order.setStatus(Order.OrderStatus.CANCELLED);
-        Order savedOrder = orderRepository.save(order);
+        Map<Long, OrderRepository.StatusView> current = orderRepository.findStatusesByIdIn(ids).stream()
+                .collect(Collectors.toMap(OrderRepository.StatusView::getId, Function.identity()));
+        List<Long> eligible = ids.stream()
+                .filter(id -> current.containsKey(id) && current.get(id).getStatus().canTransitionTo(target))
+                .collect(Collectors.toList());
         
-        log.info("주문 취소 완료: orderNumber = {}", savedOrder.getOrderNumber());
+        int updated = eligible.isEmpty() ? 0 : orderRepository.updateStatusWhereStatusIn(
+                eligible, target.predecessors(), target, LocalDateTime.now());
         
-        return OrderDto.Response.from(savedOrder);
+        // 조회와 UPDATE 사이에 다른 요청이 상태를 바꾼 주문은 UPDATE 조건에서 걸러지므로 다시 확인
+        Set<Long> lost = updated == eligible.size() ? Set.of() :
+                orderRepository.findStatusesByIdIn(eligible).stream()
+                        .filter(view -> view.getStatus() != target)
+                        .map(OrderRepository.StatusView::getId)
+                        .collect(Collectors.toSet());
+        orderOutbox.statusChanged(eligible.stream()
+                .filter(id -> !lost.contains(id))
+                .map(current::get)
+                .collect(Collectors.toList()), target);
+        
+        List<OrderDto.BulkOutcome> outcomes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            OrderRepository.StatusView view = current.get(id);
+            if (view == null) {
+                outcomes.add(OrderDto.BulkOutcome.rejected(id, null, "주문을 찾을 수 없습니다: " + id));
+                continue;
+            }
+            String rejection = transitionRejection(view.getStatus(), target);
+            if (rejection == null && lost.contains(id)) {
+                rejection = "처리 중 다른 요청에 의해 주문 상태가 변경되었습니다.";
+            }
+            outcomes.add(rejection == null
+                    ? OrderDto.BulkOutcome.success(id, view.getOrderNumber())
+                    : OrderDto.BulkOutcome.rejected(id, view.getOrderNumber(), rejection));
+        }
+        
+        OrderDto.BulkResult result = OrderDto.BulkResult.of(outcomes);
+        log.info("주문 일괄 상태 변경 완료: 요청 {}건, 변경 {}건, 거절 {}건",
+                result.getRequested(), result.getSucceeded(), result.getRejected());
+        return result;
+    }
+    
+    /**
+     * 주문 일괄 취소 (재고 복구를 상품별로 합산해 배치 UPDATE 로 반영)
+     */
+    @Transactional
+    public OrderDto.BulkResult cancelOrders(Collection<Long> orderIds) {
+        Set<Long> ids = new TreeSet<>(orderIds);
+        if (ids.isEmpty()) {
+            return OrderDto.BulkResult.of(List.of());
+        }
+        validateBulkSize(ids);
+        log.info("주문 일괄 취소 요청: {}건", ids.size());
+        
+        // 주문 행을 먼저 잠가 동시 취소로 재고가 두 번 복구되지 않도록 한 뒤, 아이템/상품을 한 번에 로딩
+        Map<Long, Order> lockedOrders = orderRepository.findAllByIdInForUpdate(ids).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        if (!lockedOrders.isEmpty()) {
+            orderRepository.findAllWithItemsByIdIn(lockedOrders.keySet());
+        }
+        
+        List<OrderDto.BulkOutcome> outcomes = new ArrayList<>(ids.size());
+        List<Order> cancellable = new ArrayList<>();
+        for (Long id : ids) {
+            Order order = lockedOrders.get(id);
+            if (order == null) {
+                outcomes.add(OrderDto.BulkOutcome.rejected(id, null, "주문을 찾을 수 없습니다: " + id));
+                continue;
+            }
+            String rejection = transitionRejection(order.getStatus(), Order.OrderStatus.CANCELLED);
+            if (rejection != null) {
+                outcomes.add(OrderDto.BulkOutcome.rejected(id, order.getOrderNumber(), rejection));
+                continue;
+            }
+            cancellable.add(order);
+            outcomes.add(OrderDto.BulkOutcome.success(order));
+        }
+        
+        // 상품별 합산 재고를 배치 UPDATE 로 복구하고, 상태 변경은 flush 시 JDBC 배치로 반영
+        stockReservationService.release(stockDeltas(cancellable));
+        for (Order order : cancellable) {
+            Order.OrderStatus previousStatus = order.getStatus();
+            order.setStatus(Order.OrderStatus.CANCELLED);
+            orderOutbox.statusChanged(order, previousStatus);
+        }
+        
+        OrderDto.BulkResult result = OrderDto.BulkResult.of(outcomes);
+        log.info("주문 일괄 취소 완료: 요청 {}건, 취소 {}건, 거절 {}건",
+                result.getRequested(), result.getSucceeded(), result.getRejected());
+        return result;
     }
     
     /**
      * 주문번호로 주문 조회
      */
     public OrderDto.Response getOrderByOrderNumber(String orderNumber) {
-        Order order = orderRepository.findByOrderNumber(orderNumber)
+        Order order = orderRepository.findWithDetailsByOrderNumber(orderNumber)
                 .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다: " + orderNumber));
         
         return OrderDto.Response.from(order);
     }
     
     /**
-     * 주문번호 생성
+     * 단건 상태 변경 대상 주문 조회
+     * 동시에 같은 주문을 취소해도 재고가 한 번만 복구되도록, 일괄 경로처럼 주문 행을 먼저 잠그고 상태를 읽는다.
+     * 연관 행까지 잠그지 않도록 잠금 조회와 상세 조회를 나눈다.
      */
-    private String generateOrderNumber() {
-        LocalDateTime now = LocalDateTime.now();
-        String dateTime = now.format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        String randomSuffix = String.valueOf((int)(Math.random() * 1000));
-        return "ORD-" + dateTime + "-" + String.format("%03d", Integer.parseInt(randomSuffix));
+    private Order findForStatusChange(Long orderId) {
+        orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다: " + orderId));
+        return orderRepository.findWithDetailsById(orderId).orElseThrow();
     }
     
     /**
-     * 주문 상태 변경 검증
+     * 직접 주문 상품 일괄 조회 및 검증 (수량, 존재 여부, 활성 상태를 한 번에 확인)
      */
-    private void validateStatusChange(Order.OrderStatus currentStatus, Order.OrderStatus newStatus) {
-        // 취소된 주문은 상태 변경 불가
-        if (currentStatus == Order.OrderStatus.CANCELLED) {
-            throw new IllegalArgumentException("취소된 주문의 상태는 변경할 수 없습니다.");
+    private Map<Long, Product> loadOrderProducts(List<OrderDto.OrderItemRequest> itemRequests) {
+        Set<Long> productIds = new TreeSet<>();
+        for (OrderDto.OrderItemRequest itemRequest : itemRequests) {
+            if (itemRequest.getProductId() == null) {
+                throw new IllegalArgumentException("상품 ID는 필수입니다.");
+            }
+            if (itemRequest.getQuantity() == null || itemRequest.getQuantity() <= 0) {
+                throw new IllegalArgumentException("주문 수량은 1 이상이어야 합니다: " + itemRequest.getProductId());
+            }
+            productIds.add(itemRequest.getProductId());
         }
         
-        // 배송 완료 후에는 취소만 가능
-        if (currentStatus == Order.OrderStatus.DELIVERED && newStatus != Order.OrderStatus.CANCELLED) {
-            throw new IllegalArgumentException("배송 완료된 주문은 취소만 가능합니다.");
-        }
+        Map<Long, Product> products = findProducts(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
         
-        // 정상적인 주문 흐름: PENDING -> CONFIRMED -> SHIPPED -> DELIVERED
-        switch (currentStatus) {
-            case PENDING:
-                if (newStatus != Order.OrderStatus.CONFIRMED && newStatus != Order.OrderStatus.CANCELLED) {
-                    throw new IllegalArgumentException("대기 중인 주문은 확인 또는 취소만 가능합니다.");
-                }
-                break;
-            case CONFIRMED:
-                if (newStatus != Order.OrderStatus.SHIPPED && newStatus != Order.OrderStatus.CANCELLED) {
-                    throw new IllegalArgumentException("확인된 주문은 배송 시작 또는 취소만 가능합니다.");
-                }
-                break;
-            case SHIPPED:
-                if (newStatus != Order.OrderStatus.DELIVERED) {
-                    throw new IllegalArgumentException("배송 중인 주문은 배송 완료만 가능합니다.");
-                }
-                break;
+        List<Long> missing = new ArrayList<>();
+        List<String> inactive = new ArrayList<>();
+        for (Long productId : productIds) {
+            Product product = products.get(productId);
+            if (product == null) {
+                missing.add(productId);
+            } else if (!Boolean.TRUE.equals(product.getIsActive())) {
+                inactive.add(product.getName());
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("상품을 찾을 수 없습니다: " + missing);
+        }
+        if (!inactive.isEmpty()) {
+            throw new IllegalArgumentException("판매 중지된 상품이 포함되어 있습니다: " + inactive);
+        }
+        return products;
+    }
+    
+    private List<Product> findProducts(Collection<Long> productIds) {
+        if (orderProperties.getProductLock() == OrderProperties.ProductLock.PESSIMISTIC) {
+            return productRepository.findAllByIdInForUpdate(productIds);
+        }
+        return productRepository.findAllByIdIn(productIds);
+    }
+    
+    private CursorPage<OrderDto.ListResponse> toCursorPage(List<Order> orders, int pageSize) {
+        return CursorPage.of(orders, pageSize,
+                order -> new CursorPage.Cursor(order.getCreatedAt(), order.getId()),
+                OrderDto.ListResponse::from);
+    }
+    
+    /**
+     * 상태 전이 불가 사유 (전이 가능하면 null)
+     */
+    private String transitionRejection(Order.OrderStatus current, Order.OrderStatus target) {
+        if (current.canTransitionTo(target)) {
+            return null;
+        }
+        if (current == Order.OrderStatus.CANCELLED) {
+            return current == target ? "이미 취소된 주문입니다." : "취소된 주문의 상태는 변경할 수 없습니다.";
+        }
+        if (current == target) {
+            return "이미 " + target + " 상태인 주문입니다.";
+        }
+        if (target == Order.OrderStatus.CANCELLED) {
+            return "배송 중이거나 배송 완료된 주문은 취소할 수 없습니다.";
+        }
+        if (current.nextStatuses().isEmpty()) {
+            return current + " 상태의 주문은 더 이상 변경할 수 없습니다.";
+        }
+        return current + " 상태의 주문은 " + current.nextStatuses() + " 상태로만 변경할 수 있습니다.";
+    }
+    
+    private void validateBulkSize(Set<Long> ids) {
+        if (ids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("한 번에 처리할 수 있는 주문 수를 초과했습니다: " + ids.size() + " (최대 " + MAX_BULK_SIZE + ")");
+        }
+    }
+    
+    /**
+     * 주문 아이템 수량을 상품별로 합산 (재고 복구용)
+     */
+    private Map<Long, Integer> stockDeltas(Collection<Order> orders) {
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (Order order : orders) {
+            for (OrderItem orderItem : order.getOrderItems()) {
+                deltas.merge(orderItem.getProduct().getId(), orderItem.getQuantity(), Integer::sum);
+            }
         }
+        return deltas;
     }
 }
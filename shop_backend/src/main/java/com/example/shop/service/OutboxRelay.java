@@ -0,0 +1,108 @@
+package com.example.shop.service;
+
+import com.example.shop.config.OutboxProperties;
+import com.example.shop.entity.OutboxEvent;
+import com.example.shop.event.OrderEvent;
+import com.example.shop.event.OrderEventSink;
+import com.example.shop.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * outbox 릴레이
+ * 대기 이벤트를 id 순서로 잠금 조회해 애플리케이션 이벤트와 등록된 {@link OrderEventSink} 로 전달하고,
+ * 같은 트랜잭션에서 삭제한다. 전달 중 예외가 나면 배치 전체가 롤백되어 다음 주기에 같은 순서로 재시도된다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final List<OrderEventSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties outboxProperties;
+    private final MeterRegistry meterRegistry;
+    
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("outbox.backlog", backlog, AtomicLong::get)
+                .description("전달 대기 중인 주문 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("가장 오래된 대기 이벤트의 경과 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${outbox.relay-interval:500}")
+    public void relay() {
+        if (!outboxProperties.isRelayEnabled()) {
+            return;
+        }
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == outboxProperties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.error("outbox 이벤트 전달 실패 - 다음 주기에 재시도합니다", e);
+        } finally {
+            updateMetrics();
+        }
+    }
+    
+    /**
+     * 한 배치 전달 (전달한 이벤트 수 반환)
+     */
+    int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.findBatchForRelay(
+                    PageRequest.of(0, outboxProperties.getBatchSize()));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            
+            List<OrderEvent> events = batch.stream().map(OrderEvent::from).collect(Collectors.toList());
+            events.forEach(eventPublisher::publishEvent);
+            for (OrderEventSink sink : sinks) {
+                sink.publish(events);
+            }
+            
+            outboxEventRepository.deleteAllInBatch(batch);
+            log.debug("outbox 이벤트 전달: {}건 (eventId {} ~ {})",
+                    events.size(), events.get(0).getEventId(), events.get(events.size() - 1).getEventId());
+            return events.size();
+        });
+        return relayed != null ? relayed : 0;
+    }
+    
+    private void updateMetrics() {
+        try {
+            backlog.set(outboxEventRepository.count());
+            lagMillis.set(outboxEventRepository.findFirstByOrderByIdAsc()
+                    .map(oldest -> Math.max(0, Duration.between(oldest.getOccurredAt(), LocalDateTime.now()).toMillis()))
+                    .orElse(0L));
+        } catch (RuntimeException e) {
+            log.warn("outbox 지표 갱신 실패: {}", e.getMessage());
+        }
+    }
+}
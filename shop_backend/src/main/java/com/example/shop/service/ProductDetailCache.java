@@ -0,0 +1,65 @@
+package com.example.shop.service;
+
+import com.example.shop.config.ProductCacheProperties;
+import com.example.shop.dto.ProductDto;
+import com.example.shop.event.CategoryChangedEvent;
+import com.example.shop.event.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Function;
+
+/**
+ * 상품 상세 응답 캐시 (read-through)
+ * 크기/TTL 로 제한되며, 상품·재고·카테고리 변경 이벤트를 커밋 후에 받아 해당 항목만 무효화한다.
+ * 캐시된 응답은 여러 요청이 공유하므로 수정하지 말고 복사해서 사용해야 한다.
+ * 지표: /actuator/metrics/cache.gets?tag=cache:productDetail (hit/miss), cache.evictions, cache.size
+ */
+@Component
+@Slf4j
+public class ProductDetailCache {
+    
+    static final String CACHE_NAME = "productDetail";
+    
+    private final Cache<Long, ProductDto.Response> cache;
+    private final boolean enabled;
+    
+    public ProductDetailCache(ProductCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+    
+    /**
+     * 캐시 조회, 없으면 loader 로 만들어 저장 (loader 예외는 캐시하지 않고 그대로 전파)
+     */
+    public ProductDto.Response get(Long productId, Function<Long, ProductDto.Response> loader) {
+        if (!enabled) {
+            return loader.apply(productId);
+        }
+        return cache.get(productId, loader);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        cache.invalidateAll(event.getProductIds());
+        log.debug("상품 캐시 무효화: {}", event.getProductIds());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // 카테고리 변경은 드물므로 전체 항목을 훑어 해당 카테고리 상품만 제거
+        cache.asMap().values().removeIf(response -> response.getCategory() != null
+                && event.getCategoryId().equals(response.getCategory().getId()));
+        log.debug("카테고리 변경으로 상품 캐시 무효화: categoryId={}", event.getCategoryId());
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.shop.service;
+
+import com.example.shop.config.FacetProperties;
+import com.example.shop.entity.Category;
+import com.example.shop.event.CategoryChangedEvent;
+import com.example.shop.event.ProductChangedEvent;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductFilter;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.ProductRepositoryCustom;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품 facet 개수 색인 (카테고리·가격대·재고 여부별 압축 비트맵)
+ * 시작 시 별도 스레드에서 전체 상품을 ID 순으로 읽어 만들고, 이후에는 상품/카테고리 변경 이벤트를
+ * 커밋 후에 받아 상품 ID 만 모아 두고 apply-interval 마다 스케줄러 스레드에서 해당 상품만 다시 읽어 갱신한다.
+ * 주문 커밋 스레드는 색인 갱신 쿼리를 기다리지 않는다.
+ * 재고만 바뀐 이벤트도 재고 여부가 달라질 수 있으므로 반영한다. 재고 원장 모드에서는 원장 재고로 바로 갱신한다.
+ * 키워드 조건은 비트맵으로 표현할 수 없으므로 count 가 empty 를 돌려주고, 호출 측은 SQL 집계로 대체한다.
+ * 지표: facet.index.size, facet.index.bytes
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductFacetIndex {
+    
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final FacetProperties facetProperties;
+    private final StockReservationService stockReservationService;
+    private final MeterRegistry meterRegistry;
+    
+    private final FacetBitmaps bitmaps = new FacetBitmaps(ProductRepositoryCustom.PRICE_BUCKET_BOUNDS);
+    private final Map<Long, String> categoryNames = new ConcurrentHashMap<>();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+    
+    /**
+     * 애플리케이션 시작 후 별도 스레드에서 적재 (시작 시간을 늘리지 않도록)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!facetProperties.isEnabled()) {
+            log.info("facet 색인 비활성화: facet 개수는 SQL 집계로 구합니다.");
+            return;
+        }
+        Gauge.builder("facet.index.size", bitmaps, FacetBitmaps::size)
+                .description("facet 색인에 들어 있는 활성 상품 수")
+                .register(meterRegistry);
+        Gauge.builder("facet.index.bytes", bitmaps, FacetBitmaps::sizeInBytes)
+                .description("facet 색인 메모리 사용량 추정치")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        
+        Thread loader = new Thread(this::load, "facet-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * 조건 조합의 facet 개수 (색인이 준비되지 않았거나 키워드 조건이 있으면 empty)
+     */
+    Optional<FacetBitmaps.Counts> count(ProductFilter filter) {
+        if (!ready || filter.hasKeyword()) {
+            return Optional.empty();
+        }
+        return Optional.of(bitmaps.count(filter.hasCategories() ? filter.getCategoryIds() : List.of(),
+                filter.getMinPrice(), filter.getMaxPrice(), Boolean.TRUE.equals(filter.getInStock())));
+    }
+    
+    String categoryName(Long categoryId) {
+        return categoryNames.get(categoryId);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!facetProperties.isEnabled()) {
+            return;
+        }
+        if (!event.isStockOnly()) {
+            pending.addAll(event.getProductIds());
+            return;
+        }
+        // 원장에 올라온 재고는 쿼리 없이 재고 여부만 바꾸고, 나머지는 DB 값을 읽도록 모아 둔다
+        for (Long productId : event.getProductIds()) {
+            OptionalLong ledgerStock = stockReservationService.currentStock(productId);
+            if (ledgerStock.isPresent()) {
+                bitmaps.setInStock(productId, ledgerStock.getAsLong() > 0);
+            } else {
+                pending.add(productId);
+            }
+        }
+    }
+    
+    /**
+     * 모아 둔 변경 상품을 색인에 반영 (스케줄러 스레드 하나에서만 실행되므로 잠금 없이 조회한다)
+     */
+    @Scheduled(fixedDelayString = "${facet.apply-interval:500}")
+    public void applyPending() {
+        if (!ready || pending.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        reindex(ids);
+    }
+    
+    // 카테고리 소속은 상품 쪽에서 바뀌므로 이름만 갱신한다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (!facetProperties.isEnabled()) {
+            return;
+        }
+        categoryRepository.findById(event.getCategoryId()).ifPresentOrElse(
+                category -> categoryNames.put(category.getId(), category.getName()),
+                () -> categoryNames.remove(event.getCategoryId()));
+    }
+    
+    private void load() {
+        long startNanos = System.nanoTime();
+        try {
+            for (Category category : categoryRepository.findAll()) {
+                categoryNames.put(category.getId(), category.getName());
+            }
+            buildAll();
+        } catch (RuntimeException e) {
+            log.error("facet 색인 적재 실패: facet 개수는 SQL 집계로 구합니다.", e);
+            return;
+        }
+        
+        // 적재 중에 커밋된 변경은 pending 에 모여 있다가 다음 반영 주기에 들어간다
+        ready = true;
+        log.info("facet 색인 준비 완료: {}건, 약 {}KB, {}ms", bitmaps.size(), bitmaps.sizeInBytes() / 1024,
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+    
+    /**
+     * 전체 상품 적재 (ID 키셋으로 나눠 읽어 비트맵 끝에 차례로 붙인다)
+     */
+    private void buildAll() {
+        long lastId = 0L;
+        int batchSize = facetProperties.getBuildBatchSize();
+        while (true) {
+            List<ProductRepository.FacetView> batch = productRepository.findFacetViewsAfter(
+                    lastId, PageRequest.of(0, batchSize));
+            batch.forEach(this::apply);
+            if (batch.size() < batchSize) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+    
+    private void reindex(Collection<Long> productIds) {
+        Set<Long> missing = new HashSet<>(productIds);
+        for (ProductRepository.FacetView view : productRepository.findFacetViewsByIdIn(productIds)) {
+            missing.remove(view.getId());
+            apply(view);
+        }
+        missing.forEach(bitmaps::remove);
+        log.debug("facet 색인 갱신: {}건", productIds.size());
+    }
+    
+    // 비활성 상품은 어떤 facet 에도 세지 않는다 (재고 원장 모드에서는 아직 DB에 반영되지 않은 원장 재고 기준)
+    private void apply(ProductRepository.FacetView view) {
+        if (!Boolean.TRUE.equals(view.getActive())) {
+            bitmaps.remove(view.getId());
+            return;
+        }
+        OptionalLong ledgerStock = stockReservationService.currentStock(view.getId());
+        boolean inStock = ledgerStock.isPresent() ? ledgerStock.getAsLong() > 0
+                : view.getStockQuantity() != null && view.getStockQuantity() > 0;
+        bitmaps.put(view.getId(), view.getCategoryId(), view.getPrice(), inStock);
+    }
+}
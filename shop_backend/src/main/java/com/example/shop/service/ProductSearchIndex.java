@@ -0,0 +1,265 @@
+package com.example.shop.service;
+
+import com.example.shop.config.SearchProperties;
+import com.example.shop.entity.Product;
+import com.example.shop.event.CategoryChangedEvent;
+import com.example.shop.event.ProductChangedEvent;
+import com.example.shop.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품 전문 검색 색인 (상품명·설명·카테고리명, BM25 순위)
+ * 시작 시 저장된 세그먼트를 읽고 그 이후 수정된 상품만 다시 색인하며, 세그먼트가 없으면 전체 상품으로 만든다.
+ * 이후에는 상품/카테고리 변경 이벤트를 커밋 후에 받아 해당 상품만 갱신하고, 주기적으로 세그먼트를 저장한다.
+ * 색인이 준비되기 전에는 search 가 비어 있는 결과를 돌려주므로 호출 측은 LIKE 검색으로 대체해야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndex {
+    
+    private static final int SEGMENT_MAGIC = 0x50534931;   // "PSI1"
+    private static final String SEGMENT_FILE = "products.seg";
+    private static final int NAME_WEIGHT = 2;               // 상품명 출현은 설명/카테고리명보다 두 배로 센다
+    // 세그먼트 저장 시각 직전에 수정되고 늦게 커밋된 상품까지 다시 색인하기 위한 여유
+    private static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(1);
+    
+    private final ProductRepository productRepository;
+    private final SearchProperties searchProperties;
+    private final MeterRegistry meterRegistry;
+    
+    private final InvertedIndex index = new InvertedIndex();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Object saveLock = new Object();    // 저장끼리만 직렬화 (색인 갱신은 저장 중에도 진행)
+    private volatile boolean ready;
+    private volatile boolean dirty;
+    
+    /**
+     * 애플리케이션 시작 후 별도 스레드에서 색인 적재 (시작 시간을 늘리지 않도록)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!searchProperties.isEnabled()) {
+            log.info("상품 검색 색인 비활성화: 순위 검색은 LIKE 검색으로 대체됩니다.");
+            return;
+        }
+        Gauge.builder("search.index.size", index, InvertedIndex::size)
+                .description("검색 색인에 들어 있는 상품 수")
+                .register(meterRegistry);
+        
+        Thread loader = new Thread(this::load, "search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * 순위 검색 (색인이 준비되지 않았으면 empty)
+     */
+    Optional<InvertedIndex.Hits> search(String query, int offset, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of(index.search(ProductTokenizer.tokenize(query), offset, limit));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isStockOnly() || !searchProperties.isEnabled()) {
+            return;
+        }
+        pending.addAll(event.getProductIds());
+        if (ready) {
+            applyPending();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (!searchProperties.isEnabled()) {
+            return;
+        }
+        pending.addAll(productRepository.findIdsByCategoryId(event.getCategoryId()));
+        if (ready) {
+            applyPending();
+        }
+    }
+    
+    /**
+     * 변경된 색인을 세그먼트 파일로 저장 (임시 파일에 쓴 뒤 교체)
+     */
+    @Scheduled(fixedDelayString = "${search.save-interval:600000}")
+    public void save() {
+        synchronized (saveLock) {
+            if (!ready || !dirty) {
+                return;
+            }
+            dirty = false;
+            LocalDateTime watermark = LocalDateTime.now();
+            Path directory = Paths.get(searchProperties.getIndexDir());
+            Path target = directory.resolve(SEGMENT_FILE);
+            Path temp = directory.resolve(SEGMENT_FILE + ".tmp");
+            try {
+                // 색인 읽기 잠금은 메모리 직렬화 동안만 잡고, 파일 쓰기는 잠금 밖에서 한다
+                ByteArrayOutputStream segment = new ByteArrayOutputStream();
+                try (DataOutputStream out = new DataOutputStream(segment)) {
+                    out.writeInt(SEGMENT_MAGIC);
+                    out.writeUTF(watermark.toString());
+                    index.writeTo(out);
+                }
+                Files.createDirectories(directory);
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                    segment.writeTo(out);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.info("검색 색인 저장 완료: {}건, {}", index.size(), target);
+            } catch (IOException e) {
+                dirty = true;
+                log.warn("검색 색인 저장 실패 (다음 주기에 다시 시도): {}", e.getMessage());
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        save();
+    }
+    
+    private void load() {
+        long startNanos = System.nanoTime();
+        try {
+            Optional<LocalDateTime> watermark = readSegment();
+            if (watermark.isPresent()) {
+                List<Long> modified = productRepository.findIdsModifiedSince(watermark.get().minus(CATCH_UP_MARGIN));
+                reindex(modified);
+                log.info("검색 색인 세그먼트 적재: {}건, 이후 변경 {}건 재색인", index.size(), modified.size());
+            } else {
+                buildAll();
+            }
+        } catch (RuntimeException e) {
+            log.error("상품 검색 색인 적재 실패: 순위 검색은 LIKE 검색으로 대체됩니다.", e);
+            return;
+        }
+        
+        // 적재 중에 커밋된 변경은 pending 에 모여 있다
+        dirty = true;
+        ready = true;
+        applyPending();
+        log.info("상품 검색 색인 준비 완료: {}건, {}ms", index.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+    
+    private Optional<LocalDateTime> readSegment() {
+        Path segment = Paths.get(searchProperties.getIndexDir()).resolve(SEGMENT_FILE);
+        if (!Files.exists(segment)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            if (in.readInt() != SEGMENT_MAGIC) {
+                throw new IOException("세그먼트 형식이 아닙니다");
+            }
+            LocalDateTime watermark = LocalDateTime.parse(in.readUTF());
+            index.readFrom(in);
+            return Optional.of(watermark);
+        } catch (IOException | RuntimeException e) {
+            log.warn("검색 색인 세그먼트를 읽을 수 없어 전체 색인합니다: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * 전체 상품 색인 (ID 키셋으로 나눠 읽어 영속성 컨텍스트가 커지지 않도록)
+     */
+    private void buildAll() {
+        long lastId = 0L;
+        int batchSize = searchProperties.getBuildBatchSize();
+        while (true) {
+            List<Product> batch = productRepository.findWithCategoryByIdGreaterThanOrderByIdAsc(
+                    lastId, PageRequest.of(0, batchSize));
+            batch.forEach(this::indexProduct);
+            if (batch.size() < batchSize) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+    
+    private synchronized void applyPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        reindex(ids);
+        dirty = true;
+    }
+    
+    private void reindex(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>(productIds);
+        for (Product product : productRepository.findWithCategoryByIdIn(productIds)) {
+            missing.remove(product.getId());
+            indexProduct(product);
+        }
+        missing.forEach(index::remove);
+        log.debug("검색 색인 갱신: {}건", productIds.size());
+    }
+    
+    // 비활성 상품은 검색되지 않도록 색인에서 뺀다
+    private void indexProduct(Product product) {
+        if (!Boolean.TRUE.equals(product.getIsActive())) {
+            index.remove(product.getId());
+            return;
+        }
+        Map<String, Integer> termFreqs = new HashMap<>();
+        addTerms(termFreqs, product.getName(), NAME_WEIGHT);
+        addTerms(termFreqs, product.getDescription(), 1);
+        if (product.getCategory() != null) {
+            addTerms(termFreqs, product.getCategory().getName(), 1);
+        }
+        index.put(product.getId(), termFreqs);
+    }
+    
+    private static void addTerms(Map<String, Integer> termFreqs, String text, int weight) {
+        for (String token : ProductTokenizer.tokenize(text)) {
+            termFreqs.merge(token, weight, Integer::sum);
+        }
+    }
+}
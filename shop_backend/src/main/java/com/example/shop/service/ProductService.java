@@ -1,19 +1,36 @@
 package com.example.shop.service;
 
+import com.example.shop.dto.CursorPage;
 import com.example.shop.dto.ProductDto;
+import com.example.shop.dto.SlicePage;
 import com.example.shop.entity.Category;
 import com.example.shop.entity.Product;
+import com.example.shop.event.ProductChangedEvent;
 import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductFilter;
+import com.example.shop.repository.ProductListView;
 import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.ProductRepositoryCustom;
+import com.example.shop.repository.ProductSort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,8 +39,17 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProductService {
     
+    // 순위 검색으로 넘겨 볼 수 있는 상위 결과 수 (깊은 페이지 요청이 큰 힙을 만들지 않도록)
+    static final int MAX_RANKED_RESULTS = 1000;
+    
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final StockReservationService stockReservationService;
+    private final ProductDetailCache productDetailCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductFacetIndex productFacetIndex;
+    private final ApproximateCountCache approximateCountCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * 상품 생성
@@ -46,6 +72,7 @@ public class ProductService {
                 .build();
         
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(savedProduct.getId())));
         log.info("상품 생성 완료: productId={}, name={}", savedProduct.getId(), savedProduct.getName());
         
         return ProductDto.Response.from(savedProduct);
@@ -56,8 +83,7 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Page<ProductDto.ListResponse> getAllProducts(Pageable pageable) {
-        Page<Product> products = productRepository.findAll(pageable);
-        return products.map(ProductDto.ListResponse::from);
+        return productRepository.findListViews(pageable).map(ProductDto.ListResponse::from);
     }
     
     /**
@@ -65,30 +91,34 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Page<ProductDto.ListResponse> getActiveProducts(Pageable pageable) {
-        Page<Product> products = productRepository.findByIsActiveTrue(pageable);
-        return products.map(ProductDto.ListResponse::from);
+        return productRepository.findActiveListViews(pageable).map(ProductDto.ListResponse::from);
     }
     
     /**
-     * 상품 ID로 조회
+     * 상품 ID로 조회 (상품 상세 캐시 사용)
      */
     @Transactional(readOnly = true)
     public ProductDto.Response getProductById(Long productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다: " + productId));
+        ProductDto.Response response = productDetailCache.get(productId, id -> ProductDto.Response.from(
+                productRepository.findWithCategoryById(id)
+                        .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다: " + id))));
         
-        return ProductDto.Response.from(product);
+        // 재고 원장 모드에서는 아직 DB에 반영되지 않은 최신 재고를 보여준다 (캐시 항목은 공유되므로 복사)
+        OptionalLong currentStock = stockReservationService.currentStock(productId);
+        if (currentStock.isPresent()) {
+            return response.toBuilder().stockQuantity((int) currentStock.getAsLong()).build();
+        }
+        return response;
     }
     
     /**
      * 카테고리별 상품 조회 (페이징)
+     * 카테고리 존재 여부는 결과가 비었을 때만 확인한다 (상품이 있으면 카테고리도 있으므로).
      */
     @Transactional(readOnly = true)
     public Page<ProductDto.ListResponse> getProductsByCategory(Long categoryId, Pageable pageable) {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 카테고리입니다: " + categoryId));
-        
-        Page<Product> products = productRepository.findByCategoryAndIsActiveTrue(category, pageable);
+        Page<ProductListView> products = productRepository.findActiveListViewsByCategoryId(categoryId, pageable);
+        requireCategoryIfEmpty(products, categoryId);
         return products.map(ProductDto.ListResponse::from);
     }
     
@@ -97,8 +127,117 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Page<ProductDto.ListResponse> searchProductsByName(String keyword, Pageable pageable) {
-        Page<Product> products = productRepository.findByNameContainingIgnoreCaseAndIsActiveTrue(keyword, pageable);
-        return products.map(ProductDto.ListResponse::from);
+        return productRepository.findActiveListViewsByNameLike(ProductFilter.containsPattern(keyword), pageable)
+                .map(ProductDto.ListResponse::from);
+    }
+    
+    /**
+     * 상품명·설명·카테고리명 순위 검색 (BM25, 색인이 준비되지 않았으면 상품명 LIKE 검색으로 대체)
+     * 상위 MAX_RANKED_RESULTS 건까지만 페이지로 넘길 수 있고, 그 뒤 페이지는 내용 없이 전체 적중 수만 돌려준다.
+     */
+    @Transactional(readOnly = true)
+    public Page<ProductDto.ListResponse> searchProductsRanked(String keyword, Pageable pageable) {
+        int limit = Math.min(pageable.getPageSize(), CursorPage.MAX_SIZE);
+        boolean beyondWindow = pageable.getOffset() + limit > MAX_RANKED_RESULTS;
+        Optional<InvertedIndex.Hits> hits = productSearchIndex.search(
+                keyword, beyondWindow ? 0 : (int) pageable.getOffset(), beyondWindow ? 0 : limit);
+        if (hits.isEmpty()) {
+            log.debug("검색 색인 준비 전이므로 LIKE 검색으로 대체: keyword={}", keyword);
+            return searchProductsByName(keyword, pageable);
+        }
+        
+        // 색인 순서를 유지하며 상품 정보를 IN 쿼리 1회로 조회
+        Map<Long, ProductListView> products = productRepository.findListViewsByIdIn(hits.get().productIds).stream()
+                .collect(Collectors.toMap(ProductListView::getId, Function.identity()));
+        List<ProductDto.ListResponse> content = hits.get().productIds.stream()
+                .map(products::get)
+                .filter(product -> product != null && Boolean.TRUE.equals(product.getIsActive()))
+                .map(ProductDto.ListResponse::from)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.get().total);
+    }
+    
+    /**
+     * 통합 조회 (카테고리·키워드·가격·재고 조건 조합 + facet 개수)
+     * 상품 페이지 1회 + 카테고리별 집계 1회로 처리하며, 전체 건수는 집계 결과에서 구한다.
+     * facet 색인이 준비되어 있고 키워드 조건이 없으면 집계는 비트맵 교집합으로 대신한다.
+     */
+    @Transactional(readOnly = true)
+    public ProductDto.QueryResponse queryProducts(ProductFilter filter, Pageable pageable) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("최소 가격이 최대 가격보다 클 수 없습니다.");
+        }
+        ProductSort.requireSortable(pageable.getSort());
+        
+        List<ProductDto.ListResponse> content = productRepository.findPageByFilter(filter, pageable).stream()
+                .map(ProductDto.ListResponse::from)
+                .collect(Collectors.toList());
+        
+        Optional<FacetBitmaps.Counts> indexed = productFacetIndex.count(filter);
+        if (indexed.isPresent()) {
+            FacetBitmaps.Counts counts = indexed.get();
+            List<ProductDto.CategoryFacet> categories = new ArrayList<>();
+            counts.categories.forEach((categoryId, count) -> categories.add(ProductDto.CategoryFacet.builder()
+                    .categoryId(categoryId)
+                    .categoryName(productFacetIndex.categoryName(categoryId))
+                    .count(count)
+                    .build()));
+            return toQueryResponse(content, pageable, categories, counts.total, counts.inStock, counts.priceBuckets);
+        }
+        
+        List<ProductRepositoryCustom.FacetRow> rows = productRepository.countFacetsByFilter(filter);
+        List<ProductDto.CategoryFacet> categories = new ArrayList<>();
+        long total = 0;
+        long inStock = 0;
+        long[] buckets = new long[ProductRepositoryCustom.PRICE_BUCKET_BOUNDS.size() + 1];
+        for (ProductRepositoryCustom.FacetRow row : rows) {
+            if (row.getCategoryId() != null) {
+                categories.add(ProductDto.CategoryFacet.builder()
+                        .categoryId(row.getCategoryId())
+                        .categoryName(row.getCategoryName())
+                        .count(row.getCount())
+                        .build());
+            }
+            // 가격/재고 facet 과 전체 건수는 선택한 카테고리에 속한 행만 더한다
+            if (filter.hasCategories() && !filter.getCategoryIds().contains(row.getCategoryId())) {
+                continue;
+            }
+            total += row.getCount();
+            inStock += row.getInStock();
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] += row.getPriceBuckets()[i];
+            }
+        }
+        return toQueryResponse(content, pageable, categories, total, inStock, buckets);
+    }
+    
+    private static ProductDto.QueryResponse toQueryResponse(List<ProductDto.ListResponse> content, Pageable pageable,
+                                                            List<ProductDto.CategoryFacet> categories,
+                                                            long total, long inStock, long[] buckets) {
+        categories.sort(Comparator.comparingLong(ProductDto.CategoryFacet::getCount).reversed());
+        
+        List<ProductDto.PriceBucket> priceBuckets = new ArrayList<>();
+        BigDecimal lower = BigDecimal.ZERO;
+        for (int i = 0; i < buckets.length; i++) {
+            BigDecimal upper = i < ProductRepositoryCustom.PRICE_BUCKET_BOUNDS.size()
+                    ? ProductRepositoryCustom.PRICE_BUCKET_BOUNDS.get(i) : null;
+            priceBuckets.add(ProductDto.PriceBucket.builder().min(lower).max(upper).count(buckets[i]).build());
+            lower = upper;
+        }
+        
+        return ProductDto.QueryResponse.builder()
+                .content(content)
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .totalElements(total)
+                .totalPages((int) ((total + pageable.getPageSize() - 1) / pageable.getPageSize()))
+                .facets(ProductDto.Facets.builder()
+                        .categories(categories)
+                        .priceBuckets(priceBuckets)
+                        .inStock(inStock)
+                        .build())
+                .build();
     }
     
     /**
@@ -106,8 +245,8 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Page<ProductDto.ListResponse> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
-        Page<Product> products = productRepository.findByPriceBetweenAndIsActiveTrue(minPrice, maxPrice, pageable);
-        return products.map(ProductDto.ListResponse::from);
+        return productRepository.findActiveListViewsByPriceBetween(minPrice, maxPrice, pageable)
+                .map(ProductDto.ListResponse::from);
     }
     
     /**
@@ -115,8 +254,84 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Page<ProductDto.ListResponse> getProductsInStock(Pageable pageable) {
-        Page<Product> products = productRepository.findByStockQuantityGreaterThanAndIsActiveTrue(0, pageable);
-        return products.map(ProductDto.ListResponse::from);
+        return productRepository.findActiveListViewsInStock(pageable).map(ProductDto.ListResponse::from);
+    }
+    
+    /**
+     * 모든 상품 조회 (COUNT 없음, approximateTotal 이면 캐시된 근사 건수 포함)
+     */
+    @Transactional(readOnly = true)
+    public SlicePage<ProductDto.ListResponse> getAllProductsSlice(Pageable pageable, boolean approximateTotal) {
+        return toSlicePage(productRepository.findListViewSlice(pageable), approximateTotal,
+                "products:all", productRepository::count);
+    }
+    
+    /**
+     * 활성 상품 조회 (COUNT 없음)
+     */
+    @Transactional(readOnly = true)
+    public SlicePage<ProductDto.ListResponse> getActiveProductsSlice(Pageable pageable, boolean approximateTotal) {
+        return toSlicePage(productRepository.findActiveListViewSlice(pageable), approximateTotal,
+                "products:active", productRepository::countByIsActiveTrue);
+    }
+    
+    /**
+     * 카테고리별 상품 조회 (COUNT 없음)
+     */
+    @Transactional(readOnly = true)
+    public SlicePage<ProductDto.ListResponse> getProductsByCategorySlice(Long categoryId, Pageable pageable,
+                                                                         boolean approximateTotal) {
+        Slice<ProductListView> products = productRepository.findActiveListViewSliceByCategoryId(categoryId, pageable);
+        requireCategoryIfEmpty(products, categoryId);
+        
+        return toSlicePage(products, approximateTotal,
+                "products:category:" + categoryId, () -> productRepository.countByCategoryIdAndIsActiveTrue(categoryId));
+    }
+    
+    /**
+     * 상품명으로 검색 (COUNT 없음)
+     */
+    @Transactional(readOnly = true)
+    public SlicePage<ProductDto.ListResponse> searchProductsByNameSlice(String keyword, Pageable pageable,
+                                                                        boolean approximateTotal) {
+        return toSlicePage(productRepository.findActiveListViewSliceByNameLike(
+                        ProductFilter.containsPattern(keyword), pageable),
+                approximateTotal, "products:name:" + keyword,
+                () -> productRepository.countByNameContainingIgnoreCaseAndIsActiveTrue(keyword));
+    }
+    
+    /**
+     * 가격 범위로 상품 검색 (COUNT 없음)
+     */
+    @Transactional(readOnly = true)
+    public SlicePage<ProductDto.ListResponse> getProductsByPriceRangeSlice(BigDecimal minPrice, BigDecimal maxPrice,
+                                                                           Pageable pageable, boolean approximateTotal) {
+        return toSlicePage(productRepository.findActiveListViewSliceByPriceBetween(minPrice, maxPrice, pageable),
+                approximateTotal, "products:price:" + minPrice + ":" + maxPrice,
+                () -> productRepository.countByPriceBetweenAndIsActiveTrue(minPrice, maxPrice));
+    }
+    
+    /**
+     * 재고가 있는 상품 조회 (COUNT 없음)
+     */
+    @Transactional(readOnly = true)
+    public SlicePage<ProductDto.ListResponse> getProductsInStockSlice(Pageable pageable, boolean approximateTotal) {
+        return toSlicePage(productRepository.findActiveListViewSliceInStock(pageable),
+                approximateTotal, "products:in-stock",
+                () -> productRepository.countByStockQuantityGreaterThanAndIsActiveTrue(0));
+    }
+    
+    private SlicePage<ProductDto.ListResponse> toSlicePage(Slice<ProductListView> products, boolean approximateTotal,
+                                                           String countKey, LongSupplier counter) {
+        Long total = approximateTotal ? approximateCountCache.get(countKey, counter) : null;
+        return SlicePage.of(products.map(ProductDto.ListResponse::from), total);
+    }
+    
+    // 빈 결과일 때만 카테고리 존재 확인 (없는 카테고리를 빈 목록으로 돌려주지 않도록)
+    private void requireCategoryIfEmpty(Slice<ProductListView> products, Long categoryId) {
+        if (!products.hasContent() && !categoryRepository.existsById(categoryId)) {
+            throw new IllegalArgumentException("존재하지 않는 카테고리입니다: " + categoryId);
+        }
     }
     
     /**
@@ -138,9 +353,6 @@ public class ProductService {
         if (request.getPrice() != null) {
             product.setPrice(request.getPrice());
         }
-        if (request.getStockQuantity() != null) {
-            product.setStockQuantity(request.getStockQuantity());
-        }
         if (request.getImageUrl() != null) {
             product.setImageUrl(request.getImageUrl());
         }
@@ -149,8 +361,17 @@ public class ProductService {
                     .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 카테고리입니다: " + request.getCategoryId()));
             product.setCategory(category);
         }
+        // 원장 재고는 검증이 모두 끝난 뒤에 지정 (반영 자체는 커밋 후)
+        if (request.getStockQuantity() != null) {
+            if (stockReservationService.isLedgerMode()) {
+                stockReservationService.overwriteStock(productId, request.getStockQuantity());
+            } else {
+                product.setStockQuantity(request.getStockQuantity());
+            }
+        }
         
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(productId)));
         log.info("상품 수정 완료: productId={}, name={}", updatedProduct.getId(), updatedProduct.getName());
         
         return ProductDto.Response.from(updatedProduct);
@@ -167,6 +388,7 @@ public class ProductService {
         
         product.setIsActive(!product.getIsActive());
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(productId)));
         
         log.info("상품 상태 변경 완료: productId={}, isActive={}", updatedProduct.getId(), updatedProduct.getIsActive());
         
@@ -184,6 +406,7 @@ public class ProductService {
         
         product.setIsActive(false);
         productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(productId)));
         
         log.info("상품 삭제 완료: productId={}", productId);
     }
@@ -194,13 +417,9 @@ public class ProductService {
     public void decreaseStock(Long productId, int quantity) {
         log.info("재고 감소 시도: productId={}, quantity={}", productId, quantity);
         
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다: " + productId));
-        
-        product.decreaseStock(quantity);
-        productRepository.save(product);
+        stockReservationService.reserve(Map.of(productId, quantity));
         
-        log.info("재고 감소 완료: productId={}, 남은재고={}", productId, product.getStockQuantity());
+        log.info("재고 감소 완료: productId={}, quantity={}", productId, quantity);
     }
     
     /**
@@ -209,13 +428,9 @@ public class ProductService {
     public void increaseStock(Long productId, int quantity) {
         log.info("재고 증가 시도: productId={}, quantity={}", productId, quantity);
         
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다: " + productId));
-        
-        product.increaseStock(quantity);
-        productRepository.save(product);
+        stockReservationService.release(Map.of(productId, quantity));
         
-        log.info("재고 증가 완료: productId={}, 현재재고={}", productId, product.getStockQuantity());
+        log.info("재고 증가 완료: productId={}, quantity={}", productId, quantity);
     }
     
     /**
@@ -223,7 +438,7 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<ProductDto.ListResponse> getLowStockProducts(int threshold) {
-        List<Product> products = productRepository.findByStockQuantityLessThanAndIsActiveTrue(threshold);
+        List<ProductListView> products = productRepository.findActiveListViewsByStockLessThan(threshold);
         return products.stream()
                 .map(ProductDto.ListResponse::from)
                 .collect(Collectors.toList());
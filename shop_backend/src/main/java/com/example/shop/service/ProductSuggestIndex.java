@@ -0,0 +1,169 @@
+package com.example.shop.service;
+
+import com.example.shop.config.SuggestProperties;
+import com.example.shop.dto.ProductDto;
+import com.example.shop.event.CategoryChangedEvent;
+import com.example.shop.event.ProductChangedEvent;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 검색어 자동완성 (/api/products/suggest)
+ * 활성 상품명과 카테고리명을 인기도(누적 주문 수량, 활성 상품 수)와 함께 SuggestTrie 로 만들어 두고 조회한다.
+ * 상품/카테고리 변경 이벤트는 원본 목록에만 반영하고 trie 는 주기적으로 모아서 다시 만들며,
+ * 인기도는 refresh-interval 마다 DB에서 다시 읽는다.
+ * 지표: /actuator/metrics/suggest.lookup (p50/p99), suggest.entries
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSuggestIndex {
+    
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final SuggestProperties suggestProperties;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<Long, SuggestTrie.Entry> products = new ConcurrentHashMap<>();
+    private final Map<Long, SuggestTrie.Entry> categories = new ConcurrentHashMap<>();
+    private volatile SuggestTrie trie = SuggestTrie.EMPTY;
+    private volatile boolean ready;
+    private volatile boolean dirty;
+    private Timer lookupTimer;
+    
+    /**
+     * 애플리케이션 시작 후 별도 스레드에서 최초 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!suggestProperties.isEnabled()) {
+            return;
+        }
+        lookupTimer = Timer.builder("suggest.lookup")
+                .description("자동완성 조회 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("suggest.entries", this, index -> index.trie.size())
+                .description("자동완성 항목 수 (상품 + 카테고리)")
+                .register(meterRegistry);
+        
+        Thread loader = new Thread(this::refresh, "suggest-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+    
+    /**
+     * 접두사 자동완성 (인기순, 최대 10개)
+     */
+    public List<ProductDto.Suggestion> suggest(String prefix, int limit) {
+        long started = System.nanoTime();
+        List<ProductDto.Suggestion> suggestions = trie.suggest(prefix, limit).stream()
+                .map(entry -> ProductDto.Suggestion.builder()
+                        .type(entry.getType().name())
+                        .id(entry.getId())
+                        .text(entry.getText())
+                        .build())
+                .collect(Collectors.toList());
+        if (lookupTimer != null) {
+            lookupTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+        return suggestions;
+    }
+    
+    /**
+     * 전체 다시 읽기 (인기도 갱신)
+     */
+    @Scheduled(initialDelayString = "${suggest.refresh-interval:600000}", fixedDelayString = "${suggest.refresh-interval:600000}")
+    public synchronized void refresh() {
+        if (!suggestProperties.isEnabled()) {
+            return;
+        }
+        try {
+            Map<Long, SuggestTrie.Entry> loadedProducts = productRepository.findSuggestViews().stream()
+                    .collect(Collectors.toMap(ProductRepository.SuggestView::getId, ProductSuggestIndex::productEntry));
+            Map<Long, SuggestTrie.Entry> loadedCategories = categoryRepository.findSuggestViews().stream()
+                    .collect(Collectors.toMap(CategoryRepository.SuggestView::getId, ProductSuggestIndex::categoryEntry));
+            products.keySet().retainAll(loadedProducts.keySet());
+            products.putAll(loadedProducts);
+            categories.keySet().retainAll(loadedCategories.keySet());
+            categories.putAll(loadedCategories);
+        } catch (RuntimeException e) {
+            log.warn("자동완성 항목 적재 실패 (기존 항목 유지): {}", e.getMessage());
+            return;
+        }
+        rebuild();
+        ready = true;
+        log.info("자동완성 적재 완료: 상품 {}개, 카테고리 {}개", products.size(), categories.size());
+    }
+    
+    /**
+     * 변경 이벤트가 있었으면 trie 재생성 (잦은 수정도 주기당 한 번만 만든다)
+     */
+    @Scheduled(fixedDelayString = "${suggest.rebuild-interval:1000}")
+    public void rebuildIfDirty() {
+        if (ready && dirty) {
+            rebuild();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isStockOnly() || !suggestProperties.isEnabled()) {
+            return;
+        }
+        // 비활성/삭제된 상품은 조회되지 않으므로 목록에서 뺀다
+        Set<Long> missing = new HashSet<>(event.getProductIds());
+        for (ProductRepository.SuggestView view : productRepository.findSuggestViewsByIdIn(event.getProductIds())) {
+            missing.remove(view.getId());
+            products.put(view.getId(), productEntry(view));
+        }
+        products.keySet().removeAll(missing);
+        dirty = true;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (!suggestProperties.isEnabled()) {
+            return;
+        }
+        categoryRepository.findSuggestViewById(event.getCategoryId()).ifPresentOrElse(
+                view -> categories.put(view.getId(), categoryEntry(view)),
+                () -> categories.remove(event.getCategoryId()));
+        dirty = true;
+    }
+    
+    private synchronized void rebuild() {
+        dirty = false;
+        List<SuggestTrie.Entry> entries = new ArrayList<>(products.size() + categories.size());
+        entries.addAll(categories.values());
+        entries.addAll(products.values());
+        trie = SuggestTrie.build(entries);
+    }
+    
+    private static SuggestTrie.Entry productEntry(ProductRepository.SuggestView view) {
+        return new SuggestTrie.Entry(SuggestTrie.Type.PRODUCT, view.getId(), view.getName(), view.getScore());
+    }
+    
+    private static SuggestTrie.Entry categoryEntry(CategoryRepository.SuggestView view) {
+        return new SuggestTrie.Entry(SuggestTrie.Type.CATEGORY, view.getId(), view.getName(), view.getScore());
+    }
+}
@@ -1,30 +1,41 @@
 package com.example.shop.service;
 
 import com.example.shop.dto.ReviewDto;
+import com.example.shop.dto.SlicePage;
 import com.example.shop.entity.Product;
 import com.example.shop.entity.Review;
 import com.example.shop.entity.User;
+import com.example.shop.event.ProductChangedEvent;
 import com.example.shop.repository.ProductRepository;
 import com.example.shop.repository.ReviewRepository;
 import com.example.shop.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional(readOnly = true)
 public class ReviewService {
     
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
+    private final ApproximateCountCache approximateCountCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * 리뷰 작성
@@ -58,6 +69,7 @@ public class ReviewService {
                 .build();
         
         Review savedReview = reviewRepository.save(review);
+        refreshReviewStats(product.getId());
         return convertToDto(savedReview);
     }
     
@@ -88,6 +100,9 @@ public class ReviewService {
         }
         
         Review updatedReview = reviewRepository.save(review);
+        if (request.getRating() != null) {
+            refreshReviewStats(review.getProduct().getId());
+        }
         return convertToDto(updatedReview);
     }
     
@@ -105,29 +120,39 @@ public class ReviewService {
         }
         
         reviewRepository.delete(review);
+        refreshReviewStats(review.getProduct().getId());
+    }
+    
+    /**
+     * 시작 시 상품 리뷰 집계 컬럼 보정 (집계 컬럼이 생기기 전에 작성된 리뷰 반영)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillReviewStats() {
+        int updated = productRepository.backfillReviewStats();
+        if (updated > 0) {
+            log.info("상품 리뷰 집계 보정: {}건", updated);
+        }
     }
     
     /**
      * 상품별 리뷰 조회 (페이징)
      */
     public ReviewDto.ListResponse getProductReviews(Long productId, Pageable pageable) {
-        Page<Review> reviewPage = reviewRepository.findByProductIdOrderByCreatedAtDesc(productId, pageable);
-        
-        List<ReviewDto.Response> reviews = reviewPage.getContent().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        
-        double averageRating = calculateAverageRating(productId);
+        return getProductReviews(productId, pageable, SlicePage.CountMode.EXACT);
+    }
+    
+    /**
+     * 상품별 리뷰 조회 (count 방식 지정: exact 가 아니면 COUNT 쿼리 없이 다음 페이지 여부만)
+     */
+    public ReviewDto.ListResponse getProductReviews(Long productId, Pageable pageable, SlicePage.CountMode countMode) {
+        Slice<Review> reviews = countMode.isExact()
+                ? reviewRepository.findByProductIdOrderByCreatedAtDesc(productId, pageable)
+                : reviewRepository.findSliceByProductIdOrderByCreatedAtDesc(productId, pageable);
         
-        return ReviewDto.ListResponse.builder()
-                .reviews(reviews)
-                .totalPages(reviewPage.getTotalPages())
-                .totalElements(reviewPage.getTotalElements())
-                .currentPage(reviewPage.getNumber())
-                .size(reviewPage.getSize())
-                .hasNext(reviewPage.hasNext())
-                .hasPrevious(reviewPage.hasPrevious())
-                .averageRating(averageRating)
+        return toListResponse(reviews, countMode, "reviews:product:" + productId,
+                () -> reviewRepository.countByProductId(productId))
+                .averageRating(calculateAverageRating(productId))
                 .build();
     }
     
@@ -135,24 +160,42 @@ public class ReviewService {
      * 사용자별 리뷰 조회 (페이징)
      */
     public ReviewDto.ListResponse getUserReviews(Long userId, Pageable pageable) {
-        Page<Review> reviewPage = reviewRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
-        
-        List<ReviewDto.Response> reviews = reviewPage.getContent().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        
-        return ReviewDto.ListResponse.builder()
-                .reviews(reviews)
-                .totalPages(reviewPage.getTotalPages())
-                .totalElements(reviewPage.getTotalElements())
-                .currentPage(reviewPage.getNumber())
-                .size(reviewPage.getSize())
-                .hasNext(reviewPage.hasNext())
-                .hasPrevious(reviewPage.hasPrevious())
+        return getUserReviews(userId, pageable, SlicePage.CountMode.EXACT);
+    }
+    
+    /**
+     * 사용자별 리뷰 조회 (count 방식 지정)
+     */
+    public ReviewDto.ListResponse getUserReviews(Long userId, Pageable pageable, SlicePage.CountMode countMode) {
+        Slice<Review> reviews = countMode.isExact()
+                ? reviewRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable)
+                : reviewRepository.findSliceByUserIdOrderByCreatedAtDesc(userId, pageable);
+        
+        return toListResponse(reviews, countMode, "reviews:user:" + userId,
+                () -> reviewRepository.countByUserId(userId))
                 .averageRating(0.0) // 사용자별 조회에서는 평균 평점이 의미가 없음
                 .build();
     }
     
+    // exact 면 Page 의 전체 건수를, approx 면 캐시된 근사 건수를 채운다
+    private ReviewDto.ListResponse.ListResponseBuilder toListResponse(Slice<Review> reviews, SlicePage.CountMode countMode,
+                                                                      String countKey, LongSupplier counter) {
+        ReviewDto.ListResponse.ListResponseBuilder builder = ReviewDto.ListResponse.builder()
+                .reviews(reviews.getContent().stream()
+                        .map(this::convertToDto)
+                        .collect(Collectors.toList()))
+                .currentPage(reviews.getNumber())
+                .size(reviews.getSize())
+                .hasNext(reviews.hasNext())
+                .hasPrevious(reviews.hasPrevious());
+        if (reviews instanceof Page<Review> page) {
+            builder.totalPages(page.getTotalPages()).totalElements(page.getTotalElements());
+        } else if (countMode.withApproximateTotal()) {
+            builder.approximateTotal(approximateCountCache.get(countKey, counter));
+        }
+        return builder;
+    }
+    
     /**
      * 특정 리뷰 조회
      */
@@ -209,6 +252,15 @@ public class ReviewService {
         return reviewRepository.existsByUserIdAndProductId(userId, productId);
     }
     
+    /**
+     * 상품 리뷰 집계 컬럼 갱신
+     * 인기순/평점순 목록과 상품 상세 응답이 이 컬럼을 쓰므로 상품 변경으로 알려 캐시를 무효화한다 (커밋 후 처리).
+     */
+    private void refreshReviewStats(Long productId) {
+        productRepository.refreshReviewStats(productId);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(productId)));
+    }
+    
     /**
      * Review Entity를 DTO로 변환
      */
@@ -0,0 +1,234 @@
+package com.example.shop.service;
+
+import com.example.shop.event.ProductChangedEvent;
+import com.example.shop.exception.InsufficientStockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 예약 엔진
+ * 읽고-검사하고-저장하는 방식 대신 조건부 UPDATE 한 문장으로 차감하므로
+ * 동시 주문에서도 재고가 음수가 되거나 갱신이 유실되지 않는다.
+ * inventory.mode=ledger 이면 DB 대신 인메모리 재고 원장(InventoryLedger)을 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationService {
+    
+    private static final String DECREASE_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity - ? WHERE id = ? AND stock_quantity >= ?";
+    
+    private static final String INCREASE_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity + ? WHERE id = ?";
+    
+    private static final String STOCK_LOOKUP_SQL =
+            "SELECT id, name, stock_quantity FROM products WHERE id IN (:ids)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final Optional<InventoryLedger> inventoryLedger;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * 주문 라인 전체의 재고를 한 번의 배치로 차감
+     * 부족한 라인이 하나라도 있으면 InsufficientStockException 을 던져 호출 트랜잭션 전체를 롤백시킨다.
+     *
+     * @param quantities 상품 ID → 차감 수량
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> lines = normalize(quantities);
+        if (lines.isEmpty()) {
+            return;
+        }
+        
+        if (inventoryLedger.isPresent()) {
+            reserveInLedger(inventoryLedger.get(), lines);
+            publishStockChanged(lines);
+            return;
+        }
+        
+        int[] counts = jdbcTemplate.batchUpdate(DECREASE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> line = lines.get(i);
+                ps.setInt(1, line.getValue());
+                ps.setLong(2, line.getKey());
+                ps.setInt(3, line.getValue());
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return lines.size();
+            }
+        });
+        
+        Map<Long, Integer> shortLines = new TreeMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                // 라인별 갱신 건수를 알 수 없으면 초과 판매 여부를 판단할 수 없다
+                throw new IllegalStateException("JDBC 드라이버가 배치 갱신 건수를 반환하지 않습니다.");
+            }
+            if (counts[i] == 0) {
+                shortLines.put(lines.get(i).getKey(), lines.get(i).getValue());
+            }
+        }
+        
+        if (!shortLines.isEmpty()) {
+            log.info("재고 예약 실패: 부족 라인 = {}", shortLines);
+            throw new InsufficientStockException(describeShortages(shortLines, Map.of()));
+        }
+        publishStockChanged(lines);
+        
+        log.debug("재고 예약 완료: {}개 라인", lines.size());
+    }
+    
+    /**
+     * 재고 복구/입고 (주문 취소, 관리자 입고)
+     *
+     * @param quantities 상품 ID → 증가 수량
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> lines = normalize(quantities);
+        if (lines.isEmpty()) {
+            return;
+        }
+        
+        if (inventoryLedger.isPresent()) {
+            inventoryLedger.get().release(toMap(lines));
+            publishStockChanged(lines);
+            return;
+        }
+        
+        int[] counts = jdbcTemplate.batchUpdate(INCREASE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> line = lines.get(i);
+                ps.setInt(1, line.getValue());
+                ps.setLong(2, line.getKey());
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return lines.size();
+            }
+        });
+        
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                throw new IllegalArgumentException("존재하지 않는 상품입니다: " + lines.get(i).getKey());
+            }
+        }
+        publishStockChanged(lines);
+    }
+    
+    /**
+     * 재고 원장 모드에서 아직 DB에 반영되지 않은 최신 재고 (DB 모드에서는 항상 empty)
+     */
+    public OptionalLong currentStock(Long productId) {
+        return inventoryLedger.map(ledger -> ledger.current(productId)).orElse(OptionalLong.empty());
+    }
+    
+    /**
+     * 관리자가 재고를 직접 지정한 경우 원장에도 반영 (DB 모드에서는 엔티티 저장으로 충분)
+     */
+    public void overwriteStock(Long productId, int quantity) {
+        inventoryLedger.ifPresent(ledger -> ledger.set(productId, quantity));
+    }
+    
+    public boolean isLedgerMode() {
+        return inventoryLedger.isPresent();
+    }
+    
+    /**
+     * 재고 변경을 상품 캐시·facet 색인에 알림 (커밋 후 처리)
+     * 원장 모드에서도 보낸다. 원장의 커밋 반영은 이 이벤트보다 먼저 등록되므로 리스너는 반영된 원장 재고를 본다.
+     */
+    private void publishStockChanged(List<Map.Entry<Long, Integer>> lines) {
+        eventPublisher.publishEvent(ProductChangedEvent.stock(
+                lines.stream().map(Map.Entry::getKey).collect(Collectors.toList())));
+    }
+    
+    private void reserveInLedger(InventoryLedger ledger, List<Map.Entry<Long, Integer>> lines) {
+        Map<Long, Integer> requested = toMap(lines);
+        Map<Long, Long> shortages = ledger.tryReserve(requested);
+        if (shortages.isEmpty()) {
+            return;
+        }
+        
+        Map<Long, Integer> shortLines = new TreeMap<>();
+        Map<Long, Integer> available = new HashMap<>();
+        shortages.forEach((productId, stock) -> {
+            shortLines.put(productId, requested.get(productId));
+            if (stock != InventoryLedger.MISSING) {
+                available.put(productId, stock.intValue());
+            }
+        });
+        log.info("재고 예약 실패 (원장): 부족 라인 = {}", shortLines);
+        throw new InsufficientStockException(describeShortages(shortLines, available));
+    }
+    
+    private Map<Long, Integer> toMap(List<Map.Entry<Long, Integer>> lines) {
+        Map<Long, Integer> map = new TreeMap<>();
+        lines.forEach(line -> map.put(line.getKey(), line.getValue()));
+        return map;
+    }
+    
+    /**
+     * 같은 상품의 라인을 합치고 상품 ID 순으로 정렬
+     * (항상 같은 순서로 행 잠금을 잡아 동시 주문 간 교착을 피한다)
+     */
+    private List<Map.Entry<Long, Integer>> normalize(Map<Long, Integer> quantities) {
+        Map<Long, Integer> merged = new TreeMap<>();
+        quantities.forEach((productId, quantity) -> {
+            if (productId == null) {
+                throw new IllegalArgumentException("상품 ID는 필수입니다.");
+            }
+            if (quantity == null || quantity <= 0) {
+                throw new IllegalArgumentException("주문 수량은 1 이상이어야 합니다: 상품 ID " + productId);
+            }
+            merged.merge(productId, quantity, Integer::sum);
+        });
+        return new ArrayList<>(merged.entrySet());
+    }
+    
+    /**
+     * 부족 라인에 상품명과 현재 재고를 붙인다 (available 에 없으면 DB 재고 사용)
+     */
+    private List<InsufficientStockException.Shortage> describeShortages(
+            Map<Long, Integer> shortLines, Map<Long, Integer> available) {
+        Map<Long, InsufficientStockException.Shortage> found = new HashMap<>();
+        namedParameterJdbcTemplate.query(STOCK_LOOKUP_SQL, Map.of("ids", shortLines.keySet()), rs -> {
+            long productId = rs.getLong("id");
+            int stock = available.getOrDefault(productId, rs.getInt("stock_quantity"));
+            found.put(productId, new InsufficientStockException.Shortage(
+                    productId, rs.getString("name"), shortLines.get(productId), stock));
+        });
+        
+        List<InsufficientStockException.Shortage> shortages = new ArrayList<>();
+        shortLines.forEach((productId, requested) -> shortages.add(found.getOrDefault(productId,
+                new InsufficientStockException.Shortage(productId, null, requested, 0))));
+        return shortages;
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.shop.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 자동완성용 읽기 전용 prefix trie
+ * 각 항목 텍스트의 단어 시작 위치마다 접미사 키를 만들어 정렬해 두면 trie 의 한 노드(접두사)는
+ * 정렬된 키의 연속 구간이 되므로, 노드를 따로 만들지 않고 (항목 번호, 시작 위치) 두 정수로 키를 표현한다.
+ * 구간이 작은 노드는 조회 시 구간을 훑어 상위 k개를 고르고, 큰 노드만 상위 k개를 미리 계산해 둔다.
+ * 변경은 새 인스턴스를 만들어 교체하는 방식이므로 조회는 잠금 없이 여러 스레드에서 할 수 있다.
+ */
+final class SuggestTrie {
+    
+    static final int MAX_RESULTS = 10;
+    private static final int SCAN_LIMIT = 64;          // 이보다 큰 구간만 상위 k개를 미리 계산
+    private static final int MAX_WORDS_PER_ENTRY = 8;  // 항목당 접미사 키 수 상한
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
+    static final SuggestTrie EMPTY = build(List.of());
+    
+    private final Entry[] entries;
+    private final String[] texts;      // 정규화된 항목 텍스트
+    private final int[] keyEntry;      // 정렬된 키 i 의 항목 번호
+    private final int[] keyOffset;     // 정렬된 키 i 의 시작 위치
+    private final Map<String, int[]> heavyTop;
+    
+    private SuggestTrie(Entry[] entries, String[] texts, int[] keyEntry, int[] keyOffset) {
+        this.entries = entries;
+        this.texts = texts;
+        this.keyEntry = keyEntry;
+        this.keyOffset = keyOffset;
+        this.heavyTop = new HashMap<>();
+        precomputeHeavyNodes();
+    }
+    
+    static SuggestTrie build(Collection<Entry> source) {
+        Entry[] entries = source.toArray(new Entry[0]);
+        String[] texts = new String[entries.length];
+        List<long[]> keys = new ArrayList<>();
+        for (int e = 0; e < entries.length; e++) {
+            texts[e] = normalize(entries[e].getText());
+            String text = texts[e];
+            int words = 0;
+            for (int i = 0; i < text.length() && words < MAX_WORDS_PER_ENTRY; i++) {
+                if (i == 0 || text.charAt(i - 1) == ' ') {
+                    keys.add(new long[]{e, i});
+                    words++;
+                }
+            }
+        }
+        
+        keys.sort((a, b) -> compareSuffix(texts[(int) a[0]], (int) a[1], texts[(int) b[0]], (int) b[1]));
+        int[] keyEntry = new int[keys.size()];
+        int[] keyOffset = new int[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            keyEntry[i] = (int) keys.get(i)[0];
+            keyOffset[i] = (int) keys.get(i)[1];
+        }
+        return new SuggestTrie(entries, texts, keyEntry, keyOffset);
+    }
+    
+    /**
+     * 접두사로 시작하는 단어를 가진 항목을 점수순으로 최대 limit 개 (같은 항목은 한 번만)
+     */
+    List<Entry> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        int max = Math.min(limit, MAX_RESULTS);
+        if (normalized.isEmpty() || max <= 0) {
+            return List.of();
+        }
+        int lo = lowerBound(normalized);
+        int hi = lowerBound(normalized + Character.MAX_VALUE);
+        
+        int[] top = hi - lo > SCAN_LIMIT ? heavyTop.get(normalized) : collectTop(lo, hi);
+        List<Entry> result = new ArrayList<>(Math.min(max, top.length));
+        for (int i = 0; i < top.length && i < max; i++) {
+            result.add(entries[top[i]]);
+        }
+        return result;
+    }
+    
+    int size() {
+        return entries.length;
+    }
+    
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+    
+    /**
+     * 길이 L 접두사를 공유하는 연속 구간 중 SCAN_LIMIT 보다 큰 것만 상위 k개를 미리 계산 (더 큰 구간이 없을 때까지 L 증가)
+     */
+    private void precomputeHeavyNodes() {
+        boolean found = true;
+        for (int length = 1; found; length++) {
+            found = false;
+            int i = 0;
+            while (i < keyEntry.length) {
+                if (keyLength(i) < length) {
+                    i++;
+                    continue;
+                }
+                int j = i + 1;
+                while (j < keyEntry.length && keyLength(j) >= length && sharesPrefix(i, j, length)) {
+                    j++;
+                }
+                if (j - i > SCAN_LIMIT) {
+                    String prefix = texts[keyEntry[i]].substring(keyOffset[i], keyOffset[i] + length);
+                    heavyTop.put(prefix, collectTop(i, j));
+                    found = true;
+                }
+                i = j;
+            }
+        }
+    }
+    
+    // 구간 [lo, hi) 에서 점수 상위 MAX_RESULTS 개 항목 (중복 제거, 점수 내림차순)
+    private int[] collectTop(int lo, int hi) {
+        int[] top = new int[MAX_RESULTS];
+        int size = 0;
+        for (int k = lo; k < hi; k++) {
+            int entry = keyEntry[k];
+            if (contains(top, size, entry)) {
+                continue;
+            }
+            if (size == MAX_RESULTS && !ranksBefore(entry, top[size - 1])) {
+                continue;
+            }
+            int position = size == MAX_RESULTS ? size - 1 : size++;
+            while (position > 0 && ranksBefore(entry, top[position - 1])) {
+                top[position] = top[position - 1];
+                position--;
+            }
+            top[position] = entry;
+        }
+        return Arrays.copyOf(top, size);
+    }
+    
+    // 점수가 높을수록, 같으면 텍스트가 짧을수록 앞
+    private boolean ranksBefore(int a, int b) {
+        if (entries[a].getScore() != entries[b].getScore()) {
+            return entries[a].getScore() > entries[b].getScore();
+        }
+        if (texts[a].length() != texts[b].length()) {
+            return texts[a].length() < texts[b].length();
+        }
+        return a < b;
+    }
+    
+    private static boolean contains(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private int lowerBound(String prefix) {
+        int lo = 0;
+        int hi = keyEntry.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compareSuffix(texts[keyEntry[mid]], keyOffset[mid], prefix, 0) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+    
+    private int keyLength(int key) {
+        return texts[keyEntry[key]].length() - keyOffset[key];
+    }
+    
+    private boolean sharesPrefix(int a, int b, int length) {
+        return texts[keyEntry[a]].regionMatches(keyOffset[a], texts[keyEntry[b]], keyOffset[b], length);
+    }
+    
+    private static int compareSuffix(String a, int offsetA, String b, int offsetB) {
+        int lengthA = a.length() - offsetA;
+        int lengthB = b.length() - offsetB;
+        int length = Math.min(lengthA, lengthB);
+        for (int i = 0; i < length; i++) {
+            char ca = a.charAt(offsetA + i);
+            char cb = b.charAt(offsetB + i);
+            if (ca != cb) {
+                return ca - cb;
+            }
+        }
+        return lengthA - lengthB;
+    }
+    
+    /**
+     * 자동완성 항목 (상품명 또는 카테고리명)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static final class Entry {
+        private final Type type;
+        private final long id;
+        private final String text;
+        private final long score;
+    }
+    
+    enum Type {
+        PRODUCT, CATEGORY
+    }
+}
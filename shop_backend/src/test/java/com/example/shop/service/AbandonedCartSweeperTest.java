@@ -0,0 +1,148 @@
+package com.example.shop.service;
+
+import com.example.shop.config.CartSweepProperties;
+import com.example.shop.entity.Cart;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.entity.User;
+import com.example.shop.repository.CartRepository;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.shop.service.CartTestFixtures.category;
+import static com.example.shop.service.CartTestFixtures.product;
+import static com.example.shop.service.CartTestFixtures.request;
+import static com.example.shop.service.CartTestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AbandonedCartSweeperTest {
+    
+    @Autowired
+    private AbandonedCartSweeper sweeper;
+    
+    @Autowired
+    private CartSweepProperties properties;
+    
+    @Autowired
+    private CartService cartService;
+    
+    @Autowired
+    private CartRepository cartRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Test
+    void movesOnlyStaleRowsInChunksAndKeepsRecentOnes() {
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = categoryRepository.save(category("정리-" + suffix));
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(productRepository.save(product("정리 상품 " + i, "1000", 100, category)));
+        }
+        
+        // 오래된 사용자 5명 × 5개 (25행) + 최근 사용자 1명 × 5개
+        List<User> abandoned = new ArrayList<>();
+        for (int u = 0; u < 5; u++) {
+            User user = userRepository.save(user("cart-sweep-old", "장바구니정리"));
+            products.forEach(product -> cartService.addToCart(user.getId(), request(product.getId(), 1)));
+            abandoned.add(user);
+        }
+        User active = userRepository.save(user("cart-sweep-active", "장바구니정리"));
+        products.forEach(product -> cartService.addToCart(active.getId(), request(product.getId(), 1)));
+        
+        LocalDateTime now = LocalDateTime.now();
+        for (int u = 0; u < abandoned.size(); u++) {
+            jdbcTemplate.update("UPDATE carts SET updated_at = ? WHERE user_id = ?",
+                    Timestamp.valueOf(now.minusDays(60).plusMinutes(u)), abandoned.get(u).getId());
+        }
+        
+        double archivedBefore = meterRegistry.counter("cart.sweep.archived").count();
+        int chunkSize = properties.getChunkSize();
+        Duration chunkPause = properties.getChunkPause();
+        properties.setChunkSize(7);    // 25행을 4개 청크로
+        properties.setChunkPause(Duration.ZERO);
+        AbandonedCartSweeper.Result result;
+        try {
+            result = sweeper.sweepBefore(now.minusDays(30));
+        } finally {
+            properties.setChunkSize(chunkSize);
+            properties.setChunkPause(chunkPause);
+        }
+        
+        assertThat(result.getScanned()).isEqualTo(25);
+        assertThat(result.getArchived()).isEqualTo(25);
+        assertThat(meterRegistry.counter("cart.sweep.archived").count() - archivedBefore).isEqualTo(25);
+        for (User user : abandoned) {
+            assertThat(cartRepository.findByUserId(user.getId())).isEmpty();
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM cart_archive WHERE user_id = ?", Integer.class, user.getId()))
+                    .isEqualTo(5);
+        }
+        assertThat(cartRepository.findByUserId(active.getId()))
+                .hasSize(5)
+                .extracting(Cart::getQuantity)
+                .containsOnly(1);
+        
+        // 다시 돌려도 옮길 것이 없다
+        AbandonedCartSweeper.Result again = sweeper.sweepBefore(now.minusDays(30));
+        assertThat(again.getScanned()).isZero();
+    }
+    
+    @Test
+    void respectsMaxRowsPerRun() {
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = categoryRepository.save(category("정리상한-" + suffix));
+        User user = userRepository.save(user("cart-sweep-limit", "장바구니정리"));
+        for (int i = 0; i < 6; i++) {
+            Product product = productRepository.save(product("정리 상한 상품 " + i, "500", 10, category));
+            cartService.addToCart(user.getId(), request(product.getId(), 1));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("UPDATE carts SET updated_at = ? WHERE user_id = ?",
+                Timestamp.valueOf(now.minusDays(400)), user.getId());
+        
+        int maxRows = properties.getMaxRowsPerRun();
+        Duration chunkPause = properties.getChunkPause();
+        properties.setMaxRowsPerRun(4);
+        properties.setChunkPause(Duration.ZERO);
+        try {
+            // 이 사용자의 행만 400일 전이므로 cutoff 를 그 근처로 잡는다
+            LocalDateTime cutoff = now.minusDays(399);
+            assertThat(sweeper.sweepBefore(cutoff).getArchived()).isEqualTo(4);
+            assertThat(cartRepository.findByUserId(user.getId())).hasSize(2);
+            assertThat(sweeper.sweepBefore(cutoff).getArchived()).isEqualTo(2);
+            assertThat(cartRepository.findByUserId(user.getId())).isEmpty();
+        } finally {
+            properties.setMaxRowsPerRun(maxRows);
+            properties.setChunkPause(chunkPause);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.CheckoutDto;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.CheckoutRequest;
+import com.example.shop.entity.Product;
+import com.example.shop.entity.User;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.CheckoutRequestRepository;
+import com.example.shop.repository.OrderRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.SynchronousQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class AsyncCheckoutTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private AsyncCheckoutService asyncCheckoutService;
+    
+    @Autowired
+    private CheckoutRequestRepository checkoutRequestRepository;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private User user;
+    private Product product;
+    private String key;
+    
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        user = userRepository.save(User.builder()
+                .email("checkout-" + suffix + "@example.com")
+                .password("password")
+                .name("비동기주문")
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("비동기-" + suffix).build());
+        product = productRepository.save(Product.builder()
+                .name("비동기 주문 상품")
+                .price(new BigDecimal("1000"))
+                .stockQuantity(10)
+                .category(category)
+                .build());
+        key = "checkout-" + suffix;
+    }
+    
+    @Test
+    void acceptsWithLocationThenReturnsSameResultForDuplicateKey() throws Exception {
+        String location = CheckoutDto.Status.statusUrl(user.getId(), key);
+        submit(key)
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", location))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.statusUrl").value(location));
+        
+        CheckoutDto.Status completed = awaitCompletion();
+        assertThat(completed.getStatus()).isEqualTo(CheckoutRequest.CheckoutStatus.COMPLETED);
+        
+        // 같은 키로 다시 보내면 재실행 없이 기존 결과를 200으로
+        submit(key)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value(completed.getOrderId()));
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderNumber").value(completed.getOrderNumber()));
+        
+        assertThat(orderRepository.findById(completed.getOrderId())).isPresent();
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isEqualTo(8);
+    }
+    
+    @Test
+    void statusAndKeysAreScopedToTheirUser() throws Exception {
+        submit(key).andExpect(status().isAccepted());
+        Long otherUserId = user.getId() + 1_000_000;
+        
+        mockMvc.perform(get(CheckoutDto.Status.statusUrl(otherUserId, key)))
+                .andExpect(status().isBadRequest());
+        assertThatThrownBy(() -> asyncCheckoutService.getStatus(otherUserId, key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("찾을 수 없습니다");
+        assertThatThrownBy(() -> asyncCheckoutService.submit(otherUserId, CheckoutRequest.CheckoutType.DIRECT,
+                key, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("다른 사용자");
+        awaitCompletion();
+    }
+    
+    @Test
+    void fullQueueAnswers503AndFreesTheKey() throws Exception {
+        // 받을 작업 스레드가 없는 대기열로 바꿔 offer 가 항상 실패하게 한다
+        Object queue = ReflectionTestUtils.getField(asyncCheckoutService, "queue");
+        ReflectionTestUtils.setField(asyncCheckoutService, "queue", new SynchronousQueue<>());
+        try {
+            submit(key)
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.message", containsString("Idempotency-Key")));
+        } finally {
+            ReflectionTestUtils.setField(asyncCheckoutService, "queue", queue);
+        }
+        assertThat(checkoutRequestRepository.findByIdempotencyKey(key)).isEmpty();
+        
+        submit(key).andExpect(status().isAccepted());
+        awaitCompletion();
+    }
+    
+    @Test
+    void onlyOneProcessorCanClaimAPendingRequest() {
+        CheckoutRequest request = checkoutRequestRepository.save(CheckoutRequest.builder()
+                .idempotencyKey(key)
+                .userId(user.getId())
+                .type(CheckoutRequest.CheckoutType.DIRECT)
+                .payload("{}")
+                .build());
+        
+        Integer first = transactionTemplate.execute(status -> {
+            int claimed = checkoutRequestRepository.claimPending(request.getId(), LocalDateTime.now());
+            checkoutRequestRepository.findById(request.getId()).orElseThrow()
+                    .setStatus(CheckoutRequest.CheckoutStatus.COMPLETED);
+            return claimed;
+        });
+        Integer second = transactionTemplate.execute(status ->
+                checkoutRequestRepository.claimPending(request.getId(), LocalDateTime.now()));
+        
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+    }
+    
+    private ResultActions submit(String idempotencyKey) throws Exception {
+        String body = "{\"shippingAddress\":\"서울\",\"orderItems\":[{\"productId\":" + product.getId() + ",\"quantity\":2}]}";
+        return mockMvc.perform(post("/api/orders/users/{userId}/direct", user.getId())
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+    
+    private CheckoutDto.Status awaitCompletion() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        CheckoutDto.Status status = asyncCheckoutService.getStatus(user.getId(), key);
+        while (status.getStatus() == CheckoutRequest.CheckoutStatus.PENDING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            status = asyncCheckoutService.getStatus(user.getId(), key);
+        }
+        return status;
+    }
+}
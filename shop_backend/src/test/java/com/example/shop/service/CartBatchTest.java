@@ -0,0 +1,187 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.CartDto;
+import com.example.shop.entity.Cart;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.entity.User;
+import com.example.shop.repository.CartRepository;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.example.shop.service.CartTestFixtures.category;
+import static com.example.shop.service.CartTestFixtures.product;
+import static com.example.shop.service.CartTestFixtures.request;
+import static com.example.shop.service.CartTestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CartBatchTest {
+    
+    @Autowired
+    private CartService cartService;
+    
+    @Autowired
+    private CartRepository cartRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    private Statistics statistics;
+    private User user;
+    private Product first;
+    private Product second;
+    private Product third;
+    private Long firstItem;
+    private Long secondItem;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String suffix = String.valueOf(System.nanoTime());
+        user = userRepository.save(user("cart-batch", "일괄변경"));
+        Category category = categoryRepository.save(category("일괄-" + suffix));
+        first = productRepository.save(product("일괄 상품 1", "1000", 10, category));
+        second = productRepository.save(product("일괄 상품 2", "2000", 10, category));
+        third = productRepository.save(product("일괄 상품 3", "3000", 4, category));
+        firstItem = cartService.addToCart(user.getId(), request(first.getId(), 2)).getId();
+        secondItem = cartService.addToCart(user.getId(), request(second.getId(), 1)).getId();
+    }
+    
+    @Test
+    void appliesAllOperationsWithTwoReads() {
+        CartDto.BatchRequest batch = batch(
+                operation(CartDto.OperationType.UPDATE, firstItem, null, 5),
+                operation(CartDto.OperationType.REMOVE, secondItem, null, null),
+                operation(CartDto.OperationType.ADD, null, third.getId(), 3),
+                operation(CartDto.OperationType.ADD, null, first.getId(), 1));
+        
+        statistics.clear();
+        List<CartDto.Response> cart = cartService.applyBatch(user.getId(), batch);
+        
+        // 장바구니 행 한 번 + 상품 projection 한 번 (쓰기는 JDBC 배치)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(2);    // 장바구니 행만, 사용자/상품은 읽지 않음
+        
+        assertThat(cart).extracting(response -> response.getProduct().getId(), CartDto.Response::getQuantity)
+                .containsExactly(tuple(third.getId(), 3), tuple(first.getId(), 6));
+        assertThat(cart.get(0).getId()).isNotNull();
+        assertThat(cart.get(1).getId()).isEqualTo(firstItem);
+        assertThat(cart.get(0).getTotalPrice()).isEqualByComparingTo("9000");
+        assertThat(cart.get(0).getProduct().getCategoryName()).startsWith("일괄-");
+        
+        assertThat(cartRepository.findByUserId(user.getId()))
+                .extracting(Cart::getId, Cart::getQuantity)
+                .containsExactlyInAnyOrder(tuple(firstItem, 6), tuple(cart.get(0).getId(), 3));
+    }
+    
+    @Test
+    void reportsAllShortagesTogetherAndAppliesNothing() {
+        CartDto.BatchRequest batch = batch(
+                operation(CartDto.OperationType.REMOVE, secondItem, null, null),
+                operation(CartDto.OperationType.UPDATE, firstItem, null, 11),
+                operation(CartDto.OperationType.ADD, null, third.getId(), 5));
+        
+        assertThatThrownBy(() -> cartService.applyBatch(user.getId(), batch))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("재고가 부족합니다")
+                .hasMessageContaining(first.getId() + "(현재 재고: 10")
+                .hasMessageContaining(third.getId() + "(현재 재고: 4");
+        
+        assertThat(cartRepository.findByUserId(user.getId()))
+                .extracting(Cart::getId, Cart::getQuantity)
+                .containsExactlyInAnyOrder(tuple(firstItem, 2), tuple(secondItem, 1));
+    }
+    
+    @Test
+    void rejectsItemsOfOtherUsersAndRemovedItems() {
+        User other = userRepository.save(user("cart-batch-other", "다른사용자"));
+        
+        assertThatThrownBy(() -> cartService.applyBatch(other.getId(),
+                batch(operation(CartDto.OperationType.REMOVE, firstItem, null, null))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("존재하지 않는 장바구니 항목");
+        assertThatThrownBy(() -> cartService.applyBatch(user.getId(), batch(
+                operation(CartDto.OperationType.REMOVE, firstItem, null, null),
+                operation(CartDto.OperationType.UPDATE, firstItem, null, 3))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("존재하지 않는 장바구니 항목");
+        assertThatThrownBy(() -> cartService.applyBatch(-1L,
+                batch(operation(CartDto.OperationType.ADD, null, first.getId(), 1))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("존재하지 않는 사용자");
+        
+        assertThat(cartRepository.findByUserId(user.getId())).hasSize(2);
+    }
+    
+    @Test
+    void locksReadRowsUntilCommitSoConcurrentAddsAreNotLost() throws Exception {
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            // 두 번째 항목만 바꾸는 일괄 변경이어도 읽은 행 전체가 커밋까지 잠긴다
+            Future<CartDto.Response> add = transactionTemplate.execute(status -> {
+                cartService.applyBatch(user.getId(), batch(operation(CartDto.OperationType.UPDATE, secondItem, null, 4)));
+                Future<CartDto.Response> pending = other.submit(() ->
+                        cartService.addToCart(user.getId(), request(first.getId(), 1)));
+                assertThatThrownBy(() -> pending.get(300, TimeUnit.MILLISECONDS))
+                        .isInstanceOf(TimeoutException.class);
+                return pending;
+            });
+            add.get(10, TimeUnit.SECONDS);
+        } finally {
+            other.shutdown();
+        }
+        
+        assertThat(cartRepository.findByUserId(user.getId()))
+                .extracting(Cart::getId, Cart::getQuantity)
+                .containsExactlyInAnyOrder(tuple(firstItem, 3), tuple(secondItem, 4));
+    }
+    
+    private static CartDto.BatchRequest batch(CartDto.Operation... operations) {
+        return CartDto.BatchRequest.builder()
+                .operations(List.of(operations))
+                .build();
+    }
+    
+    private static CartDto.Operation operation(CartDto.OperationType type, Long cartId, Long productId,
+                                               Integer quantity) {
+        return CartDto.Operation.builder()
+                .type(type)
+                .cartId(cartId)
+                .productId(productId)
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.shop.service;
+
+import com.example.shop.config.CartProperties;
+import com.example.shop.dto.CartDto;
+import com.example.shop.dto.OrderDto;
+import com.example.shop.entity.Cart;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.entity.User;
+import com.example.shop.repository.CartRepository;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.shop.service.CartTestFixtures.category;
+import static com.example.shop.service.CartTestFixtures.product;
+import static com.example.shop.service.CartTestFixtures.request;
+import static com.example.shop.service.CartTestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "cart.store=memory",
+        "cart.flush-interval=3600000"    // 스케줄 반영이 끼어들지 않도록, 테스트에서 직접 호출
+})
+class CartStoreTest {
+    
+    @Autowired
+    private CartService cartService;
+    
+    @Autowired
+    private CartStore cartStore;
+    
+    @Autowired
+    private CartProperties cartProperties;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private CartRepository cartRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    private User user;
+    private Product first;
+    private Product second;
+    
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        user = userRepository.save(user("memory-cart", "인메모리장바구니"));
+        Category category = categoryRepository.save(category("인메모리-" + suffix));
+        first = productRepository.save(product("인메모리 상품 1", "5000", 100, category));
+        second = productRepository.save(product("인메모리 상품 2", "8000", 10, category));
+    }
+    
+    @Test
+    void mutationsAreCoalescedIntoOneWritePerUser() {
+        for (int i = 0; i < 20; i++) {
+            cartService.addToCart(user.getId(), request(first.getId(), 1));
+        }
+        CartDto.Response line = cartService.addToCart(user.getId(), request(second.getId(), 2));
+        cartService.updateCartItem(user.getId(), second.getId(), CartDto.UpdateRequest.builder().quantity(3).build());
+        
+        // 반영 전에는 DB 에 아무것도 없다
+        assertThat(line.getId()).isEqualTo(second.getId());
+        assertThat(cartRepository.findByUserId(user.getId())).isEmpty();
+        assertThat(cartService.getCartItemCount(user.getId())).isEqualTo(2);
+        assertThat(cartService.getCartItems(user.getId()))
+                .extracting(CartDto.Response::getQuantity)
+                .containsExactlyInAnyOrder(20, 3);
+        
+        cartStore.flush();
+        
+        assertThat(cartRepository.findByUserId(user.getId()))
+                .extracting(Cart::getQuantity)
+                .containsExactlyInAnyOrder(20, 3);
+        
+        cartService.removeFromCart(user.getId(), second.getId());
+        cartStore.flush();
+        assertThat(cartRepository.findByUserId(user.getId())).hasSize(1);
+    }
+    
+    @Test
+    void keepsDatabaseModeErrors() {
+        cartService.addToCart(user.getId(), request(second.getId(), 5));
+        
+        assertThatThrownBy(() -> cartService.addToCart(user.getId(), request(second.getId(), 6)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("재고가 부족합니다");
+        assertThatThrownBy(() -> cartService.addToCart(user.getId(), request(-1L, 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("존재하지 않는 상품");
+        assertThatThrownBy(() -> cartService.addToCart(-1L, request(first.getId(), 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("존재하지 않는 사용자");
+        assertThatThrownBy(() -> cartService.removeFromCart(user.getId(), first.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("존재하지 않는 장바구니 항목");
+        assertThat(cartService.isProductInCart(user.getId(), second.getId())).isTrue();
+        assertThat(cartService.getCartItems(user.getId()))
+                .singleElement()
+                .extracting(CartDto.Response::getQuantity)
+                .isEqualTo(5);
+    }
+    
+    @Test
+    void checkoutPersistsCartInsideOrderTransactionAndEmptiesIt() {
+        cartService.addToCart(user.getId(), request(first.getId(), 2));
+        cartService.addToCart(user.getId(), request(second.getId(), 1));
+        
+        OrderDto.Response order = orderService.createOrderFromCart(user.getId(),
+                OrderDto.Request.builder().shippingAddress("서울").build());
+        
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("18000");
+        assertThat(cartService.getCartItemCount(user.getId())).isZero();
+        assertThat(cartRepository.findByUserId(user.getId())).isEmpty();
+        
+        cartStore.flush();
+        assertThat(cartRepository.findByUserId(user.getId())).isEmpty();
+    }
+    
+    @Test
+    void openCheckoutBlocksOnlyItsShardAndKeepsItemsAddedMeanwhile() {
+        cartService.addToCart(user.getId(), request(first.getId(), 2));
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                CartStore.Checkout checkout = cartStore.persistForCheckout(user.getId());
+                cartService.addToCart(user.getId(), request(second.getId(), 1));
+                
+                // 주기 반영은 주문 중인 샤드를 기다리지 않고 건너뛴다 (기다리면 주문 트랜잭션의 행 잠금에 막힌다)
+                List<Cart> seenByFlush = await(other.submit(() -> {
+                    cartStore.flush();
+                    return cartRepository.findByUserId(user.getId());
+                }));
+                assertThat(seenByFlush).isEmpty();
+                checkout.ordered(Map.of(first.getId(), 2));
+            });
+        } finally {
+            other.shutdown();
+        }
+        
+        // 주문한 수량만 빠지고, 주문 중에 담은 상품은 남아 다음 반영에 쓰인다
+        assertThat(cartService.getCartItems(user.getId()))
+                .singleElement()
+                .extracting(CartDto.Response::getId)
+                .isEqualTo(second.getId());
+        cartStore.flush();
+        assertThat(cartRepository.findByUserId(user.getId()))
+                .extracting(Cart::getQuantity)
+                .containsExactly(1);
+    }
+    
+    @Test
+    void idleCartsAreEvictedAfterFlushAndReloadedFromDatabase() {
+        cartService.addToCart(user.getId(), request(first.getId(), 4));
+        
+        Duration idleTtl = cartProperties.getIdleTtl();
+        cartProperties.setIdleTtl(Duration.ZERO);
+        try {
+            cartStore.flush();    // 반영 후 바로 유휴 대상
+        } finally {
+            cartProperties.setIdleTtl(idleTtl);
+        }
+        
+        // 메모리에서 내려간 뒤에는 DB 가 기준: DB 를 직접 바꾸면 다음 조회가 그 값을 읽는다
+        Cart row = cartRepository.findByUserIdAndProductId(user.getId(), first.getId()).orElseThrow();
+        row.setQuantity(7);
+        cartRepository.save(row);
+        
+        List<CartDto.Response> items = cartService.getCartItems(user.getId());
+        assertThat(items).singleElement()
+                .extracting(CartDto.Response::getQuantity)
+                .isEqualTo(7);
+    }
+    
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get(5, TimeUnit.SECONDS);    // 행 잠금 대기(LOCK_TIMEOUT 10초)보다 짧게
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
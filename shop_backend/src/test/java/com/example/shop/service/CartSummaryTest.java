@@ -0,0 +1,142 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.CartDto;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.entity.User;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static com.example.shop.service.CartTestFixtures.category;
+import static com.example.shop.service.CartTestFixtures.product;
+import static com.example.shop.service.CartTestFixtures.request;
+import static com.example.shop.service.CartTestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CartSummaryTest {
+    
+    @Autowired
+    private CartService cartService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    private String suffix;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        suffix = String.valueOf(System.nanoTime());
+    }
+    
+    @Test
+    void queryCountDoesNotGrowWithCartSize() {
+        User small = cartWith(1);
+        User large = cartWith(30);
+        
+        statistics.clear();
+        CartDto.Summary smallSummary = cartService.getCartSummary(small.getId());
+        long smallStatements = statistics.getPrepareStatementCount();
+        
+        statistics.clear();
+        CartDto.Summary largeSummary = cartService.getCartSummary(large.getId());
+        long largeStatements = statistics.getPrepareStatementCount();
+        
+        assertThat(smallStatements).isEqualTo(1);
+        assertThat(largeStatements).isEqualTo(1);
+        assertThat(smallSummary.getItemCount()).isEqualTo(1);
+        assertThat(largeSummary.getItemCount()).isEqualTo(30);
+        
+        // 항목 목록도 fetch join 한 번
+        statistics.clear();
+        assertThat(cartService.getCartItems(large.getId())).hasSize(30);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void computesTotalsAndStockWarningsOnServer() {
+        User user = newUser();
+        Category category = categoryRepository.save(category("요약-" + suffix));
+        Product plenty = productRepository.save(product("넉넉한 상품", "1234.50", 50, category));
+        Product scarce = productRepository.save(product("부족한 상품", "0.10", 5, category));
+        Product paused = productRepository.save(product("중지될 상품", "999.99", 10, category));
+        cartService.addToCart(user.getId(), request(plenty.getId(), 3));
+        cartService.addToCart(user.getId(), request(scarce.getId(), 4));
+        cartService.addToCart(user.getId(), request(paused.getId(), 1));
+        
+        scarce.setStockQuantity(2);
+        paused.setIsActive(false);
+        productRepository.save(scarce);
+        productRepository.save(paused);
+        
+        CartDto.Summary summary = cartService.getCartSummary(user.getId());
+        
+        // 3 × 1234.50 + 4 × 0.10 + 1 × 999.99
+        assertThat(summary.getSubtotal()).isEqualByComparingTo("4703.89");
+        assertThat(summary.getTotalQuantity()).isEqualTo(8);
+        assertThat(summary.getItemCount()).isEqualTo(3);
+        assertThat(summary.isOrderable()).isFalse();
+        assertThat(summary.getItems())
+                .filteredOn(item -> item.getProduct().getId().equals(scarce.getId()))
+                .singleElement()
+                .extracting(CartDto.Response::getTotalPrice)
+                .isEqualTo(new BigDecimal("0.40"));
+        assertThat(summary.getStockWarnings())
+                .extracting(CartDto.StockWarning::getProductId, CartDto.StockWarning::getType)
+                .containsExactlyInAnyOrder(
+                        tuple(scarce.getId(), CartDto.StockWarningType.INSUFFICIENT_STOCK),
+                        tuple(paused.getId(), CartDto.StockWarningType.INACTIVE));
+    }
+    
+    @Test
+    void emptyCartChecksUserOnlyWhenNothingFound() {
+        CartDto.Summary empty = cartService.getCartSummary(newUser().getId());
+        assertThat(empty.getItems()).isEmpty();
+        assertThat(empty.getSubtotal()).isEqualByComparingTo("0");
+        assertThat(empty.isOrderable()).isFalse();
+        
+        assertThatThrownBy(() -> cartService.getCartSummary(-1L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("존재하지 않는 사용자");
+    }
+    
+    // 카테고리를 여러 개로 나눠 담아 상품/카테고리 N+1 이 있으면 쿼리 수에 드러나게 한다
+    private User cartWith(int items) {
+        User user = newUser();
+        for (int i = 0; i < items; i++) {
+            Category category = categoryRepository.save(category("요약-" + suffix + "-" + items + "-" + i));
+            Product product = productRepository.save(product("요약 상품 " + i, "1000", 100, category));
+            cartService.addToCart(user.getId(), request(product.getId(), 1 + i % 3));
+        }
+        return user;
+    }
+    
+    private User newUser() {
+        return userRepository.save(user("cart-summary", "장바구니요약"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.CartDto;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.entity.User;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 장바구니/상품 테스트가 함께 쓰는 엔티티와 요청 생성기
+ * 저장은 각 테스트가 자기 리포지토리로 한다.
+ */
+final class CartTestFixtures {
+    
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    
+    private CartTestFixtures() {
+    }
+    
+    static Category category(String name) {
+        return Category.builder()
+                .name(name)
+                .build();
+    }
+    
+    static Product product(String name, String price, int stock, Category category) {
+        return Product.builder()
+                .name(name)
+                .price(new BigDecimal(price))
+                .stockQuantity(stock)
+                .category(category)
+                .build();
+    }
+    
+    // 이메일은 유니크 제약이 있어 호출마다 다르게 만든다
+    static User user(String emailPrefix, String name) {
+        return User.builder()
+                .email(emailPrefix + "-" + System.nanoTime() + "-" + SEQUENCE.incrementAndGet() + "@example.com")
+                .password("password")
+                .name(name)
+                .build();
+    }
+    
+    static CartDto.Request request(Long productId, int quantity) {
+        return CartDto.Request.builder()
+                .productId(productId)
+                .quantity(quantity)
+                .build();
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.CartDto;
+import com.example.shop.entity.Cart;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.entity.User;
+import com.example.shop.repository.CartRepository;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.shop.service.CartTestFixtures.category;
+import static com.example.shop.service.CartTestFixtures.product;
+import static com.example.shop.service.CartTestFixtures.request;
+import static com.example.shop.service.CartTestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CartUpsertTest {
+    
+    @Autowired
+    private CartService cartService;
+    
+    @Autowired
+    private CartRepository cartRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private CartDuplicateMerger cartDuplicateMerger;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private Statistics statistics;
+    private User user;
+    private Product product;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String suffix = String.valueOf(System.nanoTime());
+        user = userRepository.save(user("cart", "장바구니테스트"));
+        Category category = categoryRepository.save(category("장바구니-" + suffix));
+        product = productRepository.save(product("장바구니 상품", "12000", 100, category));
+    }
+    
+    @Test
+    void addIsUpsertPlusOneReadWithoutLoadingUserOrProduct() {
+        statistics.clear();
+        CartDto.Response first = cartService.addToCart(user.getId(), request(product.getId(), 2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        
+        statistics.clear();
+        CartDto.Response second = cartService.addToCart(user.getId(), request(product.getId(), 3));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getQuantity()).isEqualTo(5);
+        assertThat(second.getTotalPrice()).isEqualByComparingTo("60000");
+        assertThat(second.getProduct().getCategoryName()).startsWith("장바구니-");
+        assertThat(cartRepository.findByUserId(user.getId())).hasSize(1);
+    }
+    
+    @Test
+    void rejectedAddsLeaveCartUnchanged() {
+        cartService.addToCart(user.getId(), request(product.getId(), 5));
+        
+        // 합친 수량(5 + 96)이 재고를 넘으면 방금 더한 수량까지 롤백
+        assertThatThrownBy(() -> cartService.addToCart(user.getId(), request(product.getId(), 96)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("재고가 부족합니다");
+        assertThatThrownBy(() -> cartService.addToCart(user.getId(), request(product.getId(), 101)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("재고가 부족합니다");
+        assertThatThrownBy(() -> cartService.addToCart(user.getId(), request(-1L, 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("존재하지 않는 상품");
+        assertThatThrownBy(() -> cartService.addToCart(-1L, request(product.getId(), 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("존재하지 않는 사용자");
+        
+        product.setIsActive(false);
+        productRepository.save(product);
+        assertThatThrownBy(() -> cartService.addToCart(user.getId(), request(product.getId(), 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("비활성화된 상품");
+        
+        assertThat(cartRepository.findByUserIdAndProductId(user.getId(), product.getId()))
+                .get().extracting(Cart::getQuantity).isEqualTo(5);
+    }
+    
+    @Test
+    void concurrentAddsOfSameProductNeverCreateDuplicateRows() throws Exception {
+        int threads = 16;
+        int addsPerThread = 5;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < addsPerThread; i++) {
+                    try {
+                        cartService.addToCart(user.getId(), request(product.getId(), 1));
+                        succeeded.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        // 잠금 대기 초과 등 일시적 실패는 반영되지 않아야 한다 (행 수/수량 검증으로 확인)
+                        failed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        
+        List<Cart> rows = cartRepository.findByUserId(user.getId());
+        assertThat(succeeded.get() + failed.get()).isEqualTo(threads * addsPerThread);
+        assertThat(succeeded.get()).isPositive();
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getQuantity()).isEqualTo(succeeded.get());
+    }
+    
+    @Test
+    void legacyDuplicateRowsAreMergedSoTheUniqueConstraintCanBeCreated() {
+        // 유니크 제약이 생기기 전의 DB 처럼 같은 (사용자, 상품) 행을 여러 개 만든다
+        Product other = productRepository.save(product("장바구니 상품 2", "3000", 100, product.getCategory()));
+        jdbcTemplate.execute("ALTER TABLE carts DROP CONSTRAINT uk_carts_user_product");
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            insertLegacyRow(product, 2, now.minusDays(2));
+            insertLegacyRow(product, 3, now.minusDays(1));
+            insertLegacyRow(product, 1, now);
+            insertLegacyRow(other, 4, now);
+            Long oldest = cartRepository.findByUserId(user.getId()).stream()
+                    .filter(cart -> cart.getProduct().getId().equals(product.getId()))
+                    .map(Cart::getId)
+                    .min(Long::compare)
+                    .orElseThrow();
+            
+            cartDuplicateMerger.merge();
+            
+            assertThat(cartRepository.findByUserId(user.getId()))
+                    .extracting(cart -> cart.getProduct().getId(), Cart::getQuantity)
+                    .containsExactlyInAnyOrder(tuple(product.getId(), 6), tuple(other.getId(), 4));
+            assertThat(cartRepository.findByUserId(user.getId()))
+                    .extracting(Cart::getId)
+                    .contains(oldest);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE carts ADD CONSTRAINT uk_carts_user_product UNIQUE (user_id, product_id)");
+        }
+        
+        // 제약이 다시 생긴 뒤에는 담기가 합쳐진 행을 제자리에서 늘린다
+        cartService.addToCart(user.getId(), request(product.getId(), 1));
+        assertThat(cartRepository.findByUserId(user.getId()))
+                .extracting(cart -> cart.getProduct().getId(), Cart::getQuantity)
+                .containsExactlyInAnyOrder(tuple(product.getId(), 7), tuple(other.getId(), 4));
+    }
+    
+    private void insertLegacyRow(Product product, int quantity, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO carts (quantity, user_id, product_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                quantity, user.getId(), product.getId(), Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.ProductDto;
+import com.example.shop.dto.ReviewDto;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.entity.User;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "catalog-cache.gzip-min-size=0")    // 작은 목록도 gzip 본문을 만들도록
+@WithMockUser
+class CatalogResponseCacheTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private CatalogVersion catalogVersion;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ReviewService reviewService;
+    
+    private Category category;
+    private Product product;
+    
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder().name("목록캐시-" + System.nanoTime()).build());
+        product = productRepository.save(Product.builder()
+                .name("목록 캐시 상품")
+                .price(new BigDecimal("1000"))
+                .stockQuantity(10)
+                .category(category)
+                .build());
+    }
+    
+    @Test
+    void matchingEtagAnswers304() throws Exception {
+        String etag = listing(null).getResponse().getHeader(HttpHeaders.ETAG);
+        
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        mockMvc.perform(get(listingUrl()).header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get(listingUrl()).header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void gzipBodyHasItsOwnEtag() throws Exception {
+        MvcResult identity = listing(null);
+        MvcResult gzip = listing("gzip, deflate");
+        String identityEtag = identity.getResponse().getHeader(HttpHeaders.ETAG);
+        String gzipEtag = gzip.getResponse().getHeader(HttpHeaders.ETAG);
+        
+        assertThat(gzip.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(identity.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(gunzip(gzip.getResponse().getContentAsByteArray()))
+                .isEqualTo(identity.getResponse().getContentAsByteArray());
+        assertThat(gzipEtag).isEqualTo(identityEtag.substring(0, identityEtag.length() - 1) + "-gzip\"");
+        
+        // 각 표현은 자기 ETag 로만 304
+        mockMvc.perform(get(listingUrl())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(listingUrl())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, identityEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        mockMvc.perform(get(listingUrl()).header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    void productWritesInvalidateButStockChangesDoNot() throws Exception {
+        String etag = listing(null).getResponse().getHeader(HttpHeaders.ETAG);
+        long version = catalogVersion.current();
+        
+        productService.decreaseStock(product.getId(), 1);
+        assertThat(catalogVersion.current()).isEqualTo(version);
+        mockMvc.perform(get(listingUrl()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        
+        productService.updateProduct(product.getId(), ProductDto.UpdateRequest.builder().name("이름 변경").build());
+        assertThat(catalogVersion.current()).isGreaterThan(version);
+        MvcResult changed = mockMvc.perform(get(listingUrl()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(changed.getResponse().getContentAsString()).contains("이름 변경");
+    }
+    
+    @Test
+    void reviewWritesReorderCachedRatingListing() throws Exception {
+        Product other = productRepository.save(Product.builder()
+                .name("목록 캐시 상품 2")
+                .price(new BigDecimal("2000"))
+                .stockQuantity(10)
+                .category(category)
+                .build());
+        User user = userRepository.save(User.builder()
+                .email("catalog-review-" + System.nanoTime() + "@example.com")
+                .password("password")
+                .name("목록리뷰")
+                .build());
+        String url = listingUrl() + "?sort=rating";
+        reviewService.createReview(user.getId(), review(product, 2));
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("목록 캐시 상품"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        
+        // 리뷰 집계가 바뀌면 캐시된 목록을 다시 만든다
+        reviewService.createReview(user.getId(), review(other, 5));
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("목록 캐시 상품 2"));
+    }
+    
+    private MvcResult listing(String acceptEncoding) throws Exception {
+        return mockMvc.perform(acceptEncoding == null ? get(listingUrl())
+                        : get(listingUrl()).header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+    }
+    
+    private static ReviewDto.Request review(Product product, int rating) {
+        return ReviewDto.Request.builder()
+                .productId(product.getId())
+                .rating(rating)
+                .comment("목록 캐시")
+                .build();
+    }
+    
+    private String listingUrl() {
+        return "/api/products/category/" + category.getId();
+    }
+    
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
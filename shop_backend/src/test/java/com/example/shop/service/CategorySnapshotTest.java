@@ -0,0 +1,108 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.CategoryDto;
+import com.example.shop.dto.ProductDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CategorySnapshotTest {
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    private CategoryDto.Response category;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        category = categoryService.createCategory(CategoryDto.Request.builder()
+                .name("스냅샷-" + System.nanoTime())
+                .description("카테고리 스냅샷 테스트")
+                .build());
+    }
+    
+    @Test
+    void readsAreServedFromSnapshotWithoutQueries() {
+        categoryService.getAllCategories();
+        
+        statistics.clear();
+        List<CategoryDto.Response> all = categoryService.getAllCategories();
+        CategoryDto.Response byId = categoryService.getCategoryById(category.getId());
+        CategoryDto.Response byName = categoryService.getCategoryByName(category.getName());
+        
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(all).extracting(CategoryDto.Response::getId).contains(category.getId());
+        assertThat(byId.getProductCount()).isZero();
+        assertThat(byName.getId()).isEqualTo(category.getId());
+        assertThatThrownBy(() -> categoryService.getCategoryById(-1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void productChangesSwapSnapshotWithLiveCounts() {
+        String etag = categoryService.getCategorySnapshot().getEtag();
+        
+        ProductDto.Response first = createProduct("첫 상품");
+        createProduct("둘째 상품");
+        
+        CategorySnapshot.Snapshot afterCreate = categoryService.getCategorySnapshot();
+        assertThat(afterCreate.getEtag()).isNotEqualTo(etag);
+        assertThat(afterCreate.getById().get(category.getId()).getProductCount()).isEqualTo(2);
+        
+        // 비활성 상품은 세지 않는다
+        productService.toggleProductStatus(first.getId());
+        assertThat(categoryService.getCategoryById(category.getId()).getProductCount()).isEqualTo(1);
+        assertThat(categoryService.getCategorySnapshot().getEtag()).isNotEqualTo(afterCreate.getEtag());
+    }
+    
+    @Test
+    void deleteChecksProductsWithExistsAndDropsCategoryFromSnapshot() {
+        ProductDto.Response product = createProduct("삭제 막는 상품");
+        productService.toggleProductStatus(product.getId());
+        
+        // 비활성 상품도 카테고리를 참조하므로 삭제할 수 없다
+        assertThatThrownBy(() -> categoryService.deleteCategory(category.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+        
+        CategoryDto.Response empty = categoryService.createCategory(CategoryDto.Request.builder()
+                .name("빈-" + System.nanoTime())
+                .build());
+        categoryService.deleteCategory(empty.getId());
+        
+        assertThat(categoryService.getAllCategories()).extracting(CategoryDto.Response::getId)
+                .contains(category.getId())
+                .doesNotContain(empty.getId());
+        assertThatThrownBy(() -> categoryService.getCategoryById(empty.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private ProductDto.Response createProduct(String name) {
+        return productService.createProduct(ProductDto.Request.builder()
+                .name(name)
+                .price(new BigDecimal("15000"))
+                .stockQuantity(3)
+                .categoryId(category.getId())
+                .build());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.shop.service;
+
+import com.example.shop.repository.ProductRepositoryCustom;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetBitmapsTest {
+    
+    @Test
+    void bitmapSwitchesContainersWithoutLosingValues() {
+        CompressedBitmap dense = new CompressedBitmap();
+        CompressedBitmap sparse = new CompressedBitmap();
+        for (int i = 0; i < 200_000; i++) {
+            dense.add(i);
+            if (i % 100 == 0) {
+                sparse.add(i);
+            }
+        }
+        assertThat(dense.cardinality()).isEqualTo(200_000);
+        assertThat(dense.andCardinality(sparse)).isEqualTo(2_000);
+        assertThat(dense.and(sparse).cardinality()).isEqualTo(2_000);
+        assertThat(sparse.or(new CompressedBitmap()).cardinality()).isEqualTo(2_000);
+        
+        // 비트맵 컨테이너가 배열로 되돌아가도 남은 값은 그대로
+        for (int i = 0; i < 65_536; i++) {
+            if (i % 3 != 0) {
+                dense.remove(i);
+            }
+        }
+        assertThat(dense.contains(3)).isTrue();
+        assertThat(dense.contains(4)).isFalse();
+        assertThat(dense.cardinality()).isEqualTo(21_846 + 200_000 - 65_536);
+    }
+    
+    @Test
+    void countsMatchBruteForceAfterUpdates() {
+        FacetBitmaps bitmaps = new FacetBitmaps(ProductRepositoryCustom.PRICE_BUCKET_BOUNDS);
+        Random random = new Random(7);
+        int products = 20_000;
+        long[] category = new long[products + 1];
+        long[] price = new long[products + 1];
+        boolean[] stock = new boolean[products + 1];
+        boolean[] active = new boolean[products + 1];
+        for (int id = 1; id <= products; id++) {
+            category[id] = 1 + random.nextInt(20);
+            price[id] = 1_000 + random.nextInt(1_000_000);
+            stock[id] = random.nextInt(4) != 0;
+            active[id] = true;
+            bitmaps.put(id, category[id], BigDecimal.valueOf(price[id]), stock[id]);
+        }
+        // 카테고리 이동, 가격/재고 변경, 재고 여부만 변경, 비활성화
+        for (int i = 0; i < 5_000; i++) {
+            int id = 1 + random.nextInt(products);
+            int change = random.nextInt(10);
+            if (change == 0) {
+                active[id] = false;
+                bitmaps.remove(id);
+                continue;
+            }
+            if (change <= 3) {
+                stock[id] = random.nextBoolean();
+                bitmaps.setInStock(id, stock[id]);
+                continue;
+            }
+            category[id] = 1 + random.nextInt(20);
+            price[id] = 1_000 + random.nextInt(1_000_000);
+            stock[id] = random.nextBoolean();
+            active[id] = true;
+            bitmaps.put(id, category[id], BigDecimal.valueOf(price[id]), stock[id]);
+        }
+        
+        List<Long> selected = List.of(3L, 7L);
+        FacetBitmaps.Counts counts = bitmaps.count(selected, new BigDecimal("30000"), new BigDecimal("250000"), true);
+        
+        long total = 0;
+        long inCategory3 = 0;
+        long[] buckets = new long[5];
+        for (int id = 1; id <= products; id++) {
+            boolean matches = active[id] && stock[id] && price[id] >= 30_000 && price[id] <= 250_000;
+            if (matches && category[id] == 3) {
+                inCategory3++;
+            }
+            if (matches && selected.contains(category[id])) {
+                total++;
+                buckets[price[id] < 50_000 ? 1 : price[id] < 100_000 ? 2 : 3]++;
+            }
+        }
+        assertThat(counts.total).isEqualTo(total);
+        assertThat(counts.inStock).isEqualTo(total);
+        assertThat(counts.categories.get(3L)).isEqualTo(inCategory3);
+        assertThat(counts.priceBuckets).containsExactly(buckets);
+        assertThat(counts.matches.cardinality()).isEqualTo(total);
+    }
+    
+    @Test
+    void countsOverMillionProductsMatchBruteForce() {
+        int products = 1_000_000;
+        Random random = new Random(42);
+        FacetBitmaps bitmaps = new FacetBitmaps(ProductRepositoryCustom.PRICE_BUCKET_BOUNDS);
+        Set<Long> categories = new HashSet<>(List.of(10L, 20L, 30L));
+        BigDecimal min = new BigDecimal("10000");
+        BigDecimal max = new BigDecimal("100000");
+        long expected = 0;
+        for (int id = 1; id <= products; id++) {
+            long categoryId = 1L + random.nextInt(200);
+            BigDecimal price = BigDecimal.valueOf(1_000 + random.nextInt(900_000));
+            boolean inStock = random.nextInt(5) != 0;
+            bitmaps.put(id, categoryId, price, inStock);
+            if (categories.contains(categoryId) && inStock && price.compareTo(min) >= 0 && price.compareTo(max) <= 0) {
+                expected++;
+            }
+        }
+        
+        assertThat(bitmaps.size()).isEqualTo(products);
+        assertThat(expected).isPositive();
+        assertThat(bitmaps.count(categories, min, max, true).total).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.shop.service;
+
+import com.example.shop.entity.Order;
+import com.example.shop.entity.User;
+import com.example.shop.repository.OrderRepository;
+import com.example.shop.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IdSequenceInitializerTest {
+    
+    @Autowired
+    private IdSequenceInitializer idSequenceInitializer;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void restartsSequenceBehindExistingIdsAndLeavesItAloneOtherwise() {
+        // IDENTITY 시절에 들어간 것처럼 시퀀스보다 훨씬 큰 id 의 주문을 만든다
+        User user = userRepository.save(User.builder()
+                .email("sequence-" + System.nanoTime() + "@example.com")
+                .password("password")
+                .name("시퀀스")
+                .build());
+        Order order = orderRepository.save(Order.builder()
+                .orderNumber("ORD-SEQ-" + System.nanoTime())
+                .totalAmount(new BigDecimal("1000.00"))
+                .status(Order.OrderStatus.PENDING)
+                .shippingAddress("서울")
+                .user(user)
+                .build());
+        long legacyId = nextOrderSequenceValue() + 1_000_000;
+        jdbcTemplate.update("UPDATE orders SET id = ? WHERE id = ?", legacyId, order.getId());
+        
+        idSequenceInitializer.alignSequences();
+        long restarted = nextOrderSequenceValue();
+        assertThat(restarted - (Order.ID_ALLOCATION_SIZE - 1)).isGreaterThan(legacyId);
+        
+        // 이미 앞서 있으면 다시 시작하지 않고 이어서 증가한다 (확인에 한 블록 사용)
+        idSequenceInitializer.alignSequences();
+        assertThat(nextOrderSequenceValue()).isEqualTo(restarted + 2L * Order.ID_ALLOCATION_SIZE);
+    }
+    
+    private long nextOrderSequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR orders_seq", Long.class);
+    }
+}
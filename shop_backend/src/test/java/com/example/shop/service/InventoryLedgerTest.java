@@ -0,0 +1,291 @@
+package com.example.shop.service;
+
+import com.example.shop.config.InventoryProperties;
+import com.example.shop.dto.ProductDto;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.event.ProductChangedEvent;
+import com.example.shop.exception.InsufficientStockException;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductFilter;
+import com.example.shop.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InventoryLedgerTest {
+    
+    private static final Path JOURNAL_DIR = createJournalDir();
+    
+    @DynamicPropertySource
+    static void ledgerProperties(DynamicPropertyRegistry registry) {
+        registry.add("inventory.mode", () -> "ledger");
+        registry.add("inventory.journal-dir", JOURNAL_DIR::toString);
+        registry.add("inventory.flush-interval", () -> "3600000");    // 스케줄 반영이 끼어들지 않도록, 테스트에서 직접 호출
+        registry.add("facet.enabled", () -> "true");
+        registry.add("facet.apply-interval", () -> "3600000");        // 색인 반영도 테스트에서 직접 호출
+    }
+    
+    @Autowired
+    private InventoryLedger inventoryLedger;
+    
+    @Autowired
+    private StockReservationService stockReservationService;
+    
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    void rolledBackReservationIsRestoredAndNeverJournaled() {
+        Product product = createProduct("롤백 상품", 10);
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            stockReservationService.reserve(Map.of(product.getId(), 4));
+            assertThat(inventoryLedger.current(product.getId())).hasValue(6);    // 커밋 전에도 다른 주문은 못 가져간다
+            status.setRollbackOnly();
+        });
+        
+        assertThat(inventoryLedger.current(product.getId())).hasValue(10);
+        assertThat(journaled()).doesNotContainKey(product.getId());
+        
+        inventoryLedger.flush();
+        assertThat(stockInDatabase(product)).isEqualTo(10);
+    }
+    
+    @Test
+    void releaseIsAvailableOnlyAfterCommit() {
+        Product product = createProduct("복구 상품", 1);
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            stockReservationService.release(Map.of(product.getId(), 5));
+            assertThat(inventoryLedger.current(product.getId())).hasValue(1);
+        });
+        
+        assertThat(inventoryLedger.current(product.getId())).hasValue(6);
+        assertThat(journaled()).containsEntry(product.getId(), 6L);
+    }
+    
+    @Test
+    void stockOverwriteIsAppliedOnlyWhenProductUpdateCommits() {
+        Product product = createProduct("수정 상품", 10);
+        transactionTemplate.executeWithoutResult(status ->
+                stockReservationService.reserve(Map.of(product.getId(), 1)));
+        
+        assertThatThrownBy(() -> productService.updateProduct(product.getId(), ProductDto.UpdateRequest.builder()
+                .stockQuantity(50)
+                .categoryId(-1L)
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("존재하지 않는 카테고리");
+        assertThat(inventoryLedger.current(product.getId())).hasValue(9);
+        assertThat(journaled()).containsEntry(product.getId(), 9L);
+        
+        productService.updateProduct(product.getId(), ProductDto.UpdateRequest.builder().stockQuantity(50).build());
+        assertThat(inventoryLedger.current(product.getId())).hasValue(50);
+        assertThat(journaled()).containsEntry(product.getId(), 50L);
+    }
+    
+    @Test
+    void flushWritesCommittedStockAndDropsWrittenSegments() {
+        Product product = createProduct("반영 상품", 10);
+        
+        transactionTemplate.executeWithoutResult(status ->
+                stockReservationService.reserve(Map.of(product.getId(), 3)));
+        
+        assertThat(stockInDatabase(product)).isEqualTo(10);
+        assertThat(journaled()).containsEntry(product.getId(), 7L);
+        
+        inventoryLedger.flush();
+        
+        assertThat(stockInDatabase(product)).isEqualTo(7);
+        assertThat(journaled()).doesNotContainKey(product.getId());
+    }
+    
+    @Test
+    void recoverReplaysJournalIntoDatabase(@TempDir Path directory) {
+        Product product = createProduct("재생 상품", 10);
+        try (InventoryJournal journal = new InventoryJournal(directory)) {
+            journal.append(product.getId(), 8);
+            journal.append(product.getId(), 5);    // 같은 상품은 마지막 값이 기준
+        }
+        
+        InventoryProperties properties = new InventoryProperties();
+        properties.setJournalDir(directory.toString());
+        InventoryLedger restarted = new InventoryLedger(jdbcTemplate, transactionTemplate, properties);
+        restarted.recover();
+        restarted.shutdown();
+        
+        assertThat(stockInDatabase(product)).isEqualTo(5);
+        try (InventoryJournal journal = new InventoryJournal(directory)) {
+            assertThat(journal.replay()).isEmpty();
+        }
+    }
+    
+    @Test
+    void databasePlusJournalAlwaysMatchesCommittedStockWhileFlushing() throws Exception {
+        // 반영 주기와 커밋이 겹쳐도, 재시작했을 때 복구되는 값(DB + 저널 재생)은 커밋된 재고와 같아야 한다
+        Product product = createProduct("동시 반영 상품", 1_000);
+        int threads = 16;
+        int ordersPerThread = 25;
+        
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger committed = new AtomicInteger();
+        
+        Future<?> flusher = executor.submit(() -> {
+            start.await();
+            while (running.get()) {
+                inventoryLedger.flush();
+            }
+            return null;
+        });
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < ordersPerThread; j++) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status ->
+                                stockReservationService.reserve(Map.of(product.getId(), 1)));
+                        committed.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        // 재고는 충분하므로 발생하지 않음
+                    }
+                }
+                return null;
+            }));
+        }
+        
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        flusher.get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+        
+        long recovered = journaled().getOrDefault(product.getId(), (long) stockInDatabase(product));
+        assertThat(committed.get()).isEqualTo(threads * ordersPerThread);
+        assertThat(recovered).isEqualTo(1_000L - committed.get());
+        assertThat(inventoryLedger.current(product.getId())).hasValue(recovered);
+    }
+    
+    @Test
+    void facetInStockFollowsLedgerWithoutFlush() throws InterruptedException {
+        awaitFacetIndex();
+        Product product = createProduct("facet 상품", 1);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        // 저장소로 직접 만든 상품이므로 색인에 직접 알린다 (알리는 스레드에서는 쿼리 없이 모아 두기만 한다)
+        statistics.clear();
+        productFacetIndex.onProductChanged(new ProductChangedEvent(List.of(product.getId())));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(inStockCount(product)).isZero();
+        productFacetIndex.applyPending();
+        assertThat(inStockCount(product)).isEqualTo(1);
+        
+        // 원장 모드의 재고 변경은 반영 주기를 기다리지 않고 원장 재고로 바로 갱신된다
+        transactionTemplate.executeWithoutResult(status ->
+                stockReservationService.reserve(Map.of(product.getId(), 1)));
+        assertThat(stockInDatabase(product)).isEqualTo(1);    // DB 반영 전이어도 품절로 센다
+        assertThat(inStockCount(product)).isZero();
+        
+        transactionTemplate.executeWithoutResult(status ->
+                stockReservationService.release(Map.of(product.getId(), 2)));
+        assertThat(inStockCount(product)).isEqualTo(1);
+    }
+    
+    private long inStockCount(Product product) {
+        return productFacetIndex.count(ProductFilter.builder()
+                .categoryIds(List.of(product.getCategory().getId()))
+                .inStock(true)
+                .build()).orElseThrow().total;
+    }
+    
+    private void awaitFacetIndex() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!productFacetIndex.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+    
+    // 지금 재시작하면 재생될 값 (현재 세그먼트까지 포함)
+    private Map<Long, Long> journaled() {
+        try (InventoryJournal journal = new InventoryJournal(JOURNAL_DIR)) {
+            return journal.replay();
+        }
+    }
+    
+    private int stockInDatabase(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+    }
+    
+    private Product createProduct(String name, int stock) {
+        Category category = categoryRepository.save(Category.builder()
+                .name("원장-" + System.nanoTime())
+                .build());
+        return productRepository.save(Product.builder()
+                .name(name)
+                .price(new BigDecimal("1000.00"))
+                .stockQuantity(stock)
+                .category(category)
+                .build());
+    }
+    
+    private static Path createJournalDir() {
+        try {
+            return Files.createTempDirectory("inventory-journal");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.shop.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+    
+    @Test
+    void tokenizerSplitsHangulIntoBigramsAndStemsEnglish() {
+        assertThat(ProductTokenizer.tokenize("게이밍 노트북")).containsExactly("게이", "이밍", "노트", "트북");
+        assertThat(ProductTokenizer.tokenize("Running Shoes, batteries")).containsExactly("run", "shoe", "battery");
+        assertThat(ProductTokenizer.tokenize("USB-C 폰")).containsExactly("usb", "c", "폰");
+    }
+    
+    @Test
+    void ranksByBm25AndReplacesUpdatedDocuments() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1L, termFreqs("게이밍 노트북 고성능 노트북"));
+        index.put(2L, termFreqs("필기용 노트 세트"));
+        index.put(3L, termFreqs("running shoes 러닝화"));
+        
+        assertThat(search(index, "노트북").productIds).containsExactly(1L, 2L);
+        assertThat(search(index, "run shoe").productIds).containsExactly(3L);
+        
+        index.put(1L, termFreqs("무선 마우스"));
+        assertThat(search(index, "노트북").productIds).containsExactly(2L);
+        assertThat(search(index, "마우스").productIds).containsExactly(1L);
+        
+        index.remove(2L);
+        assertThat(search(index, "노트북").total).isZero();
+        assertThat(index.size()).isEqualTo(2);
+    }
+    
+    @Test
+    void segmentRoundTripKeepsOnlyLiveDocuments() throws Exception {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 100; id++) {
+            index.put(id, termFreqs("상품 " + id + (id % 2 == 0 ? " 무선 키보드" : " 유선 마우스")));
+        }
+        index.remove(10L);
+        index.put(12L, termFreqs("블루투스 스피커"));
+        
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+        InvertedIndex loaded = new InvertedIndex();
+        loaded.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        
+        assertThat(loaded.size()).isEqualTo(99);
+        assertThat(search(loaded, "키보드").total).isEqualTo(48);
+        assertThat(search(loaded, "키보드").productIds).doesNotContain(10L, 12L);
+        assertThat(search(loaded, "스피커").productIds).containsExactly(12L);
+        assertThat(search(loaded, "유선 마우스").productIds).isEqualTo(search(index, "유선 마우스").productIds);
+    }
+    
+    @Test
+    void pagesThroughRankedHits() {
+        InvertedIndex index = new InvertedIndex();
+        Random random = new Random(42);
+        String[] words = {"노트북", "마우스", "키보드", "모니터", "wireless", "gaming", "cable", "charger"};
+        int documents = 10_000;
+        
+        for (long id = 1; id <= documents; id++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < 8; w++) {
+                text.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            index.put(id, termFreqs(text.toString()));
+        }
+        
+        InvertedIndex.Hits first = search(index, "gaming 노트북", 0, 20);
+        InvertedIndex.Hits second = search(index, "gaming 노트북", 20, 20);
+        
+        assertThat(first.productIds).hasSize(20).doesNotContainAnyElementsOf(second.productIds);
+        assertThat(search(index, "gaming 노트북", 0, 40).productIds)
+                .startsWith(first.productIds.toArray(new Long[0]))
+                .endsWith(second.productIds.toArray(new Long[0]));
+    }
+    
+    @Test
+    void oversizedPageIsBoundedByHitCount() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 30; id++) {
+            index.put(id, termFreqs("무선 마우스 " + id));
+        }
+        
+        // offset + limit 가 int 범위를 넘어도 적중 수만큼만 순위를 매긴다
+        assertThat(search(index, "마우스", 0, Integer.MAX_VALUE).productIds).hasSize(30);
+        assertThat(search(index, "마우스", 25, Integer.MAX_VALUE).productIds).hasSize(5);
+        InvertedIndex.Hits beyond = search(index, "마우스", Integer.MAX_VALUE, Integer.MAX_VALUE);
+        assertThat(beyond.productIds).isEmpty();
+        assertThat(beyond.total).isEqualTo(30);
+    }
+    
+    private static InvertedIndex.Hits search(InvertedIndex index, String query) {
+        return search(index, query, 0, 10);
+    }
+    
+    private static InvertedIndex.Hits search(InvertedIndex index, String query, int offset, int limit) {
+        return index.search(ProductTokenizer.tokenize(query), offset, limit);
+    }
+    
+    private static Map<String, Integer> termFreqs(String text) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        ProductTokenizer.tokenize(text).forEach(token -> termFreqs.merge(token, 1, Integer::sum));
+        return termFreqs;
+    }
+}
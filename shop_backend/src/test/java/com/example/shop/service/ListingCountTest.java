@@ -0,0 +1,163 @@
+package com.example.shop.service;
+
+import com.example.shop.config.CountCacheProperties;
+import com.example.shop.dto.ProductDto;
+import com.example.shop.dto.SlicePage;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ListingCountTest {
+    
+    private static final int PRODUCTS = 30;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    private Long categoryId;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Category category = categoryRepository.save(Category.builder().name("무한스크롤-" + System.nanoTime()).build());
+        categoryId = category.getId();
+        
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .name("슬라이스 상품 " + i)
+                    .price(new BigDecimal("1000"))
+                    .stockQuantity(10)
+                    .category(category)
+                    .build());
+        }
+        productRepository.saveAll(products);
+    }
+    
+    @Test
+    void sliceModeSkipsCountQuery() {
+        Pageable firstPage = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        
+        statistics.clear();
+        Page<ProductDto.ListResponse> page = productService.getProductsByCategory(categoryId, firstPage);
+        long exactStatements = statistics.getPrepareStatementCount();
+        
+        statistics.clear();
+        SlicePage<ProductDto.ListResponse> slice = productService.getProductsByCategorySlice(categoryId, firstPage, false);
+        long sliceStatements = statistics.getPrepareStatementCount();
+        
+        assertThat(page.getTotalElements()).isEqualTo(PRODUCTS);
+        assertThat(slice.getContent()).extracting(ProductDto.ListResponse::getId)
+                .containsExactlyElementsOf(page.getContent().stream().map(ProductDto.ListResponse::getId).toList());
+        assertThat(slice.isHasNext()).isTrue();
+        assertThat(slice.getApproximateTotal()).isNull();
+        assertThat(exactStatements - sliceStatements).isEqualTo(1);
+        
+        SlicePage<ProductDto.ListResponse> last = productService.getProductsByCategorySlice(
+                categoryId, PageRequest.of(2, 10, Sort.by(Sort.Direction.DESC, "createdAt")), false);
+        assertThat(last.getContent()).hasSize(10);
+        assertThat(last.isHasNext()).isFalse();
+    }
+    
+    @Test
+    void approximateTotalIsCountedOnceAndServedFromCache() {
+        Pageable firstPage = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        
+        statistics.clear();
+        SlicePage<ProductDto.ListResponse> first = productService.getProductsByCategorySlice(categoryId, firstPage, true);
+        long firstStatements = statistics.getPrepareStatementCount();
+        
+        statistics.clear();
+        SlicePage<ProductDto.ListResponse> second = productService.getProductsByCategorySlice(categoryId, firstPage, true);
+        long cachedStatements = statistics.getPrepareStatementCount();
+        
+        assertThat(first.getApproximateTotal()).isEqualTo(PRODUCTS);
+        assertThat(second.getApproximateTotal()).isEqualTo(PRODUCTS);
+        assertThat(firstStatements - cachedStatements).isEqualTo(1);
+    }
+    
+    @Test
+    void approximateModeSavesOneStatementPerRequest() {
+        Pageable firstPage = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        int requests = 20;
+        productService.getProductsByCategorySlice(categoryId, firstPage, true);    // 건수 캐시 채우기
+        
+        statistics.clear();
+        for (int i = 0; i < requests; i++) {
+            productService.getProductsByCategory(categoryId, firstPage);
+        }
+        long exactStatements = statistics.getPrepareStatementCount();
+        
+        statistics.clear();
+        for (int i = 0; i < requests; i++) {
+            productService.getProductsByCategorySlice(categoryId, firstPage, true);
+        }
+        long sliceStatements = statistics.getPrepareStatementCount();
+        
+        assertThat(exactStatements - sliceStatements).isEqualTo(requests);
+    }
+    
+    @Test
+    void staleCountIsServedWhileRecountedInBackground() throws InterruptedException {
+        CountCacheProperties properties = new CountCacheProperties();
+        properties.setRefreshAfter(Duration.ZERO);
+        ApproximateCountCache cache = new ApproximateCountCache(properties, new SimpleMeterRegistry());
+        AtomicLong rows = new AtomicLong(5);
+        AtomicInteger counted = new AtomicInteger();
+        LongSupplier counter = () -> {
+            counted.incrementAndGet();
+            return rows.get();
+        };
+        
+        try {
+            assertThat(cache.get("products:test", counter)).isEqualTo(5);
+            rows.set(7);
+            assertThat(cache.get("products:test", counter)).isEqualTo(5);    // 오래된 값을 바로 주고 다시 세기만 예약
+            
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (cache.get("products:test", counter) != 7 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(cache.get("products:test", counter)).isEqualTo(7);
+            assertThat(counted.get()).isGreaterThanOrEqualTo(2);
+        } finally {
+            cache.shutdown();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.AdminDto;
+import com.example.shop.dto.OrderDto;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Order;
+import com.example.shop.entity.OrderItem;
+import com.example.shop.entity.Product;
+import com.example.shop.entity.User;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.OrderRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderBulkCancelTest {
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private AdminService adminService;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    private User user;
+    private Product first;
+    private Product second;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String suffix = String.valueOf(System.nanoTime());
+        user = userRepository.save(User.builder()
+                .email("bulk-cancel-" + suffix + "@example.com")
+                .password("password")
+                .name("일괄취소")
+                .build());
+        Category category = categoryRepository.save(Category.builder().name("일괄취소-" + suffix).build());
+        first = productRepository.save(product("일괄취소 상품 1", category));
+        second = productRepository.save(product("일괄취소 상품 2", category));
+    }
+    
+    @Test
+    void cancelsOnlyCancellableOrdersAndRestoresTheirStock() {
+        Long pending = createOrder(Order.OrderStatus.PENDING);
+        Long confirmed = createOrder(Order.OrderStatus.CONFIRMED);
+        Long shipped = createOrder(Order.OrderStatus.SHIPPED);
+        
+        OrderDto.BulkResult result = orderService.cancelOrders(List.of(pending, confirmed, shipped, Long.MAX_VALUE));
+        
+        assertThat(result.getRequested()).isEqualTo(4);
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getOutcomes().stream()
+                .filter(outcome -> !outcome.isSuccess())
+                .map(OrderDto.BulkOutcome::getOrderId)
+                .collect(Collectors.toList()))
+                .containsExactlyInAnyOrder(shipped, Long.MAX_VALUE);
+        assertThat(orderRepository.findAllById(List.of(pending, confirmed)))
+                .allSatisfy(order -> assertThat(order.getStatus()).isEqualTo(Order.OrderStatus.CANCELLED));
+        assertThat(orderRepository.findById(shipped).orElseThrow().getStatus()).isEqualTo(Order.OrderStatus.SHIPPED);
+        
+        // 취소된 두 주문의 수량만 상품별로 합산해 복구 (주문당 2개 + 1개)
+        assertThat(stockOf(first)).isEqualTo(100 + 2 * 2);
+        assertThat(stockOf(second)).isEqualTo(100 + 2);
+        
+        // 이미 취소된 주문을 다시 취소해도 재고는 한 번만 복구된다
+        OrderDto.BulkResult again = orderService.cancelOrders(List.of(pending, confirmed));
+        assertThat(again.getSucceeded()).isZero();
+        assertThat(stockOf(first)).isEqualTo(104);
+    }
+    
+    @Test
+    void concurrentCancelsOfTheSameOrderRestoreStockOnce() throws Exception {
+        Long single = createOrder(Order.OrderStatus.PENDING);
+        Long bulk = createOrder(Order.OrderStatus.CONFIRMED);
+        
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            // 단건 취소가 커밋되기 전에 들어온 단건/일괄 취소는 주문 행 잠금에서 기다렸다가 취소된 상태를 본다
+            Future<OrderDto.Response> secondSingle = transactionTemplate.execute(status -> {
+                orderService.cancelOrder(single);
+                Future<OrderDto.Response> pending = other.submit(() -> orderService.cancelOrder(single));
+                assertThatThrownBy(() -> pending.get(300, TimeUnit.MILLISECONDS))
+                        .isInstanceOf(TimeoutException.class);
+                return pending;
+            });
+            assertThatThrownBy(() -> secondSingle.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalArgumentException.class);
+            
+            Future<OrderDto.BulkResult> bulkCancel = transactionTemplate.execute(status -> {
+                orderService.cancelOrder(bulk);
+                Future<OrderDto.BulkResult> pending = other.submit(() -> orderService.cancelOrders(List.of(bulk)));
+                assertThatThrownBy(() -> pending.get(300, TimeUnit.MILLISECONDS))
+                        .isInstanceOf(TimeoutException.class);
+                return pending;
+            });
+            assertThat(bulkCancel.get(10, TimeUnit.SECONDS).getSucceeded()).isZero();
+        } finally {
+            other.shutdown();
+        }
+        
+        assertThat(stockOf(first)).isEqualTo(100 + 2 * 2);
+        assertThat(stockOf(second)).isEqualTo(100 + 2);
+    }
+    
+    @Test
+    void statementCountDoesNotGrowWithOrderCount() {
+        List<Long> few = createOrders(2);
+        List<Long> many = createOrders(20);
+        
+        statistics.clear();
+        orderService.cancelOrders(few);
+        long fewStatements = statistics.getPrepareStatementCount();
+        
+        statistics.clear();
+        OrderDto.BulkResult result = orderService.cancelOrders(many);
+        long manyStatements = statistics.getPrepareStatementCount();
+        
+        assertThat(result.getSucceeded()).isEqualTo(20);
+        assertThat(manyStatements).isEqualTo(fewStatements);
+        assertThat(stockOf(first)).isEqualTo(100 + 22 * 2);
+    }
+    
+    @Test
+    void adminCancelsByStatusAndPeriod() {
+        LocalDateTime start = LocalDateTime.now().minusSeconds(1);
+        Long pending = createOrder(Order.OrderStatus.PENDING);
+        Long confirmed = createOrder(Order.OrderStatus.CONFIRMED);
+        LocalDateTime end = LocalDateTime.now().plusSeconds(1);
+        
+        OrderDto.BulkResult result = adminService.bulkCancelOrders(AdminDto.BulkCancelRequest.builder()
+                .status("pending")
+                .startDate(start)
+                .endDate(end)
+                .build());
+        
+        assertThat(result.getOutcomes()).extracting(OrderDto.BulkOutcome::getOrderId).contains(pending);
+        assertThat(orderRepository.findById(pending).orElseThrow().getStatus()).isEqualTo(Order.OrderStatus.CANCELLED);
+        assertThat(orderRepository.findById(confirmed).orElseThrow().getStatus()).isEqualTo(Order.OrderStatus.CONFIRMED);
+        
+        assertThatThrownBy(() -> adminService.bulkCancelOrders(AdminDto.BulkCancelRequest.builder()
+                .status("PENDING")
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("상태/기간 조건");
+    }
+    
+    @Test
+    void rejectsMoreThanMaxBulkSize() {
+        Long pending = createOrder(Order.OrderStatus.PENDING);
+        List<Long> ids = LongStream.rangeClosed(1, 1000).map(i -> -i).boxed().collect(Collectors.toList());
+        ids.add(pending);
+        
+        assertThatThrownBy(() -> orderService.cancelOrders(ids))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("최대 1000");
+        assertThat(orderRepository.findById(pending).orElseThrow().getStatus()).isEqualTo(Order.OrderStatus.PENDING);
+        assertThat(stockOf(first)).isEqualTo(100);
+    }
+    
+    private List<Long> createOrders(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(createOrder(Order.OrderStatus.PENDING));
+        }
+        return ids;
+    }
+    
+    // 재고 차감 없이 주문 행만 만든다 (상품 1 두 개, 상품 2 한 개)
+    private Long createOrder(Order.OrderStatus status) {
+        return transactionTemplate.execute(tx -> {
+            Order order = Order.builder()
+                    .orderNumber("ORD-BC-" + System.nanoTime())
+                    .totalAmount(new BigDecimal("3000.00"))
+                    .status(status)
+                    .shippingAddress("서울")
+                    .user(user)
+                    .build();
+            order.addOrderItem(OrderItem.builder().product(first).quantity(2).price(first.getPrice()).build());
+            order.addOrderItem(OrderItem.builder().product(second).quantity(1).price(second.getPrice()).build());
+            return orderRepository.save(order).getId();
+        });
+    }
+    
+    private int stockOf(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+    }
+    
+    private static Product product(String name, Category category) {
+        return Product.builder()
+                .name(name)
+                .price(new BigDecimal("1000"))
+                .stockQuantity(100)
+                .category(category)
+                .build();
+    }
+}
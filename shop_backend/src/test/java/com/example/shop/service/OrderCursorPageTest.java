@@ -0,0 +1,165 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.CursorPage;
+import com.example.shop.dto.OrderDto;
+import com.example.shop.entity.Order;
+import com.example.shop.entity.User;
+import com.example.shop.repository.OrderRepository;
+import com.example.shop.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 주문 목록 커서 페이지네이션 - 같은 created_at 은 id 로 이어서 읽어야 한다
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class OrderCursorPageTest {
+    
+    private static final int SAME_TIME_ORDERS = 5;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private User user;
+    private List<Long> expectedIds;
+    
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("cursor-" + System.nanoTime() + "@example.com")
+                .password("password")
+                .name("커서")
+                .build());
+        
+        // 같은 시각의 주문 여러 건 + 그보다 이른 주문 1건 (최신순이면 같은 시각 주문들이 id 내림차순으로 먼저 나온다)
+        LocalDateTime sameTime = LocalDateTime.of(2024, 5, 1, 12, 0, 0);
+        List<Long> sameTimeIds = new ArrayList<>();
+        for (int i = 0; i < SAME_TIME_ORDERS; i++) {
+            sameTimeIds.add(createOrderAt(sameTime));
+        }
+        Long olderId = createOrderAt(sameTime.minusDays(1));
+        
+        expectedIds = new ArrayList<>(sameTimeIds);
+        expectedIds.sort(Comparator.reverseOrder());
+        expectedIds.add(olderId);
+    }
+    
+    @Test
+    void followingNextCursorReadsEveryOrderOnceAcrossSameCreatedAt() {
+        List<Long> readIds = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        CursorPage<OrderDto.ListResponse> page;
+        do {
+            page = orderService.getUserOrders(user.getId(), cursor, 2);
+            page.getContent().forEach(order -> readIds.add(order.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (page.isHasNext());
+        
+        assertThat(readIds).containsExactlyElementsOf(expectedIds);
+        assertThat(pages).isEqualTo(3);
+        
+        // 마지막 페이지는 다음 페이지가 없고 커서도 주지 않는다
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getNextCursor()).isNull();
+    }
+    
+    @Test
+    void exactlyFullLastPageHasNoNextCursor() {
+        CursorPage<OrderDto.ListResponse> page = orderService.getUserOrders(user.getId(), null, expectedIds.size());
+        
+        assertThat(page.getContent()).hasSize(expectedIds.size());
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+    
+    @Test
+    void pageSizeIsClamped() {
+        assertThat(CursorPage.normalizeSize(null)).isEqualTo(CursorPage.DEFAULT_SIZE);
+        assertThat(CursorPage.normalizeSize(0)).isEqualTo(1);
+        assertThat(CursorPage.normalizeSize(-5)).isEqualTo(1);
+        assertThat(CursorPage.normalizeSize(CursorPage.MAX_SIZE)).isEqualTo(CursorPage.MAX_SIZE);
+        assertThat(CursorPage.normalizeSize(CursorPage.MAX_SIZE + 1)).isEqualTo(CursorPage.MAX_SIZE);
+        
+        CursorPage<OrderDto.ListResponse> page = orderService.getUserOrders(user.getId(), null, 0);
+        assertThat(page.getContent()).extracting(OrderDto.ListResponse::getId).containsExactly(expectedIds.get(0));
+        assertThat(page.isHasNext()).isTrue();
+    }
+    
+    @Test
+    void malformedCursorIsBadRequest() throws Exception {
+        List<String> malformed = List.of(
+                "not-base64!!",
+                encode("no-separator"),
+                encode("yesterday|1"),
+                encode("2024-05-01T12:00|abc"));
+        
+        for (String cursor : malformed) {
+            mockMvc.perform(get("/api/orders/users/{userId}", user.getId()).param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/orders").param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/orders/status/{status}", Order.OrderStatus.PENDING).param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+        
+        // 정상 커서는 그대로 다음 페이지를 준다
+        String cursor = orderService.getUserOrders(user.getId(), null, 2).getNextCursor();
+        mockMvc.perform(get("/api/orders/users/{userId}", user.getId()).param("cursor", cursor).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(expectedIds.get(2)))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+    
+    private Long createOrderAt(LocalDateTime createdAt) {
+        Order order = orderRepository.save(Order.builder()
+                .orderNumber("ORD-CURSOR-" + System.nanoTime())
+                .totalAmount(new BigDecimal("1000.00"))
+                .status(Order.OrderStatus.PENDING)
+                .shippingAddress("서울")
+                .user(user)
+                .build());
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", createdAt, order.getId());
+        return order.getId();
+    }
+    
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
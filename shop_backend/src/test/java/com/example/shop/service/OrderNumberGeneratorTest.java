@@ -0,0 +1,90 @@
+package com.example.shop.service;
+
+import com.example.shop.config.OrderProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderNumberGeneratorTest {
+    
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 100_000;
+    
+    @Test
+    void idsAreUniqueAndMonotonicUnderContention() throws Exception {
+        OrderNumberGenerator generator = generator(7);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                long[] ids = new long[IDS_PER_THREAD];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+        
+        long[] all = new long[THREADS * IDS_PER_THREAD];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            long[] ids = future.get(60, TimeUnit.SECONDS);
+            // 한 스레드가 받은 ID는 항상 증가해야 한다
+            for (int i = 1; i < ids.length; i++) {
+                assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+            }
+            System.arraycopy(ids, 0, all, offset, ids.length);
+            offset += ids.length;
+        }
+        executor.shutdown();
+        
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertThat(all[i]).isNotEqualTo(all[i - 1]);
+        }
+    }
+    
+    @Test
+    void differentNodesNeverCollide() {
+        OrderNumberGenerator first = generator(1);
+        OrderNumberGenerator second = generator(2);
+        
+        long[] ids = new long[20_000];
+        for (int i = 0; i < ids.length; i += 2) {
+            ids[i] = first.nextId();
+            ids[i + 1] = second.nextId();
+        }
+        
+        assertThat(Arrays.stream(ids).distinct().count()).isEqualTo(ids.length);
+    }
+    
+    @Test
+    void rejectsOutOfRangeNodeId() {
+        assertThatThrownBy(() -> generator(1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void orderNumberFitsColumn() {
+        assertThat(generator(0).nextOrderNumber()).startsWith("ORD-").hasSizeLessThanOrEqualTo(50);
+    }
+    
+    private OrderNumberGenerator generator(int nodeId) {
+        OrderProperties properties = new OrderProperties();
+        properties.setNodeId(nodeId);
+        return new OrderNumberGenerator(properties);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.AdminDto;
+import com.example.shop.dto.CursorPage;
+import com.example.shop.dto.OrderDto;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Order;
+import com.example.shop.entity.OrderItem;
+import com.example.shop.entity.Product;
+import com.example.shop.entity.User;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.OrderRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 응답 조회 시 실행되는 SQL 수 회귀 테스트 (아이템 수와 무관하게 고정되어야 함)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderQueryCountTest {
+    
+    private static final int ITEM_COUNT = 3;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private AdminService adminService;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    private Order order;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        order = transactionTemplate.execute(status -> createOrder());
+        transactionTemplate.executeWithoutResult(status -> createOrder());
+        statistics.clear();
+    }
+    
+    @Test
+    void orderDetailIsLoadedInOneStatement() {
+        OrderDto.Response response = orderService.getOrder(order.getId());
+        
+        assertThat(response.getOrderItems()).hasSize(ITEM_COUNT);
+        assertThat(response.getOrderItems()).allSatisfy(item ->
+                assertThat(item.getProduct().getCategoryName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void orderByNumberIsLoadedInOneStatement() {
+        OrderDto.Response response = orderService.getOrderByOrderNumber(order.getOrderNumber());
+        
+        assertThat(response.getUser().getEmail()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void adminOrderPageUsesIdCursorAndFetch() {
+        // ID 커서 조회 + 엔티티 그래프 조회 (건수 쿼리 없음)
+        CursorPage<AdminDto.OrderManagement> page = adminService.getAllOrders(null, 1);
+        
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getContent().get(0).getItems()).hasSize(ITEM_COUNT);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+    
+    @Test
+    void directOrderStatementsDoNotGrowWithLineCount() {
+        // 상품 조회는 IN 1회, 주문 아이템 INSERT 와 재고 UPDATE 는 라인 수와 무관하게 배치 1회
+        OrderDto.Request single = directOrderRequest(1);
+        OrderDto.Request large = directOrderRequest(10);
+        Long userId = order.getUser().getId();
+        
+        statistics.clear();
+        OrderDto.Response singleOrder = orderService.createDirectOrder(userId, single);
+        long singleStatements = statistics.getPrepareStatementCount();
+        
+        statistics.clear();
+        OrderDto.Response largeOrder = orderService.createDirectOrder(userId, large);
+        long largeStatements = statistics.getPrepareStatementCount();
+        
+        assertThat(singleOrder.getOrderItems()).hasSize(1);
+        assertThat(largeOrder.getOrderItems()).hasSize(10);
+        assertThat(largeStatements).isEqualTo(singleStatements);
+        assertThat(statistics.getEntityStatistics(Product.class.getName()).getLoadCount()).isEqualTo(10);
+        assertThat(statistics.getEntityStatistics(OrderItem.class.getName()).getInsertCount()).isEqualTo(10);
+    }
+    
+    private OrderDto.Request directOrderRequest(int lines) {
+        Category category = categoryRepository.save(Category.builder()
+                .name("직접주문-" + System.nanoTime())
+                .build());
+        List<OrderDto.OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("직접 주문 상품 " + i)
+                    .price(new BigDecimal("1000.00"))
+                    .stockQuantity(10)
+                    .category(category)
+                    .build());
+            items.add(OrderDto.OrderItemRequest.builder()
+                    .productId(product.getId())
+                    .quantity(1)
+                    .build());
+        }
+        return OrderDto.Request.builder()
+                .shippingAddress("서울")
+                .orderItems(items)
+                .build();
+    }
+    
+    private Order createOrder() {
+        long suffix = System.nanoTime();
+        User user = userRepository.save(User.builder()
+                .email("count-" + suffix + "@example.com")
+                .password("password")
+                .name("조회테스트")
+                .build());
+        Category category = categoryRepository.save(Category.builder()
+                .name("조회-" + suffix)
+                .build());
+        
+        Order newOrder = Order.builder()
+                .orderNumber("ORD-COUNT-" + suffix)
+                .totalAmount(new BigDecimal("3000.00"))
+                .shippingAddress("서울")
+                .user(user)
+                .build();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("조회 상품 " + i)
+                    .price(new BigDecimal("1000.00"))
+                    .stockQuantity(10)
+                    .category(category)
+                    .build());
+            newOrder.getOrderItems().add(OrderItem.builder()
+                    .order(newOrder)
+                    .product(product)
+                    .quantity(1)
+                    .price(product.getPrice())
+                    .build());
+        }
+        return orderRepository.save(newOrder);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.OrderDto;
+import com.example.shop.entity.Order;
+import com.example.shop.entity.User;
+import com.example.shop.repository.OrderRepository;
+import com.example.shop.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderStatusTransitionTest {
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Test
+    void transitionTableMatchesOrderFlow() {
+        assertThat(Order.OrderStatus.SHIPPED.predecessors()).containsExactly(Order.OrderStatus.CONFIRMED);
+        assertThat(Order.OrderStatus.CANCELLED.predecessors())
+                .containsExactlyInAnyOrder(Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED);
+        assertThat(Order.OrderStatus.DELIVERED.nextStatuses()).isEmpty();
+        assertThat(Order.OrderStatus.CANCELLED.canTransitionTo(Order.OrderStatus.PENDING)).isFalse();
+    }
+    
+    @Test
+    void bulkTransitionRejectsInvalidPredecessors() {
+        List<Long> confirmed = createOrders(Order.OrderStatus.CONFIRMED, 5);
+        List<Long> pending = createOrders(Order.OrderStatus.PENDING, 2);
+        List<Long> ids = new ArrayList<>(confirmed);
+        ids.addAll(pending);
+        ids.add(Long.MAX_VALUE);
+        
+        OrderDto.BulkResult result = orderService.transitionOrders(ids, Order.OrderStatus.SHIPPED);
+        
+        assertThat(result.getSucceeded()).isEqualTo(confirmed.size());
+        assertThat(result.getOutcomes().stream()
+                .filter(outcome -> !outcome.isSuccess())
+                .map(OrderDto.BulkOutcome::getOrderId)
+                .collect(Collectors.toList()))
+                .containsExactlyInAnyOrderElementsOf(concat(pending, List.of(Long.MAX_VALUE)));
+        assertThat(orderRepository.findAllById(confirmed))
+                .allSatisfy(order -> assertThat(order.getStatus()).isEqualTo(Order.OrderStatus.SHIPPED));
+        assertThat(orderRepository.findAllById(pending))
+                .allSatisfy(order -> assertThat(order.getStatus()).isEqualTo(Order.OrderStatus.PENDING));
+    }
+    
+    @Test
+    void bulkTransitionHandlesFullBatch() {
+        // 처리량은 benchmark 소스셋의 OrderTransitionBenchmark 로 측정
+        List<Long> ids = createOrders(Order.OrderStatus.SHIPPED, 1000);
+        
+        OrderDto.BulkResult result = orderService.transitionOrders(ids, Order.OrderStatus.DELIVERED);
+        
+        assertThat(result.getSucceeded()).isEqualTo(ids.size());
+        assertThat(orderRepository.findAllById(ids))
+                .allSatisfy(order -> assertThat(order.getStatus()).isEqualTo(Order.OrderStatus.DELIVERED));
+    }
+    
+    private List<Long> createOrders(Order.OrderStatus status, int count) {
+        return transactionTemplate.execute(tx -> {
+            User user = userRepository.save(User.builder()
+                    .email("transition-" + System.nanoTime() + "@example.com")
+                    .password("password")
+                    .name("상태테스트")
+                    .build());
+            List<Order> orders = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                orders.add(Order.builder()
+                        .orderNumber("ORD-TR-" + System.nanoTime() + "-" + i)
+                        .totalAmount(new BigDecimal("1000.00"))
+                        .status(status)
+                        .user(user)
+                        .build());
+            }
+            return orderRepository.saveAll(orders).stream().map(Order::getId).collect(Collectors.toList());
+        });
+    }
+    
+    private static List<Long> concat(List<Long> first, List<Long> second) {
+        List<Long> joined = new ArrayList<>(first);
+        joined.addAll(second);
+        return joined;
+    }
+}
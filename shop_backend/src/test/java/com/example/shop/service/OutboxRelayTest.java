@@ -0,0 +1,93 @@
+package com.example.shop.service;
+
+import com.example.shop.entity.Order;
+import com.example.shop.entity.User;
+import com.example.shop.event.OrderEvent;
+import com.example.shop.repository.OrderRepository;
+import com.example.shop.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class OutboxRelayTest {
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private OutboxRelay outboxRelay;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ApplicationEvents applicationEvents;
+    
+    @Test
+    void eventsAreRelayedInOrderPerOrder() {
+        List<Long> ids = createPendingOrders(3);
+        orderService.transitionOrders(ids, Order.OrderStatus.CONFIRMED);
+        orderService.transitionOrders(ids.subList(0, 2), Order.OrderStatus.SHIPPED);
+        orderService.cancelOrder(ids.get(2));
+        orderService.transitionOrders(ids.subList(0, 1), Order.OrderStatus.DELIVERED);
+        
+        while (outboxRelay.relayBatch() > 0) {
+            // 대기 이벤트를 모두 전달
+        }
+        
+        Set<Long> ours = Set.copyOf(ids);
+        Map<Long, List<Order.OrderStatus>> statusesByOrder = applicationEvents.stream(OrderEvent.class)
+                .filter(event -> ours.contains(event.getOrderId()))
+                .collect(Collectors.groupingBy(OrderEvent::getOrderId,
+                        Collectors.mapping(OrderEvent::getStatus, Collectors.toList())));
+        
+        assertThat(statusesByOrder.get(ids.get(0))).containsExactly(
+                Order.OrderStatus.CONFIRMED, Order.OrderStatus.SHIPPED, Order.OrderStatus.DELIVERED);
+        assertThat(statusesByOrder.get(ids.get(1))).containsExactly(
+                Order.OrderStatus.CONFIRMED, Order.OrderStatus.SHIPPED);
+        assertThat(statusesByOrder.get(ids.get(2))).containsExactly(
+                Order.OrderStatus.CONFIRMED, Order.OrderStatus.CANCELLED);
+        assertThat(outboxRelay.relayBatch()).isZero();
+    }
+    
+    private List<Long> createPendingOrders(int count) {
+        return transactionTemplate.execute(tx -> {
+            User user = userRepository.save(User.builder()
+                    .email("outbox-" + System.nanoTime() + "@example.com")
+                    .password("password")
+                    .name("이벤트테스트")
+                    .build());
+            List<Order> orders = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                orders.add(Order.builder()
+                        .orderNumber("ORD-OB-" + System.nanoTime() + "-" + i)
+                        .totalAmount(new BigDecimal("1000.00"))
+                        .user(user)
+                        .build());
+            }
+            return orderRepository.saveAll(orders).stream().map(Order::getId).collect(Collectors.toList());
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.CategoryDto;
+import com.example.shop.dto.ProductDto;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductDetailCacheTest {
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private CategoryService categoryService;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    private Product product;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Category category = categoryRepository.save(Category.builder()
+                .name("캐시-" + System.nanoTime())
+                .build());
+        product = productRepository.save(Product.builder()
+                .name("캐시 상품")
+                .price(new BigDecimal("1000.00"))
+                .stockQuantity(10)
+                .category(category)
+                .build());
+    }
+    
+    @Test
+    void repeatedViewsHitDatabaseOnce() {
+        // 상품 상세 1000회 조회 - 첫 조회만 DB (상품 + 카테고리 한 문장)
+        statistics.clear();
+        for (int i = 0; i < 1000; i++) {
+            productService.getProductById(product.getId());
+        }
+        
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void productAndStockChangesInvalidateEntry() {
+        productService.getProductById(product.getId());
+        
+        productService.updateProduct(product.getId(), ProductDto.UpdateRequest.builder().name("이름 변경").build());
+        assertThat(productService.getProductById(product.getId()).getName()).isEqualTo("이름 변경");
+        
+        productService.decreaseStock(product.getId(), 3);
+        assertThat(productService.getProductById(product.getId()).getStockQuantity()).isEqualTo(7);
+    }
+    
+    @Test
+    void categoryRenameInvalidatesItsProducts() {
+        productService.getProductById(product.getId());
+        
+        String renamed = "변경-" + System.nanoTime();
+        categoryService.updateCategory(product.getCategory().getId(),
+                CategoryDto.UpdateRequest.builder().name(renamed).build());
+        
+        assertThat(productService.getProductById(product.getId()).getCategory().getName()).isEqualTo(renamed);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.ProductDto;
+import com.example.shop.dto.SlicePage;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductListingProjectionTest {
+    
+    private static final int PRODUCTS = 25;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    private Long categoryId;
+    private String categoryName;
+    private String keyword;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        keyword = "projection" + System.nanoTime();
+        categoryName = "프로젝션-" + keyword;
+        Category category = categoryRepository.save(Category.builder().name(categoryName).build());
+        categoryId = category.getId();
+        
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .name(keyword + " 상품 " + i)
+                    .description("목록에서는 읽지 않는 설명 " + i)
+                    .price(new BigDecimal(1000 + i))
+                    .stockQuantity(i % 5)
+                    .category(category)
+                    .build());
+        }
+        // LIKE 와일드카드가 이스케이프되는지 확인용
+        products.add(Product.builder()
+                .name(keyword + " 100%_할인")
+                .price(new BigDecimal("500"))
+                .stockQuantity(1)
+                .category(category)
+                .build());
+        productRepository.saveAll(products);
+    }
+    
+    @Test
+    void everySlicePageIsOneQueryWithoutEntityLoads() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        List<Long> seen = new ArrayList<>();
+        int pages = 0;
+        SlicePage<ProductDto.ListResponse> slice;
+        do {
+            statistics.clear();
+            slice = productService.getProductsByCategorySlice(categoryId, pageable, false);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            
+            slice.getContent().forEach(product -> {
+                assertThat(product.getCategoryName()).isEqualTo(categoryName);
+                seen.add(product.getId());
+            });
+            pageable = pageable.next();
+            pages++;
+        } while (slice.isHasNext());
+        
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).doesNotHaveDuplicates().hasSize(PRODUCTS + 1);
+    }
+    
+    @Test
+    void pageModeAddsOnlyTheCountQuery() {
+        Pageable pageable = PageRequest.of(1, 10, Sort.by(Sort.Direction.ASC, "price"));
+        
+        statistics.clear();
+        Page<ProductDto.ListResponse> page = productService.getProductsByCategory(categoryId, pageable);
+        
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(page.getTotalElements()).isEqualTo(PRODUCTS + 1);
+        assertThat(page.getContent()).extracting(ProductDto.ListResponse::getPrice)
+                .isSortedAccordingTo(BigDecimal::compareTo);
+        assertThat(page.getContent()).allSatisfy(product -> {
+            assertThat(product.getCategoryName()).isEqualTo(categoryName);
+            assertThat(product.getIsActive()).isTrue();
+        });
+    }
+    
+    @Test
+    void nameSearchEscapesWildcardsAndStaysSingleQuery() {
+        Pageable pageable = PageRequest.of(0, 50);
+        
+        statistics.clear();
+        SlicePage<ProductDto.ListResponse> all = productService.searchProductsByNameSlice(
+                keyword.toUpperCase(), pageable, false);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(all.getContent()).hasSize(PRODUCTS + 1);
+        
+        SlicePage<ProductDto.ListResponse> literal = productService.searchProductsByNameSlice(
+                keyword + " 100%_", pageable, false);
+        assertThat(literal.getContent()).extracting(ProductDto.ListResponse::getName)
+                .containsExactly(keyword + " 100%_할인");
+        assertThat(productService.searchProductsByNameSlice(keyword + " 1_0", pageable, false).getContent()).isEmpty();
+    }
+    
+    @Test
+    void lowStockListUsesProjection() {
+        statistics.clear();
+        List<ProductDto.ListResponse> lowStock = productService.getLowStockProducts(1);
+        
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(lowStock).filteredOn(product -> product.getName().startsWith(keyword))
+                .hasSize(PRODUCTS / 5)
+                .allSatisfy(product -> assertThat(product.getStockQuantity()).isZero());
+    }
+    
+    @Test
+    void unknownCategoryIsStillRejected() {
+        Pageable pageable = PageRequest.of(0, 10);
+        
+        assertThatThrownBy(() -> productService.getProductsByCategory(-1L, pageable))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> productService.getProductsByCategorySlice(-1L, pageable, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.ProductDto;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductFilter;
+import com.example.shop.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductQueryTest {
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    private String keyword;
+    private Category laptops;
+    private Category mice;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        keyword = "facet" + System.nanoTime();
+        laptops = categoryRepository.save(Category.builder().name("노트북-" + keyword).build());
+        mice = categoryRepository.save(Category.builder().name("마우스-" + keyword).build());
+        
+        save(laptops, "A", "800000", 5);
+        save(laptops, "B", "1200000", 0);
+        save(laptops, "C", "45000", 3);
+        save(mice, "D", "25000", 10);
+        save(mice, "E", "9000", 0);
+        Product inactive = save(mice, "F", "30000", 1);
+        inactive.setIsActive(false);
+        productRepository.save(inactive);
+    }
+    
+    @Test
+    void combinesFiltersAndCountsFacetsInTwoStatements() {
+        ProductFilter filter = ProductFilter.builder()
+                .categoryIds(List.of(laptops.getId()))
+                .keyword(keyword.toUpperCase())
+                .build();
+        
+        statistics.clear();
+        ProductDto.QueryResponse response = productService.queryProducts(
+                filter, PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "price")));
+        
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(names(response)).containsExactly(keyword + " C", keyword + " A");
+        assertThat(response.getTotalElements()).isEqualTo(3);
+        assertThat(response.getTotalPages()).isEqualTo(2);
+        
+        // 카테고리 facet 은 카테고리 조건 없이, 가격/재고 facet 은 선택한 카테고리 안에서 센다
+        assertThat(response.getFacets().getCategories())
+                .extracting(ProductDto.CategoryFacet::getCategoryId, ProductDto.CategoryFacet::getCount)
+                .containsExactly(tuple(laptops.getId(), 3L),
+                        tuple(mice.getId(), 2L));
+        assertThat(response.getFacets().getInStock()).isEqualTo(2);
+        assertThat(response.getFacets().getPriceBuckets())
+                .extracting(ProductDto.PriceBucket::getCount)
+                .containsExactly(0L, 1L, 0L, 0L, 2L);
+    }
+    
+    @Test
+    void appliesPriceAndStockConditions() {
+        ProductFilter filter = ProductFilter.builder()
+                .keyword(keyword)
+                .minPrice(new BigDecimal("10000"))
+                .maxPrice(new BigDecimal("900000"))
+                .inStock(true)
+                .build();
+        
+        ProductDto.QueryResponse response = productService.queryProducts(
+                filter, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price")));
+        
+        assertThat(names(response)).containsExactly(keyword + " A", keyword + " C", keyword + " D");
+        assertThat(response.getTotalElements()).isEqualTo(3);
+    }
+    
+    @Test
+    void rejectsUnsupportedSortAndInvertedPriceRange() {
+        ProductFilter filter = ProductFilter.builder().keyword(keyword).build();
+        assertThatThrownBy(() -> productService.queryProducts(filter, PageRequest.of(0, 10, Sort.by("description"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        
+        ProductFilter inverted = ProductFilter.builder()
+                .minPrice(new BigDecimal("2000"))
+                .maxPrice(new BigDecimal("1000"))
+                .build();
+        assertThatThrownBy(() -> productService.queryProducts(inverted, PageRequest.of(0, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private Product save(Category category, String suffix, String price, int stock) {
+        return productRepository.save(Product.builder()
+                .name(keyword + " " + suffix)
+                .price(new BigDecimal(price))
+                .stockQuantity(stock)
+                .category(category)
+                .build());
+    }
+    
+    private static List<String> names(ProductDto.QueryResponse response) {
+        return response.getContent().stream()
+                .map(ProductDto.ListResponse::getName)
+                .collect(Collectors.toList());
+    }
+}
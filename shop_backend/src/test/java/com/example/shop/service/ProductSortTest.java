@@ -0,0 +1,138 @@
+package com.example.shop.service;
+
+import com.example.shop.dto.ProductDto;
+import com.example.shop.dto.ReviewDto;
+import com.example.shop.dto.SlicePage;
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.entity.User;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import com.example.shop.repository.ProductSort;
+import com.example.shop.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.shop.service.CartTestFixtures.category;
+import static com.example.shop.service.CartTestFixtures.product;
+import static com.example.shop.service.CartTestFixtures.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductSortTest {
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private ReviewService reviewService;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    private Long categoryId;
+    private Product many;
+    private Product few;
+    private Product none;
+    private List<User> users;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = categoryRepository.save(category("정렬-" + suffix));
+        categoryId = category.getId();
+        
+        many = productRepository.save(product("리뷰 많음", "30000", 5, category));
+        few = productRepository.save(product("리뷰 적음", "10000", 5, category));
+        none = productRepository.save(product("리뷰 없음", "20000", 5, category));
+        
+        users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(userRepository.save(user("sort-" + i, "정렬테스트")));
+        }
+    }
+    
+    @Test
+    void resolvesFrontendOptionsWithIdTiebreaker() {
+        assertThat(ProductSort.resolve("popular", "asc"))
+                .containsExactly(Sort.Order.desc("reviewCount"), Sort.Order.desc("id"));
+        assertThat(ProductSort.resolve("price-low", "desc"))
+                .containsExactly(Sort.Order.asc("price"), Sort.Order.asc("id"));
+        assertThat(ProductSort.resolve("createdAt", "desc"))
+                .containsExactly(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+        assertThat(ProductSort.resolve(null, "desc")).isEqualTo(ProductSort.NEWEST.toSort());
+    }
+    
+    @Test
+    void rejectsUnindexedColumnsAndRelationPaths() {
+        assertThatThrownBy(() -> ProductSort.resolve("description", "asc"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProductSort.resolve("category.name", "asc"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProductSort.resolve("price", "sideways"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void popularAndRatingSortsFollowReviewWritesWithoutJoins() {
+        review(users.get(0), many, 3);
+        review(users.get(1), many, 4);
+        Long lowReview = review(users.get(2), many, 2);
+        review(users.get(0), few, 5);
+        
+        assertThat(names(ProductSort.POPULAR)).containsExactly("리뷰 많음", "리뷰 적음", "리뷰 없음");
+        assertThat(names(ProductSort.RATING)).containsExactly("리뷰 적음", "리뷰 많음", "리뷰 없음");
+        
+        // 삭제하면 개수와 평균이 다시 계산된다 (3, 4 → 평균 3.5)
+        reviewService.deleteReview(lowReview, users.get(2).getId());
+        Product reloaded = productRepository.findById(many.getId()).orElseThrow();
+        assertThat(reloaded.getReviewCount()).isEqualTo(2);
+        assertThat(reloaded.getAverageRating()).isEqualTo(3.5);
+        
+        statistics.clear();
+        SlicePage<ProductDto.ListResponse> slice = productService.getProductsByCategorySlice(
+                categoryId, PageRequest.of(0, 10, ProductSort.POPULAR.toSort()), false);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(slice.getContent().get(0).getReviewCount()).isEqualTo(2);
+        assertThat(slice.getContent().get(0).getAverageRating()).isEqualTo(3.5);
+    }
+    
+    private List<String> names(ProductSort sort) {
+        return productService.getProductsByCategory(categoryId, PageRequest.of(0, 10, sort.toSort()))
+                .getContent().stream()
+                .map(ProductDto.ListResponse::getName)
+                .toList();
+    }
+    
+    private Long review(User user, Product product, int rating) {
+        return reviewService.createReview(user.getId(), ReviewDto.Request.builder()
+                .productId(product.getId())
+                .rating(rating)
+                .comment("정렬 테스트")
+                .build()).getId();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.shop.service;
+
+import com.example.shop.entity.Category;
+import com.example.shop.entity.Product;
+import com.example.shop.exception.InsufficientStockException;
+import com.example.shop.repository.CategoryRepository;
+import com.example.shop.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StockReservationServiceTest {
+    
+    @Autowired
+    private StockReservationService stockReservationService;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private CategoryRepository categoryRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Test
+    void hotProductIsNeverOversold() throws Exception {
+        // 재고 100개 상품에 300개 스레드가 동시에 1개씩 주문
+        Product product = createProduct("한정판 상품", 100);
+        int threads = 300;
+        
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            stockReservationService.reserve(Map.of(product.getId(), 1)));
+                    succeeded.incrementAndGet();
+                } catch (InsufficientStockException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        
+        assertThat(succeeded.get()).isEqualTo(100);
+        assertThat(rejected.get()).isEqualTo(threads - 100);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStockQuantity()).isZero();
+    }
+    
+    @Test
+    void shortLineRollsBackWholeOrder() {
+        Product plenty = createProduct("넉넉한 상품", 10);
+        Product scarce = createProduct("부족한 상품", 1);
+        
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                stockReservationService.reserve(Map.of(plenty.getId(), 3, scarce.getId(), 2))))
+                .isInstanceOfSatisfying(InsufficientStockException.class, e -> {
+                    assertThat(e.getShortages()).hasSize(1);
+                    assertThat(e.getShortages().get(0).getProductId()).isEqualTo(scarce.getId());
+                    assertThat(e.getShortages().get(0).getAvailable()).isEqualTo(1);
+                });
+        
+        assertThat(productRepository.findById(plenty.getId()).orElseThrow().getStockQuantity()).isEqualTo(10);
+        assertThat(productRepository.findById(scarce.getId()).orElseThrow().getStockQuantity()).isEqualTo(1);
+    }
+    
+    private Product createProduct(String name, int stock) {
+        Category category = categoryRepository.save(Category.builder()
+                .name("재고-" + System.nanoTime())
+                .build());
+        return productRepository.save(Product.builder()
+                .name(name)
+                .price(new BigDecimal("1000.00"))
+                .stockQuantity(stock)
+                .category(category)
+                .build());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.shop.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestTrieTest {
+    
+    private static final int THREADS = 8;
+    private static final int LOOKUPS_PER_THREAD = 5_000;
+    
+    @Test
+    void suggestsWordPrefixesByPopularity() {
+        SuggestTrie trie = SuggestTrie.build(List.of(
+                product(1, "삼성 갤럭시 노트북", 50),
+                product(2, "LG 그램 노트북", 120),
+                product(3, "노트 필기 세트", 5),
+                product(4, "Wireless  Mouse", 30),
+                category(10, "노트북", 2)));
+        
+        assertThat(texts(trie.suggest("노트", 10))).containsExactly("LG 그램 노트북", "삼성 갤럭시 노트북", "노트 필기 세트", "노트북");
+        assertThat(texts(trie.suggest("갤럭", 10))).containsExactly("삼성 갤럭시 노트북");
+        assertThat(texts(trie.suggest("wireless m", 10))).containsExactly("Wireless  Mouse");
+        assertThat(texts(trie.suggest("MOU", 10))).containsExactly("Wireless  Mouse");
+        assertThat(trie.suggest("노트", 2)).hasSize(2);
+        assertThat(trie.suggest("없는", 10)).isEmpty();
+        assertThat(trie.suggest(" ", 10)).isEmpty();
+    }
+    
+    @Test
+    void largeNodesReturnPrecomputedTopK() {
+        List<SuggestTrie.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            entries.add(product(i, "키보드 모델 " + i, i));
+        }
+        SuggestTrie trie = SuggestTrie.build(entries);
+        
+        assertThat(texts(trie.suggest("키보", 3))).containsExactly("키보드 모델 999", "키보드 모델 998", "키보드 모델 997");
+        assertThat(texts(trie.suggest("모델 5", 2))).containsExactly("키보드 모델 599", "키보드 모델 598");
+        assertThat(texts(trie.suggest("모델 12", 10))).hasSize(10).allMatch(text -> text.contains("모델 12"));
+    }
+    
+    @Test
+    void concurrentLookupsSeeSameResults() throws Exception {
+        Random random = new Random(7);
+        String[] brands = {"삼성", "LG", "애플", "로지텍", "소니", "레노버", "ASUS", "Dell"};
+        String[] items = {"노트북", "모니터", "키보드", "마우스", "헤드폰", "스피커", "태블릿", "충전기", "케이블", "웹캠"};
+        List<SuggestTrie.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String name = brands[random.nextInt(brands.length)] + " " + items[random.nextInt(items.length)]
+                    + " " + Integer.toString(random.nextInt(1_000_000), 36);
+            entries.add(product(i, name, random.nextInt(10_000)));
+        }
+        SuggestTrie trie = SuggestTrie.build(entries);
+        String[] prefixes = {"삼", "삼성", "삼성 노", "노트", "LG 모", "마우", "헤드폰", "a", "ab", "로지텍 키보"};
+        List<List<String>> expected = Arrays.stream(prefixes)
+                .map(prefix -> texts(trie.suggest(prefix, 10)))
+                .collect(Collectors.toList());
+        
+        // 조회는 공유 상태를 바꾸지 않으므로 여러 스레드에서 같은 결과가 나와야 한다 (지연은 ProductSuggestBenchmark)
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < LOOKUPS_PER_THREAD; i++) {
+                    int p = i % prefixes.length;
+                    if (!texts(trie.suggest(prefixes[p], 10)).equals(expected.get(p))) {
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        }
+        for (Future<Boolean> future : futures) {
+            assertThat(future.get(1, TimeUnit.MINUTES)).isTrue();
+        }
+        executor.shutdown();
+        assertThat(expected.get(0)).hasSize(10);
+    }
+    
+    private static SuggestTrie.Entry product(long id, String name, long score) {
+        return new SuggestTrie.Entry(SuggestTrie.Type.PRODUCT, id, name, score);
+    }
+    
+    private static SuggestTrie.Entry category(long id, String name, long score) {
+        return new SuggestTrie.Entry(SuggestTrie.Type.CATEGORY, id, name, score);
+    }
+    
+    private static List<String> texts(List<SuggestTrie.Entry> entries) {
+        return entries.stream().map(SuggestTrie.Entry::getText).collect(Collectors.toList());
+    }
+}